@@ -1,17 +1,77 @@
 package app;
 
+import app.ingest.VectorIngest;
+import app.model.NdDataset;
+import app.model.Precision;
 import app.ui.MainView;
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
 public class Main extends Application {
+    /** Execução de treino do arquivo AppCDS (ver tarefa {@code cdsArchive} no build.gradle). */
+    private static final boolean CDS_TRAINING = Boolean.getBoolean("visualmath.cds.training");
+    private static final int TRAINING_FRAMES = 30;
+
+    private VectorIngest ingest;
+    private MainView view;
+
     @Override
-    public void start(Stage stage) {
-        Scene scene = new Scene(new MainView());
+    public void start(Stage stage) throws IOException {
+        view = new MainView();
+        Scene scene = new Scene(view);
         stage.setTitle("Visual Math");
         stage.setScene(scene);
         stage.show();
+        if (CDS_TRAINING) exitAfterFirstFrames();
+
+        Map<String, String> named = getParameters().getNamed();
+
+        // --precision=float32: coordenadas compactas, antes de carregar qualquer coisa
+        String precision = named.get("precision");
+        if (precision != null) view.getVectorTab().getWorld().setPrecision(Precision.parse(precision));
+
+        // --dataset=arquivo: vetores N-D, um por linha (ver NdDataset.load)
+        String dataset = named.get("dataset");
+        if (dataset != null) view.getVectorTab().openDataset(NdDataset.load(Path.of(dataset)));
+
+        // --replay=arquivo: reabre uma sessão gravada; --record=arquivo: grava a sessão da primeira área
+        String replay = named.get("replay");
+        if (replay != null) view.getVectorTab().getSessionPanel().openReplay(Path.of(replay));
+        String record = named.get("record");
+        if (record != null) view.getVectorTab().getSessionPanel().startRecording(Path.of(record));
+
+        // --ingest=stdin | pipe:/caminho | tcp:porta   [--ingest-format=text|binary]
+        String source = named.get("ingest");
+        if (source != null) {
+            VectorIngest.Format format = "binary".equalsIgnoreCase(named.get("ingest-format"))
+                    ? VectorIngest.Format.BINARY : VectorIngest.Format.TEXT;
+            ingest = VectorIngest.open(view.getVectorTab().getWorld(), source, format);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (ingest != null) ingest.close();
+        if (view != null) for (var w : view.getWorkspaces()) w.stopRecording();
+    }
+
+    /** Sai sozinho depois dos primeiros quadros, quando as classes da partida já foram carregadas. */
+    private static void exitAfterFirstFrames() {
+        new AnimationTimer() {
+            private int frames;
+            @Override public void handle(long now) {
+                if (++frames < TRAINING_FRAMES) return;
+                stop();
+                Platform.exit();
+            }
+        }.start();
     }
 
     public static void main(String[] args) {
@@ -2,30 +2,63 @@ package app.controller;
 
 import app.view.Canvas3D;
 import app.view.Canvas2D;
+import app.model.NdDataset;
+import app.model.NdProjector;
+import app.model.VectorStats;
 import app.model.VectorWorld;
+import app.ui.BasisPanel;
+import app.ui.FlowPanel;
+import app.ui.ProjectionPanel;
+import app.ui.SessionPanel;
+import app.ui.StatsPanel;
 import app.ui.VectorListPanel;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.control.TitledPane;
 import javafx.collections.ListChangeListener;
 
+import java.util.function.Supplier;
+
 public class VectorTab extends BorderPane {
 
     private final StackPane canvasPane = new StackPane();
     private final Canvas2D canvas2D = new Canvas2D();
-    private final Canvas3D canvas3D = new Canvas3D();
+    private Canvas3D canvas3D;              // criado só quando algum vetor sai do plano
+    private boolean switchPending;
+    private final BooleanProperty mergedArrows = new SimpleBooleanProperty(false);   // repassada ao 3D
     private final VectorWorld world = new VectorWorld();
+    private boolean active = true;          // aba visível
+
+    /*
+     * Painéis recolhidos (e as estatísticas, que ouvem o mundo) só nascem quando são abertos ou
+     * alguém de fora precisa deles, como o Canvas3D: a partida não cresce a cada recurso novo.
+     */
+    private VectorStats stats;              // painel de estatísticas ou sobreposição "Estatísticas"
+    private StatsPanel statsPanel;
+    private BasisPanel basisPanel;
+    private ProjectionPanel projectionPanel;
+    private SessionPanel sessionPanel;
+    private FlowPanel flowPanel;
+
+    private static final KeyCombination UNDO     = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO     = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO_ALT = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
 
     public VectorTab() {
-        // bind dos dois canvases ao mesmo mundo
         canvas2D.bind(world);
-        canvas3D.bind(world);
-
-        canvas3D.showGridProperty().bind(canvas2D.showGridProperty());
-        canvas3D.showTicksProperty().bind(canvas2D.showTicksProperty());
+        canvas2D.showStatsProperty().addListener((_, _, on) -> {
+            if (on) stats();
+        });
 
         canvasPane.getChildren().add(canvas2D);
         canvas2D.widthProperty().bind(canvasPane.widthProperty());
@@ -43,13 +76,23 @@ public class VectorTab extends BorderPane {
                 makeCheck("Ângulo",               canvas2D.showAngleProperty ()),
                 makeCheck("Ortogonalidade",       canvas2D.showOrthoProperty ()),
                 makeCheck("Ticks",                canvas2D.showTicksProperty ()),
-                makeCheck("Grade",                canvas2D.showGridProperty  ())
+                makeCheck("Grade",                canvas2D.showGridProperty  ()),
+                makeCheck("Estatísticas",         canvas2D.showStatsProperty ()),
+                makeCheck("Fecho convexo",        canvas2D.showHullProperty  ()),
+                makeCheck("Paralelepípedo v₁v₂v₃", canvas2D.showSpanProperty  ()),
+                makeCheck("Malha única (3D)",     mergedArrows)
         );
         checks.setPadding(new Insets(8));
         TitledPane displayPane = new TitledPane("Exibição", checks);
         displayPane.setCollapsible(false);
 
-        VBox side = new VBox(10, vectorsPane, displayPane);
+        TitledPane statsPane = collapsed("Estatísticas", this::statsPanel);
+        TitledPane basisPane = collapsed("Base", this::basisPanel);
+        TitledPane projectionPane = collapsed("Conjunto N-D", this::projectionPanel);
+        TitledPane sessionPane = collapsed("Sessão", this::getSessionPanel);
+        TitledPane flowPane = collapsed("Partículas", this::flowPanel);
+
+        VBox side = new VBox(10, vectorsPane, displayPane, statsPane, basisPane, projectionPane, sessionPane, flowPane);
         side.setStyle("-fx-background-color: #fafbfc; -fx-border-color: #e0e0e0; -fx-border-width: 0 1 0 1;");
         side.setPadding(new Insets(10));
         side.setPrefWidth(300);
@@ -61,31 +104,159 @@ public class VectorTab extends BorderPane {
         canvasPane.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
         canvasPane.setPrefSize(0, 0);
 
-        // dispara troca de canvas quando vetores mudam ou qualquer zProperty muda
-        world.getVectors().addListener((ListChangeListener<? super app.model.ObservableVector>) c -> {
-            while (c.next()) {
-                if (c.wasAdded()) {
-                    c.getAddedSubList().forEach(v ->
-                            v.zProperty().addListener(_ -> switchCanvas())
-                    );
-                }
+        // dispara troca de canvas quando vetores mudam ou qualquer componente z muda
+        world.getVectors().addListener((ListChangeListener<? super app.model.ObservableVector>) _ -> requestSwitch());
+        world.addEditListener((_, comp, _, _) -> {
+            if (comp == 2) requestSwitch();
+        });
+
+        // Ctrl+Z / Ctrl+Y (ou Ctrl+Shift+Z) antes que o editor dos spinners consuma
+        addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (UNDO.match(e)) {
+                world.getHistory().undo();
+                e.consume();
+            } else if (REDO.match(e) || REDO_ALT.match(e)) {
+                world.getHistory().redo();
+                e.consume();
             }
-            switchCanvas();
         });
-        // para vetores já existentes
-        world.getVectors().forEach(v ->
-                v.zProperty().addListener(_ -> switchCanvas())
-        );
 
         BorderPane.setAlignment(canvasPane, javafx.geometry.Pos.CENTER);
         BorderPane.setAlignment(side, javafx.geometry.Pos.CENTER);
     }
 
+    public VectorWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Aba escondida: canvases e painel de estatísticas param de ouvir o mundo (que continua
+     * recebendo dados normalmente). Ao reaparecer, cada um redesenha uma vez.
+     */
+    public void setActive(boolean active) {
+        if (this.active == active) return;
+        this.active = active;
+        if (statsPanel != null) statsPanel.setActive(active);
+        if (flowPanel != null) flowPanel.setActive(active);
+        if (active) {
+            requestSwitch();                    // escolhe o canvas e o reativa
+        } else {
+            canvas2D.setActive(false);
+            if (canvas3D != null) canvas3D.setActive(false);
+        }
+    }
+
+    /** Substitui os vetores pela projeção de {@code dataset} (ver {@link ProjectionPanel}). */
+    public void openDataset(NdDataset dataset) {
+        projectionPanel().open(dataset);
+    }
+
+    /** Canvas 2D desta área de trabalho (sempre existe, mesmo com o 3D à vista). */
+    public Canvas2D getCanvas2D() {
+        return canvas2D;
+    }
+
+    /** Canvas 3D, ou {@code null} enquanto nenhum vetor saiu do plano. */
+    public Canvas3D getCanvas3D() {
+        return canvas3D;
+    }
+
+    /** Gravação e reprodução de sessões desta área de trabalho. */
+    public SessionPanel getSessionPanel() {
+        if (sessionPanel == null) sessionPanel = new SessionPanel(world);
+        return sessionPanel;
+    }
+
+    /** Para a gravação da sessão, se houver uma; não cria o painel só para isso. */
+    public void stopRecording() {
+        if (sessionPanel != null) sessionPanel.stopRecording();
+    }
+
+    /** A troca percorre todos os vetores: no máximo uma vez por pulso. */
+    private void requestSwitch() {
+        if (switchPending || !active) return;
+        switchPending = true;
+        Platform.runLater(() -> {
+            switchPending = false;
+            switchCanvas();
+        });
+    }
+
     private void switchCanvas() {
         boolean any3D = world.getVectors().stream()
                 .anyMatch(v -> Math.abs(v.getZ()) > 1e-6);
-        Node view = any3D ? canvas3D.getView() : canvas2D.getView();
+        Node view = any3D ? canvas3D().getView() : canvas2D.getView();
         canvasPane.getChildren().setAll(view);
+        /* só o canvas visível acompanha o mundo */
+        canvas2D.setActive(active && !any3D);
+        if (canvas3D != null) canvas3D.setActive(active && any3D);
+    }
+
+    /** SubScene, câmera e rebuild completo só na primeira vez que o 3D é necessário. */
+    private Canvas3D canvas3D() {
+        if (canvas3D == null) {
+            canvas3D = new Canvas3D();
+            canvas3D.showGridProperty().bind(canvas2D.showGridProperty());
+            canvas3D.showTicksProperty().bind(canvas2D.showTicksProperty());
+            canvas3D.showStatsProperty().bind(canvas2D.showStatsProperty());
+            canvas3D.showCoordProperty().bind(canvas2D.showCoordProperty());
+            canvas3D.showHullProperty().bind(canvas2D.showHullProperty());
+            canvas3D.showSpanProperty().bind(canvas2D.showSpanProperty());
+            canvas3D.mergedArrowsProperty().bind(mergedArrows);
+            if (stats != null) canvas3D.setStats(stats);
+            if (flowPanel != null) canvas3D.setParticles(flowPanel.particles());
+            canvas3D.bind(world);               // mesmo mundo do 2D
+        }
+        return canvas3D;
+    }
+
+    /* ------------ painéis sob demanda ------------ */
+
+    /** Painel recolhido cujo conteúdo só é criado (por {@code content}) na primeira vez que abre. */
+    private static TitledPane collapsed(String title, Supplier<? extends Node> content) {
+        TitledPane pane = new TitledPane(title, null);
+        pane.setExpanded(false);
+        pane.expandedProperty().addListener((_, _, open) -> {
+            if (open && pane.getContent() == null) pane.setContent(content.get());
+        });
+        return pane;
+    }
+
+    private VectorStats stats() {
+        if (stats == null) {
+            stats = new VectorStats(world);
+            canvas2D.setStats(stats);
+            if (canvas3D != null) canvas3D.setStats(stats);
+        }
+        return stats;
+    }
+
+    private StatsPanel statsPanel() {
+        if (statsPanel == null) {
+            statsPanel = new StatsPanel(world, stats());
+            statsPanel.setActive(active);
+        }
+        return statsPanel;
+    }
+
+    private BasisPanel basisPanel() {
+        if (basisPanel == null) basisPanel = new BasisPanel(world);
+        return basisPanel;
+    }
+
+    private ProjectionPanel projectionPanel() {
+        if (projectionPanel == null) projectionPanel = new ProjectionPanel(new NdProjector(world));
+        return projectionPanel;
+    }
+
+    private FlowPanel flowPanel() {
+        if (flowPanel == null) {
+            flowPanel = new FlowPanel(world);
+            flowPanel.setActive(active);
+            canvas2D.setParticles(flowPanel.particles());
+            if (canvas3D != null) canvas3D.setParticles(flowPanel.particles());
+        }
+        return flowPanel;
     }
 
     private javafx.scene.control.CheckBox makeCheck(String label, javafx.beans.property.BooleanProperty prop){
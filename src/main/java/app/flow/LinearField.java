@@ -0,0 +1,54 @@
+package app.flow;
+
+import app.model.ObservableVector;
+import app.model.VectorWorld;
+
+import java.util.List;
+
+/** Campo linear x' = A·x, com v₁, v₂ (e v₃) do mundo como colunas de A: o retrato de fase de A. */
+public final class LinearField implements VectorField {
+    private final int dim;
+    private final double[] a = new double[9];          // 3×3 em ordem de linhas
+    private final double[] bounds;
+
+    private LinearField(int dim, double extent) {
+        this.dim = dim;
+        double zExtent = dim == 3 ? extent : 0;
+        this.bounds = new double[] { -extent, -extent, -zExtent, extent, extent, zExtent };
+    }
+
+    /**
+     * Campo dos primeiros vetores de {@code world}: 2×2 com v₁ e v₂ no plano, 3×3 com v₁, v₂ e v₃
+     * quando o mundo é 3D. A região vai até 1,2 vez a maior ponta (no mínimo ±2).
+     */
+    public static LinearField of(VectorWorld world) {
+        List<ObservableVector> vs = world.getVectors();
+        int dim = world.dimension() == 3 && vs.size() >= 3 ? 3 : 2;
+        if (vs.size() < 2) throw new IllegalArgumentException("O campo linear usa v₁ e v₂ como colunas: faltam vetores.");
+        double max = 0;
+        for (int c = 0; c < dim; c++) max = Math.max(max, norm(vs.get(c)));
+        LinearField f = new LinearField(dim, Math.max(2, 1.2 * max));
+        for (int c = 0; c < dim; c++) {
+            ObservableVector v = vs.get(c);
+            f.a[c] = v.getX();
+            f.a[3 + c] = v.getY();
+            f.a[6 + c] = dim == 3 ? v.getZ() : 0;
+        }
+        return f;
+    }
+
+    @Override public int dimension() { return dim; }
+
+    @Override public void velocity(double x, double y, double z, double[] out, int o) {
+        if (dim == 2) z = 0;
+        out[o]     = a[0] * x + a[1] * y + a[2] * z;
+        out[o + 1] = a[3] * x + a[4] * y + a[5] * z;
+        out[o + 2] = a[6] * x + a[7] * y + a[8] * z;
+    }
+
+    @Override public double[] bounds() { return bounds.clone(); }
+
+    private static double norm(ObservableVector v) {
+        return Math.sqrt(v.getX() * v.getX() + v.getY() * v.getY() + v.getZ() * v.getZ());
+    }
+}
@@ -0,0 +1,253 @@
+package app.flow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Partículas levadas por um {@link VectorField}, integradas por Runge–Kutta de quarta ordem.
+ *
+ * <p>Cada passo roda fora da thread FX, em blocos paralelos no pool comum: lê as posições de
+ * {@code front} e escreve em {@code back}, e a thread FX só troca os dois arrays quando o passo
+ * termina ({@link #poll()}). Os rastros ficam num anel de {@link #slots()} posições por
+ * partícula em {@code float}; o passo em andamento escreve na posição seguinte à cabeça, que
+ * os desenhos nunca leem, então desenhar e integrar ao mesmo tempo é seguro.</p>
+ *
+ * <p>Uma partícula renasce num ponto aleatório da região do campo quando sua vida acaba, quando
+ * sai da região (com 10% de folga) ou quando a posição deixa de ser finita.</p>
+ */
+public class ParticleSystem {
+    private static final int BLOCK = 2048;
+    /** Vida média em passos. */
+    private static final int LIFE = 240;
+    /** Fração da região percorrida por passo na velocidade média do campo, com velocidade 1. */
+    private static final double STEP_FRACTION = 0.002;
+
+    private VectorField field;
+    private int n, slots, dim = 2;
+    private double[] front = new double[0], back = new double[0];
+    private long[] born = new long[0], bornBack = new long[0];   // passo em que cada partícula nasceu
+    private int[] ttl = new int[0];
+    private long[] rng = new long[0];
+    private float[] trails = new float[0];
+    private double[] bounds = new double[6];
+
+    private long step;
+    private double dt = 0.01, speed = 1;
+    private CompletableFuture<Void> job;
+    private volatile long stepNanos;
+    private final List<Runnable> frameListeners = new ArrayList<>();
+
+    /* ------------ configuração (thread FX) ------------ */
+
+    /** Recomeça com {@code count} partículas e rastros de {@code trailLength} pontos. */
+    public void reset(VectorField field, int count, int trailLength) {
+        finish();
+        this.n = count;
+        this.slots = Math.max(2, trailLength + 1);
+        front = new double[3 * n];
+        back = new double[3 * n];
+        born = new long[n];
+        bornBack = new long[n];
+        ttl = new int[n];
+        rng = new long[n];
+        trails = new float[n * slots * 3];
+        step = 0;
+        for (int i = 0; i < n; i++) rng[i] = mix(0x9E3779B97F4A7C15L * (i + 1));
+        configure(field);
+        for (int i = 0; i < n; i++) {
+            spawn(i, front, born, 0);
+            ttl[i] = 1 + (int) (next(i) * LIFE);        // vidas desencontradas, para não renascerem juntas
+        }
+        frameListeners.forEach(Runnable::run);
+    }
+
+    /** Troca o campo sem mexer nas partículas; as que ficarem fora da nova região renascem. */
+    public void setField(VectorField field) {
+        finish();
+        configure(field);
+    }
+
+    /** Multiplicador do passo de tempo. */
+    public void setSpeed(double speed) { this.speed = speed; }
+
+    public VectorField field() { return field; }
+
+    /* ------------ passos ------------ */
+
+    /**
+     * Chamado a cada quadro: se o passo em andamento terminou, publica o resultado e avisa os
+     * ouvintes; depois lança o próximo. Não bloqueia.
+     */
+    public void poll() {
+        if (job != null) {
+            if (!job.isDone()) return;
+            publish();
+        }
+        if (field != null && n > 0) job = launch();
+    }
+
+    /** Espera o passo em andamento, se houver, e publica o resultado. */
+    public void finish() {
+        if (job != null) publish();
+    }
+
+    private void publish() {
+        job.join();
+        job = null;
+        double[] p = front; front = back; back = p;
+        long[] b = born; born = bornBack; bornBack = b;
+        step++;
+        frameListeners.forEach(Runnable::run);
+    }
+
+    private CompletableFuture<Void> launch() {
+        VectorField f = field;
+        double h = dt * speed;
+        long s = step;
+        double[] from = front, to = back;
+        long[] bornFrom = born, bornTo = bornBack;
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        return CompletableFuture.runAsync(() -> {
+            long t0 = System.nanoTime();
+            blocks(blocks).forEach(blk -> {
+                double[] k = new double[12];
+                for (int i = blk * BLOCK, end = Math.min(n, i + BLOCK); i < end; i++)
+                    advance(f, h, s, i, from, to, bornFrom, bornTo, k);
+            });
+            stepNanos = System.nanoTime() - t0;
+        });
+    }
+
+    private void advance(VectorField f, double h, long s, int i, double[] from, double[] to,
+                         long[] bornFrom, long[] bornTo, double[] k) {
+        int o = 3 * i;
+        double x = from[o], y = from[o + 1], z = from[o + 2];
+        if (--ttl[i] >= 0) {
+            f.velocity(x, y, z, k, 0);
+            f.velocity(x + h / 2 * k[0], y + h / 2 * k[1], z + h / 2 * k[2], k, 3);
+            f.velocity(x + h / 2 * k[3], y + h / 2 * k[4], z + h / 2 * k[5], k, 6);
+            f.velocity(x + h * k[6], y + h * k[7], z + h * k[8], k, 9);
+            x += h / 6 * (k[0] + 2 * k[3] + 2 * k[6] + k[9]);
+            y += h / 6 * (k[1] + 2 * k[4] + 2 * k[7] + k[10]);
+            z += h / 6 * (k[2] + 2 * k[5] + 2 * k[8] + k[11]);
+        }
+        if (ttl[i] < 0 || !inside(x, y, z)) {
+            spawn(i, to, bornTo, s + 1);
+            ttl[i] = LIFE / 2 + (int) (next(i) * LIFE);
+            return;
+        }
+        to[o] = x;
+        to[o + 1] = y;
+        to[o + 2] = z;
+        bornTo[i] = bornFrom[i];
+        trail(i, s + 1, x, y, z);
+    }
+
+    /** Falso também para coordenadas não finitas. */
+    private boolean inside(double x, double y, double z) {
+        double[] b = bounds;
+        for (int k = 0; k < dim; k++) {
+            double c = k == 0 ? x : k == 1 ? y : z;
+            double margin = 0.1 * (b[3 + k] - b[k]);
+            if (!(c >= b[k] - margin && c <= b[3 + k] + margin)) return false;
+        }
+        return true;
+    }
+
+    private void spawn(int i, double[] pos, long[] bornTo, long s) {
+        double[] b = bounds;
+        double x = b[0] + next(i) * (b[3] - b[0]);
+        double y = b[1] + next(i) * (b[4] - b[1]);
+        double z = dim == 3 ? b[2] + next(i) * (b[5] - b[2]) : 0;
+        pos[3 * i] = x;
+        pos[3 * i + 1] = y;
+        pos[3 * i + 2] = z;
+        bornTo[i] = s;
+        trail(i, s, x, y, z);
+    }
+
+    private void trail(int i, long s, double x, double y, double z) {
+        int o = (i * slots + (int) (s % slots)) * 3;
+        trails[o] = (float) x;
+        trails[o + 1] = (float) y;
+        trails[o + 2] = (float) z;
+    }
+
+    /** Região e passo de tempo: o passo é tal que a velocidade média percorre uma fração fixa da região. */
+    private void configure(VectorField f) {
+        field = f;
+        if (f == null) return;
+        dim = f.dimension();
+        bounds = f.bounds();
+        double diag = 0, sum = 0;
+        for (int k = 0; k < 3; k++) diag += (bounds[3 + k] - bounds[k]) * (bounds[3 + k] - bounds[k]);
+        diag = Math.sqrt(diag);
+        double[] v = new double[3];
+        long seed = 0x2545F4914F6CDD1DL;
+        final int samples = 256;
+        for (int s = 0; s < samples; s++) {
+            double x = bounds[0] + unit(seed = mix(seed)) * (bounds[3] - bounds[0]);
+            double y = bounds[1] + unit(seed = mix(seed)) * (bounds[4] - bounds[1]);
+            double z = bounds[2] + unit(seed = mix(seed)) * (bounds[5] - bounds[2]);
+            f.velocity(x, y, z, v, 0);
+            double len = Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
+            if (Double.isFinite(len)) sum += len;
+        }
+        double mean = sum / samples;
+        dt = mean > 0 && diag > 0 ? STEP_FRACTION * diag / mean : 0.01;
+    }
+
+    /* ------------ leitura para desenho (thread FX) ------------ */
+
+    public int count() { return n; }
+
+    public int dimension() { return dim; }
+
+    /** Pontos por partícula no anel de rastros; o desenho usa no máximo {@code slots() - 1}. */
+    public int slots() { return slots; }
+
+    /** Anel de rastros: ponto s da partícula i em {@code 3 * (i * slots() + s)}. */
+    public float[] trails() { return trails; }
+
+    /** Posição no anel do ponto mais recente de todas as partículas. */
+    public int head() { return (int) (step % slots); }
+
+    /** Pontos válidos no rastro de i, contando para trás a partir de {@link #head()}. */
+    public int length(int i) {
+        return (int) Math.min(slots - 1, step - born[i] + 1);
+    }
+
+    /** Duração do último passo (ns). */
+    public long stepNanos() { return stepNanos; }
+
+    /** Avisados na thread FX a cada passo publicado e a cada {@link #reset}. */
+    public void addFrameListener(Runnable r) { frameListeners.add(r); }
+
+    public void removeFrameListener(Runnable r) { frameListeners.remove(r); }
+
+    /* ------------ auxiliares ------------ */
+
+    /** Próximo número em [0, 1) do gerador da partícula i (só a thread que avança i o usa). */
+    private double next(int i) {
+        return unit(rng[i] = mix(rng[i]));
+    }
+
+    private static double unit(long r) {
+        return (r >>> 11) * 0x1.0p-53;
+    }
+
+    /** Função de mistura do splitmix64, usada como gerador encadeado. */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static IntStream blocks(int blocks) {
+        IntStream s = IntStream.range(0, blocks);
+        return blocks > 1 ? s.parallel() : s;
+    }
+}
@@ -0,0 +1,95 @@
+package app.flow;
+
+import app.model.NdDataset;
+
+/**
+ * Campo dado por amostras espalhadas (posição, velocidade), interpolado por inverso do quadrado
+ * da distância entre as amostras das 2×2 (ou 2×2×2) células de uma {@link SpatialGrid} mais
+ * próximas do ponto. Longe de todas as amostras a velocidade é 0.
+ */
+public final class SampledField implements VectorField {
+    private final int dim, n;
+    private final double[] pos, vel;                // três coordenadas por amostra, na ordem das células
+    private final SpatialGrid grid;
+    private final double[] bounds;
+
+    private SampledField(int dim, double[] pos, double[] vel, int n) {
+        this.dim = dim;
+        this.n = n;
+        this.grid = new SpatialGrid(pos, n, dim);
+        /* amostras de uma célula lado a lado: a consulta percorre memória contígua */
+        this.pos = new double[3 * n];
+        this.vel = new double[3 * n];
+        for (int t = 0; t < n; t++) {
+            System.arraycopy(pos, 3 * grid.items[t], this.pos, 3 * t, 3);
+            System.arraycopy(vel, 3 * grid.items[t], this.vel, 3 * t, 3);
+        }
+        double[] b = { Double.MAX_VALUE, Double.MAX_VALUE, 0, -Double.MAX_VALUE, -Double.MAX_VALUE, 0 };
+        if (dim == 3) { b[2] = Double.MAX_VALUE; b[5] = -Double.MAX_VALUE; }
+        for (int i = 0; i < n; i++)
+            for (int k = 0; k < dim; k++) {
+                b[k] = Math.min(b[k], pos[3 * i + k]);
+                b[3 + k] = Math.max(b[3 + k], pos[3 * i + k]);
+            }
+        this.bounds = b;
+    }
+
+    /** Linhas de {@code ds} como (x, y, vx, vy) ou (x, y, z, vx, vy, vz). */
+    public static SampledField of(NdDataset ds) {
+        int d = ds.dimension();
+        if (d != 4 && d != 6)
+            throw new IllegalArgumentException("Amostras de campo têm 4 colunas (x y vx vy) ou 6 (x y z vx vy vz); há " + d + ".");
+        if (ds.rows() == 0) throw new IllegalArgumentException("Nenhuma amostra.");
+        int dim = d / 2, n = ds.rows();
+        double[] pos = new double[3 * n], vel = new double[3 * n], data = ds.data();
+        for (int i = 0; i < n; i++)
+            for (int k = 0; k < dim; k++) {
+                pos[3 * i + k] = data[i * d + k];
+                vel[3 * i + k] = data[i * d + dim + k];
+            }
+        return new SampledField(dim, pos, vel, n);
+    }
+
+    public int size() { return n; }
+
+    @Override public int dimension() { return dim; }
+
+    @Override public void velocity(double x, double y, double z, double[] out, int o) {
+        if (dim == 2) z = 0;
+        SpatialGrid g = grid;
+        /* meia célula para trás: as duas células de cada eixo são as que cercam o ponto */
+        double h = 0.5 / g.inv;
+        int i0 = g.ix(x - h), i1 = g.ix(x + h), j0 = g.iy(y - h), j1 = g.iy(y + h), k0 = g.iz(z - h), k1 = g.iz(z + h);
+        double sw = 0, vx = 0, vy = 0, vz = 0;
+        for (int k = k0; k <= k1; k++)
+            for (int j = j0; j <= j1; j++)
+                for (int i = i0; i <= i1; i++) {
+                    int c = g.index(i, j, k);
+                    for (int t = g.start[c], end = g.start[c + 1]; t < end; t++) {
+                        int s = 3 * t;
+                        double dx = pos[s] - x, dy = pos[s + 1] - y, dz = pos[s + 2] - z;
+                        double d2 = dx * dx + dy * dy + dz * dz;
+                        if (d2 == 0) {                     // em cima de uma amostra
+                            out[o] = vel[s];
+                            out[o + 1] = vel[s + 1];
+                            out[o + 2] = vel[s + 2];
+                            return;
+                        }
+                        double w = 1 / d2;
+                        sw += w;
+                        vx += w * vel[s];
+                        vy += w * vel[s + 1];
+                        vz += w * vel[s + 2];
+                    }
+                }
+        if (sw == 0) {
+            out[o] = out[o + 1] = out[o + 2] = 0;
+            return;
+        }
+        out[o] = vx / sw;
+        out[o + 1] = vy / sw;
+        out[o + 2] = vz / sw;
+    }
+
+    @Override public double[] bounds() { return bounds.clone(); }
+}
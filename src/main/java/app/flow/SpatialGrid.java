@@ -0,0 +1,76 @@
+package app.flow;
+
+import java.util.Arrays;
+
+/**
+ * Grade uniforme sobre pontos fixos, em arrays compactos: os pontos da célula c são
+ * {@code items[start[c] .. start[c + 1])}. O tamanho da célula é escolhido para ter uns poucos
+ * pontos por célula em média, então uma consulta olha só a célula do ponto e as vizinhas.
+ */
+final class SpatialGrid {
+    /** Pontos por célula desejados, em média. */
+    private static final double PER_CELL = 2;
+    private static final int MAX_CELLS = 1 << 22;
+
+    final int dim;
+    final int nx, ny, nz;
+    final double minX, minY, minZ, inv;            // inv = 1 / tamanho da célula
+    final int[] start, items;
+
+    /** {@code n} pontos de {@code xyz} (três coordenadas cada; z ignorado se {@code dim == 2}). */
+    SpatialGrid(double[] xyz, int n, int dim) {
+        this.dim = dim;
+        double[] lo = { Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE };
+        double[] hi = { -Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE };
+        for (int i = 0; i < n; i++)
+            for (int k = 0; k < dim; k++) {
+                lo[k] = Math.min(lo[k], xyz[3 * i + k]);
+                hi[k] = Math.max(hi[k], xyz[3 * i + k]);
+            }
+        double volume = 1;
+        for (int k = 0; k < dim; k++) volume *= Math.max(hi[k] - lo[k], 1e-12);
+        double cell = Math.pow(volume * PER_CELL / Math.max(n, 1), 1.0 / dim);
+        int[] counts = new int[3];
+        long total;
+        while (true) {
+            total = 1;
+            for (int k = 0; k < 3; k++) {
+                counts[k] = k < dim ? (int) Math.min(Integer.MAX_VALUE, (long) ((hi[k] - lo[k]) / cell) + 1) : 1;
+                total *= counts[k];
+            }
+            if (total <= Math.min(MAX_CELLS, 4L * n + 16)) break;
+            cell *= 1.5;
+        }
+        nx = counts[0];
+        ny = counts[1];
+        nz = counts[2];
+        minX = lo[0];
+        minY = lo[1];
+        minZ = dim == 3 ? lo[2] : 0;
+        inv = 1 / cell;
+
+        int cells = (int) total;
+        start = new int[cells + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cell(xyz[3 * i], xyz[3 * i + 1], xyz[3 * i + 2]);
+            start[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells; c++) start[c + 1] += start[c];
+        items = new int[n];
+        int[] fill = Arrays.copyOf(start, cells);
+        for (int i = 0; i < n; i++) items[fill[cellOf[i]]++] = i;
+    }
+
+    int ix(double x) { return Math.clamp((long) Math.floor((x - minX) * inv), 0, nx - 1); }
+    int iy(double y) { return Math.clamp((long) Math.floor((y - minY) * inv), 0, ny - 1); }
+    int iz(double z) { return dim == 3 ? Math.clamp((long) Math.floor((z - minZ) * inv), 0, nz - 1) : 0; }
+
+    int cell(double x, double y, double z) {
+        return index(ix(x), iy(y), iz(z));
+    }
+
+    int index(int i, int j, int k) {
+        return (k * ny + j) * nx + i;
+    }
+}
@@ -0,0 +1,16 @@
+package app.flow;
+
+/**
+ * Campo de velocidades no plano ou no espaço. Avaliado por várias threads ao mesmo tempo durante
+ * a advecção, então as implementações são imutáveis e não alocam.
+ */
+public interface VectorField {
+    /** 2 ou 3: no plano, z é ignorado na entrada e a velocidade em z é 0. */
+    int dimension();
+
+    /** Velocidade em (x, y, z), escrita em {@code out[o]}, {@code out[o + 1]}, {@code out[o + 2]}. */
+    void velocity(double x, double y, double z, double[] out, int o);
+
+    /** Caixa onde as partículas nascem: {minX, minY, minZ, maxX, maxY, maxZ}. */
+    double[] bounds();
+}
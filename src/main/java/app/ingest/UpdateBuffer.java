@@ -0,0 +1,116 @@
+package app.ingest;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fila limitada de atualizações pendentes, com no máximo uma entrada por vetor.
+ *
+ * <p>Uma atualização para um vetor que já está na fila só sobrescreve os valores
+ * (os intermediários são descartados). Quando a fila tem {@code capacity} vetores
+ * distintos, os produtores esperam: quem lê do pipe/socket para de ler e o
+ * remetente sente a contrapressão. Usa {@link ReentrantLock} em vez de
+ * {@code synchronized} para não prender as threads virtuais ao carrier.</p>
+ */
+final class UpdateBuffer {
+
+    /** Lote drenado pela thread FX; os arrays trocam de lugar com os da fila. */
+    static final class Batch {
+        int[] index;
+        double[] values;            // x, y, z por atualização
+
+        Batch(int capacity) {
+            index = new int[capacity];
+            values = new double[capacity * 3];
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+
+    private final int capacity;
+    private int[] index;
+    private double[] values;
+    private int size;
+
+    /* tabela de endereçamento aberto: vetor → posição na fila + 1 (0 = livre) */
+    private final int[] table;
+    private final int mask;
+
+    private long received, coalesced;
+
+    UpdateBuffer(int capacity) {
+        this.capacity = capacity;
+        this.index = new int[capacity];
+        this.values = new double[capacity * 3];
+        this.table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        this.mask = table.length - 1;
+    }
+
+    /** Enfileira (ou funde) uma atualização; bloqueia enquanto a fila estiver cheia. */
+    void put(int vector, double x, double y, double z) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            received++;
+            for (;;) {
+                int h = probe(vector);
+                if (table[h] != 0) {
+                    store(table[h] - 1, x, y, z);
+                    coalesced++;
+                    return;
+                }
+                if (size < capacity) {
+                    table[h] = size + 1;
+                    index[size] = vector;
+                    store(size++, x, y, z);
+                    return;
+                }
+                notFull.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Passa tudo que está pendente para {@code into} e libera os produtores. */
+    int drainTo(Batch into) {
+        lock.lock();
+        try {
+            int n = size;
+            if (n == 0) return 0;
+            int[] i = index;         index = into.index;   into.index = i;
+            double[] v = values;     values = into.values; into.values = v;
+            size = 0;
+            Arrays.fill(table, 0);
+            notFull.signalAll();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long received() {
+        lock.lock();
+        try { return received; } finally { lock.unlock(); }
+    }
+
+    long coalesced() {
+        lock.lock();
+        try { return coalesced; } finally { lock.unlock(); }
+    }
+
+    /* ------------ helpers ------------ */
+
+    private int probe(int vector) {
+        int h = (vector * 0x9E3779B9) >>> 7 & mask;
+        while (table[h] != 0 && index[table[h] - 1] != vector) h = (h + 1) & mask;
+        return h;
+    }
+
+    private void store(int slot, double x, double y, double z) {
+        values[slot * 3]     = x;
+        values[slot * 3 + 1] = y;
+        values[slot * 3 + 2] = z;
+    }
+}
@@ -0,0 +1,257 @@
+package app.ingest;
+
+import app.model.EditHistory;
+import app.model.ObservableVector;
+import app.model.VectorWorld;
+import javafx.animation.AnimationTimer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrada contínua de vetores vindos de outro processo (stdin, pipe nomeado ou socket local).
+ *
+ * <p>Cada fonte é lida numa thread virtual e despeja as atualizações num {@link UpdateBuffer};
+ * a thread FX drena o buffer uma vez por quadro e aplica tudo de uma vez no {@link VectorWorld}.
+ * Se a interface atrasar, atualizações intermediárias do mesmo vetor são fundidas, e quando há
+ * vetores distintos demais pendentes os leitores esperam.</p>
+ *
+ * <p>Formatos:</p>
+ * <ul>
+ *   <li>{@link Format#TEXT}: uma linha por atualização, {@code i x y [z]}; linhas vazias ou
+ *       começando com {@code #} são ignoradas.</li>
+ *   <li>{@link Format#BINARY}: quadros big-endian de 28 bytes, {@code int i, double x, y, z}.</li>
+ * </ul>
+ * <p>O índice {@code i} começa em 0; índices além do fim criam os vetores que faltam, até
+ * {@link #MAX_APPEND} depois do último. Índices mais distantes (lixo no fluxo, quadro binário
+ * desalinhado) são descartados e contados em {@link #rejected()}. Essas mudanças não entram no
+ * histórico de desfazer; um quadro que cria vetores limpa o histórico.</p>
+ */
+public class VectorIngest implements Closeable {
+
+    public enum Format { TEXT, BINARY }
+
+    /** Máximo de vetores distintos aplicados por quadro. */
+    public static final int FRAME_CAPACITY = 16_384;
+    /** Quantos vetores além do fim uma atualização pode criar. */
+    public static final int MAX_APPEND = FRAME_CAPACITY;
+
+    private final VectorWorld world;
+    private final Format format;
+    private final UpdateBuffer buffer = new UpdateBuffer(FRAME_CAPACITY);
+    private final UpdateBuffer.Batch batch = new UpdateBuffer.Batch(FRAME_CAPACITY);
+    private final List<Closeable> resources = new CopyOnWriteArrayList<>();
+    private final List<Thread> readers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+    /** Tamanho do mundo no último quadro, para os leitores validarem índices sem tocar nele. */
+    private volatile int knownSize;
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AnimationTimer applier = new AnimationTimer() {
+        @Override public void handle(long now) { applyPending(); }
+    };
+
+    public VectorIngest(VectorWorld world, Format format) {
+        this.world = world;
+        this.format = format;
+        this.knownSize = world.getVectors().size();
+    }
+
+    /**
+     * Abre a fonte descrita por {@code spec}: {@code stdin}, {@code pipe:/caminho} ou
+     * {@code tcp:porta} (só em localhost). Deve ser chamado na thread FX.
+     */
+    public static VectorIngest open(VectorWorld world, String spec, Format format) throws IOException {
+        VectorIngest ingest = new VectorIngest(world, format);
+        if (spec.equals("stdin"))           ingest.fromStdin();
+        else if (spec.startsWith("pipe:"))  ingest.fromPipe(Path.of(spec.substring(5)));
+        else if (spec.startsWith("tcp:"))   ingest.fromSocket(Integer.parseInt(spec.substring(4)));
+        else throw new IllegalArgumentException("Fonte de entrada desconhecida: " + spec);
+        return ingest;
+    }
+
+    /* ================= fontes ================= */
+
+    public void fromStdin() {
+        startReader("ingest-stdin", () -> read(System.in));
+    }
+
+    /**
+     * Pipe nomeado: reabre a cada EOF, já que escritores vêm e vão. Um arquivo comum é lido uma
+     * vez só (reabri-lo releria os mesmos dados para sempre).
+     */
+    public void fromPipe(Path fifo) {
+        boolean reopen = !Files.isRegularFile(fifo);
+        startReader("ingest-pipe", () -> {
+            do {
+                InputStream in = Files.newInputStream(fifo);
+                resources.add(in);
+                try (in) { read(in); }
+                finally { resources.remove(in); }
+            } while (reopen && !closed);
+        });
+    }
+
+    /** Aceita conexões em 127.0.0.1:{@code port}, cada uma lida na sua thread virtual. */
+    public void fromSocket(int port) throws IOException {
+        ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        resources.add(server);
+        startReader("ingest-tcp-accept", () -> {
+            while (!closed) {
+                Socket s = server.accept();
+                resources.add(s);
+                startReader("ingest-tcp", () -> {
+                    try (s) { read(s.getInputStream()); }
+                    finally { resources.remove(s); }
+                });
+            }
+        });
+    }
+
+    /* ================= estatísticas ================= */
+
+    public long received()  { return buffer.received(); }
+    public long coalesced() { return buffer.coalesced(); }
+    /** Atualizações descartadas por índice além de {@link #MAX_APPEND} depois do fim. */
+    public long rejected()  { return rejected.get(); }
+
+    @Override public void close() {
+        closed = true;
+        applier.stop();
+        for (Closeable c : resources) {
+            try { c.close(); } catch (IOException ignored) {}
+        }
+        readers.forEach(Thread::interrupt);
+    }
+
+    /* ================= leitura (threads virtuais) ================= */
+
+    @FunctionalInterface
+    private interface ReaderTask {
+        void run() throws IOException, InterruptedException;
+    }
+
+    private void startReader(String name, ReaderTask task) {
+        applier.start();
+        readers.add(Thread.ofVirtual().name(name).start(() -> {
+            try {
+                task.run();
+            } catch (IOException e) {
+                if (!closed) System.err.println(name + ": " + e.getMessage());
+            } catch (InterruptedException ignored) {
+                // encerrando
+            } finally {
+                readers.remove(Thread.currentThread());
+            }
+        }));
+    }
+
+    private void read(InputStream in) throws IOException, InterruptedException {
+        if (format == Format.BINARY) readBinary(in);
+        else readText(in);
+    }
+
+    private void readText(InputStream in) throws IOException, InterruptedException {
+        BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        double[] xyz = new double[3];
+        String line;
+        while (!closed && (line = r.readLine()) != null) {
+            int vector = parseLine(line, xyz);
+            if (vector >= 0 && accept(vector)) buffer.put(vector, xyz[0], xyz[1], xyz[2]);
+        }
+    }
+
+    private void readBinary(InputStream in) throws IOException, InterruptedException {
+        DataInputStream d = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        try {
+            while (!closed) {
+                int vector = d.readInt();
+                double x = d.readDouble(), y = d.readDouble(), z = d.readDouble();
+                if (vector >= 0 && accept(vector)) buffer.put(vector, x, y, z);
+            }
+        } catch (EOFException ignored) {
+            // fim do fluxo
+        }
+    }
+
+    /** {@code i x y [z]} → índice do vetor (ou -1 se a linha não é uma atualização válida). */
+    static int parseLine(String line, double[] xyz) {
+        String[] tok = line.trim().split("\\s+");
+        if (tok.length < 3 || tok[0].startsWith("#")) return -1;
+        try {
+            int vector = Integer.parseInt(tok[0]);
+            xyz[0] = Double.parseDouble(tok[1]);
+            xyz[1] = Double.parseDouble(tok[2]);
+            xyz[2] = tok.length > 3 ? Double.parseDouble(tok[3]) : 0;
+            return vector;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Índice dentro do mundo ou até {@link #MAX_APPEND} depois dele; avisa a primeira recusa. */
+    private boolean accept(int vector) {
+        if (vector < (long) knownSize + MAX_APPEND) return true;
+        if (rejected.getAndIncrement() == 0)
+            System.err.println("ingest: índice " + vector + " longe demais do fim (" + knownSize
+                    + " vetores); atualizações assim são descartadas");
+        return false;
+    }
+
+    /* ================= aplicação (thread FX, uma vez por quadro) ================= */
+
+    private void applyPending() {
+        var vectors = world.getVectors();
+        int size = vectors.size();
+        knownSize = size;
+        int n = buffer.drainTo(batch);
+        if (n == 0) return;
+
+        List<ObservableVector> appended = new ArrayList<>();
+        int[] index = batch.index;
+        double[] values = batch.values;
+
+        EditHistory history = world.getHistory();
+        history.suspend();
+        try {
+            for (int k = 0; k < n; k++) {
+                int i = index[k];
+                double x = values[k * 3], y = values[k * 3 + 1], z = values[k * 3 + 2];
+                if (i < size) {
+                    ObservableVector v = vectors.get(i);
+                    v.setX(x);
+                    v.setY(y);
+                    if (v.dimension() >= 3) v.setZ(z);
+                } else if (i - size < MAX_APPEND) {        // o mundo pode ter encolhido desde a leitura
+                    while (size + appended.size() <= i) appended.add(new ObservableVector(0, 0, 0));
+                    ObservableVector v = appended.get(i - size);
+                    v.setX(x);
+                    v.setY(y);
+                    v.setZ(z);
+                }
+            }
+            if (!appended.isEmpty()) vectors.addAll(appended);   // uma única mudança na lista
+        } finally {
+            history.resume();
+        }
+        // registros de antes da mudança estrutural apontariam para posições que o fluxo já usa
+        if (!appended.isEmpty()) history.clear();
+        knownSize = vectors.size();
+    }
+}
@@ -0,0 +1,229 @@
+package app.model;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+import java.util.Arrays;
+
+/**
+ * Histórico de desfazer/refazer do {@link VectorWorld}.
+ *
+ * <p>Guarda deltas compactos (índice do vetor, componente, valor antigo e novo) num
+ * buffer circular de arrays primitivos, então a memória é limitada a {@link #CAPACITY}
+ * entradas independente da duração da sessão; quando o buffer enche, os grupos mais
+ * antigos são descartados inteiros. Edições seguidas na mesma componente dentro de
+ * {@link #COALESCE_NANOS} (ex.: arrastar um spinner) viram uma entrada só.</p>
+ *
+ * <p>Inserções e remoções são gravadas como um registro estrutural que guarda a própria
+ * instância do vetor: desfazer uma remoção devolve à lista o mesmo objeto, com os valores que
+ * ele tinha, e quem guardava a referência (seleção, células, índices das estatísticas e do
+ * diário) continua ligado a ele. Tudo que acontece dentro de
+ * {@link #beginBatch()}/{@link #endBatch()} forma um grupo, desfeito e refeito de uma vez. Um
+ * grupo maior que o buffer inteiro não tem como ser desfeito e limpa o histórico.</p>
+ */
+public class EditHistory {
+    public static final int CAPACITY = 8192;
+    public static final long COALESCE_NANOS = 500_000_000L;
+
+    private static final byte SET = 0, ADD = 1, REMOVE = 2;
+
+    private final VectorWorld world;
+
+    /* registros (posição lógica p fica em p % CAPACITY) */
+    private final byte[]   kinds   = new byte[CAPACITY];
+    private final int[]    indices = new int[CAPACITY];
+    private final byte[]   comps   = new byte[CAPACITY];
+    private final double[] olds    = new double[CAPACITY];
+    private final double[] news    = new double[CAPACITY];
+    private final int[]    groups  = new int[CAPACITY];
+    private final ObservableVector[] refs = new ObservableVector[CAPACITY];   // ADD/REMOVE
+
+    /* [tail, cursor) = pode desfazer, [cursor, head) = pode refazer */
+    private long tail, cursor, head;
+    private long lastRecordNanos;
+
+    private int groupSeq;
+    private int batchDepth;
+    private int batchGroup;
+    private int discardedGroup;
+    private boolean replaying;
+    private int suspended;
+    private boolean sealed = true;
+
+    private final ReadOnlyBooleanWrapper canUndo = new ReadOnlyBooleanWrapper(false);
+    private final ReadOnlyBooleanWrapper canRedo = new ReadOnlyBooleanWrapper(false);
+
+    EditHistory(VectorWorld world) {
+        this.world = world;
+    }
+
+    public ReadOnlyBooleanProperty canUndoProperty() { return canUndo.getReadOnlyProperty(); }
+    public ReadOnlyBooleanProperty canRedoProperty() { return canRedo.getReadOnlyProperty(); }
+
+    /* ================= agrupamento ================= */
+
+    /** Abre um grupo: tudo até o {@link #endBatch()} correspondente é desfeito junto. */
+    public void beginBatch() {
+        if (batchDepth++ == 0) {
+            batchGroup = ++groupSeq;
+            sealed = true;
+        }
+    }
+
+    public void endBatch() {
+        if (batchDepth > 0 && --batchDepth == 0) sealed = true;
+    }
+
+    /** Impede que a próxima edição seja fundida com a anterior (ex.: spinner perdeu o foco). */
+    public void seal() {
+        sealed = true;
+    }
+
+    /** Mudanças feitas até o {@link #resume()} não entram no histórico (ex.: dados ao vivo). */
+    public void suspend() {
+        suspended++;
+    }
+
+    public void resume() {
+        if (suspended > 0) suspended--;
+    }
+
+    /** Esquece todo o histórico. */
+    public void clear() {
+        Arrays.fill(refs, null);
+        tail = cursor = head = 0;
+        sealed = true;
+        updateFlags();
+    }
+
+    /* ================= gravação ================= */
+
+    void recordSet(int index, int comp, double oldValue, double newValue) {
+        if (replaying || suspended > 0 || index < 0) return;
+        long now = System.nanoTime();
+        if (batchDepth == 0 && !sealed && cursor == head && cursor > tail) {
+            int last = slot(cursor - 1);
+            if (kinds[last] == SET && indices[last] == index && comps[last] == comp
+                    && now - lastRecordNanos < COALESCE_NANOS
+                    && (cursor - 1 == tail || groups[slot(cursor - 2)] != groups[last])) {
+                news[last] = newValue;
+                lastRecordNanos = now;
+                return;
+            }
+        }
+        append(SET, index, null, comp, oldValue, newValue);
+        lastRecordNanos = now;
+        sealed = batchDepth > 0;
+    }
+
+    void recordAdd(int index, ObservableVector v) {
+        if (replaying || suspended > 0) return;
+        append(ADD, index, v, 0, 0, 0);
+    }
+
+    void recordRemove(int index, ObservableVector v) {
+        if (replaying || suspended > 0) return;
+        append(REMOVE, index, v, 0, 0, 0);
+    }
+
+    private void append(byte kind, int index, ObservableVector ref, int comp, double oldValue, double newValue) {
+        int g = batchDepth > 0 ? batchGroup : ++groupSeq;
+        if (g == discardedGroup) return;
+        head = cursor;                         // nova edição descarta o que podia ser refeito
+        if (head - tail == CAPACITY) {
+            if (groups[slot(tail)] == g) {
+                // o grupo atual sozinho não cabe no buffer: não há como desfazê-lo
+                discardedGroup = g;
+                clear();
+                return;
+            }
+            dropOldestGroup();
+        }
+        int s = slot(head);
+        kinds[s] = kind;
+        indices[s] = index;
+        comps[s] = (byte) comp;
+        olds[s] = oldValue;
+        news[s] = newValue;
+        groups[s] = g;
+        refs[s] = ref;
+        cursor = ++head;
+        updateFlags();
+    }
+
+    /** Libera espaço descartando o grupo mais antigo inteiro (nunca deixa um grupo pela metade). */
+    private void dropOldestGroup() {
+        int g = groups[slot(tail)];
+        do refs[slot(tail++)] = null; while (tail < cursor && groups[slot(tail)] == g);
+    }
+
+    /* ================= desfazer / refazer ================= */
+
+    public boolean undo() {
+        if (cursor == tail) return false;
+        int g = groups[slot(cursor - 1)];
+        replaying = true;
+        try {
+            while (cursor > tail && groups[slot(cursor - 1)] == g) revert(slot(--cursor));
+        } finally {
+            replaying = false;
+            sealed = true;
+        }
+        updateFlags();
+        return true;
+    }
+
+    public boolean redo() {
+        if (cursor == head) return false;
+        int g = groups[slot(cursor)];
+        replaying = true;
+        try {
+            while (cursor < head && groups[slot(cursor)] == g) apply(slot(cursor++));
+        } finally {
+            replaying = false;
+            sealed = true;
+        }
+        updateFlags();
+        return true;
+    }
+
+    private void apply(int s) {
+        var vectors = world.getVectors();
+        switch (kinds[s]) {
+            case SET    -> vectors.get(indices[s]).set(comps[s], news[s]);
+            case ADD    -> vectors.add(indices[s], reinserted(s));
+            case REMOVE -> vectors.remove(indices[s]);
+        }
+    }
+
+    private void revert(int s) {
+        var vectors = world.getVectors();
+        switch (kinds[s]) {
+            case SET    -> vectors.get(indices[s]).set(comps[s], olds[s]);
+            case ADD    -> vectors.remove(indices[s]);
+            case REMOVE -> vectors.add(indices[s], reinserted(s));
+        }
+    }
+
+    /* ------------ helpers ------------ */
+
+    /**
+     * O vetor guardado no registro {@code s}; uma cópia só se ele voltou ao mundo por outro
+     * caminho (a mesma instância não pode estar duas vezes na lista).
+     */
+    private ObservableVector reinserted(int s) {
+        ObservableVector v = refs[s];
+        if (v.index() < 0) return v;
+        return v.dimension() >= 3 ? new ObservableVector(v.getX(), v.getY(), v.getZ())
+                                  : new ObservableVector(v.getX(), v.getY());
+    }
+
+    private static int slot(long position) {
+        return (int) (position % CAPACITY);
+    }
+
+    private void updateFlags() {
+        canUndo.set(cursor > tail);
+        canRedo.set(cursor < head);
+    }
+}
@@ -0,0 +1,153 @@
+package app.model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Conjunto de vetores de dimensão d qualquer (dezenas a centenas de componentes), guardado num
+ * único {@code double[]} em ordem de linhas, sem um objeto por vetor.
+ *
+ * <p>Não é exibido diretamente: um {@link NdProjector} o projeta em 2D/3D num {@link VectorWorld}.
+ * As linhas alteradas desde a última projeção ficam marcadas para que só elas sejam reprojetadas.
+ * Uso só na thread FX.</p>
+ */
+public class NdDataset {
+    private final int dim;
+    private double[] data;
+    private int rows;
+
+    private final BitSet dirty = new BitSet();
+    private boolean structureChanged = true;
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    public NdDataset(int dim) {
+        if (dim < 1) throw new IllegalArgumentException("Dimensão deve ser positiva.");
+        this.dim = dim;
+        this.data = new double[dim * 16];
+    }
+
+    /**
+     * Lê um arquivo de texto com um vetor por linha, componentes separadas por espaços,
+     * tabulações, vírgulas ou ponto e vírgula. Linhas vazias ou começando com {@code #} são
+     * ignoradas; a primeira linha de dados define a dimensão.
+     */
+    public static NdDataset load(Path file) throws IOException {
+        try (BufferedReader r = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            NdDataset ds = null;
+            double[] row = null;
+            String line;
+            int lineNo = 0;
+            while ((line = r.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] tok = line.split("[\\s,;]+");
+                if (ds == null) {
+                    ds = new NdDataset(tok.length);
+                    row = new double[tok.length];
+                }
+                if (tok.length != ds.dim)
+                    throw new IOException("Linha " + lineNo + ": esperadas " + ds.dim + " componentes, há " + tok.length + ".");
+                try {
+                    for (int j = 0; j < tok.length; j++) row[j] = Double.parseDouble(tok[j]);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Linha " + lineNo + ": número inválido.", e);
+                }
+                ds.addRow(row);
+            }
+            if (ds == null) throw new IOException("Arquivo sem vetores: " + file);
+            return ds;
+        }
+    }
+
+    /* ================= consultas ================= */
+
+    public int dimension() { return dim; }
+    public int rows() { return rows; }
+
+    public double get(int row, int component) {
+        checkRow(row);
+        return data[row * dim + component];
+    }
+
+    public double[] row(int row) {
+        checkRow(row);
+        return Arrays.copyOfRange(data, row * dim, row * dim + dim);
+    }
+
+    /** Array interno em ordem de linhas (só as primeiras {@code rows()·dimension()} posições valem). */
+    public double[] data() { return data; }
+
+    /* ================= alterações ================= */
+
+    public int addRow(double[] values) {
+        checkLength(values);
+        if ((rows + 1) * dim > data.length) data = Arrays.copyOf(data, Math.max(dim, data.length * 2));
+        System.arraycopy(values, 0, data, rows * dim, dim);
+        structureChanged = true;
+        changed();
+        return rows++;
+    }
+
+    public void set(int row, int component, double value) {
+        checkRow(row);
+        data[row * dim + component] = value;
+        dirty.set(row);
+        changed();
+    }
+
+    public void setRow(int row, double[] values) {
+        checkRow(row);
+        checkLength(values);
+        System.arraycopy(values, 0, data, row * dim, dim);
+        dirty.set(row);
+        changed();
+    }
+
+    public void clear() {
+        rows = 0;
+        structureChanged = true;
+        changed();
+    }
+
+    /** Avisado (de forma síncrona) a cada alteração; quem ouve deve agrupar o trabalho. */
+    public void addChangeListener(Runnable l) { listeners.add(l); }
+    public void removeChangeListener(Runnable l) { listeners.remove(l); }
+
+    /* ================= mudanças pendentes ================= */
+
+    /**
+     * Passa para {@code into} as linhas alteradas desde a última chamada e limpa as marcas.
+     * Devolve {@code true} se linhas foram acrescentadas ou removidas nesse meio tempo (nesse
+     * caso {@code into} não é preenchido: tudo precisa ser refeito).
+     */
+    boolean takeChanges(BitSet into) {
+        boolean structural = structureChanged;
+        into.clear();
+        if (!structural) into.or(dirty);
+        dirty.clear();
+        structureChanged = false;
+        return structural;
+    }
+
+    /* ------------ helpers ------------ */
+
+    private void changed() {
+        for (Runnable l : listeners) l.run();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) throw new IndexOutOfBoundsException("Linha " + row + " de " + rows);
+    }
+
+    private void checkLength(double[] values) {
+        if (values.length != dim) throw new IllegalArgumentException("Vetor deve ter dimensão " + dim + ".");
+    }
+}
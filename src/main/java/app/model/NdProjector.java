@@ -0,0 +1,127 @@
+package app.model;
+
+import app.util.Projection;
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Mantém um {@link VectorWorld} como a projeção 2D/3D de um {@link NdDataset}.
+ *
+ * <p>Trocar a projeção reprojeta todas as linhas; editar o conjunto reprojeta só as linhas
+ * marcadas, no máximo uma vez por pulso. O resultado vai para um {@code double[]} e só então
+ * para os vetores do mundo, com o histórico de desfazer suspenso: o mundo é uma vista, quem
+ * manda é o conjunto N-D.</p>
+ */
+public class NdProjector {
+    private final VectorWorld world;
+    private NdDataset dataset;
+    private Projection projection;
+
+    private double[] projected = new double[0];
+    private final BitSet changed = new BitSet();
+    private boolean syncPending;
+
+    private final Runnable datasetListener = this::requestSync;
+
+    public NdProjector(VectorWorld world) {
+        this.world = world;
+    }
+
+    public NdDataset getDataset() { return dataset; }
+    public Projection getProjection() { return projection; }
+
+    /** Passa a exibir {@code dataset} com {@code projection}, substituindo os vetores do mundo. */
+    public void show(NdDataset dataset, Projection projection) {
+        if (this.dataset != null) this.dataset.removeChangeListener(datasetListener);
+        this.dataset = dataset;
+        dataset.addChangeListener(datasetListener);
+        setProjection(projection);
+    }
+
+    /** Troca a projeção e reprojeta tudo já. */
+    public void setProjection(Projection projection) {
+        if (dataset == null) throw new IllegalStateException("Nenhum conjunto N-D aberto.");
+        if (projection.inputDimension() != dataset.dimension())
+            throw new IllegalArgumentException("Projeção de dimensão " + projection.inputDimension()
+                    + " para conjunto de dimensão " + dataset.dimension() + ".");
+        this.projection = projection;
+        dataset.takeChanges(changed);
+        projectAll();
+    }
+
+    /** Para de acompanhar o conjunto (os vetores ficam no mundo). */
+    public void detach() {
+        if (dataset != null) dataset.removeChangeListener(datasetListener);
+        dataset = null;
+        projection = null;
+    }
+
+    /* ------------ sincronização ------------ */
+
+    private void requestSync() {
+        if (syncPending) return;
+        syncPending = true;
+        Platform.runLater(() -> {
+            syncPending = false;
+            sync();
+        });
+    }
+
+    private void sync() {
+        if (dataset == null) return;
+        if (dataset.takeChanges(changed)) {
+            projectAll();
+        } else if (!changed.isEmpty()) {
+            projection.apply(dataset.data(), dataset.rows(), changed, projected);
+            applyToWorld(changed);
+        }
+    }
+
+    private void projectAll() {
+        int rows = dataset.rows(), k = projection.outputDimension();
+        if (projected.length < rows * k) projected = new double[rows * k];
+        projection.apply(dataset.data(), rows, projected);
+        applyToWorld(null);
+    }
+
+    /** {@code only == null}: todas as linhas; recria os vetores se a quantidade ou a dimensão mudou. */
+    private void applyToWorld(BitSet only) {
+        int rows = dataset.rows(), k = projection.outputDimension();
+        var vectors = world.getVectors();
+        EditHistory history = world.getHistory();
+        history.suspend();
+        try {
+            boolean sameShape = vectors.size() == rows
+                    && (rows == 0 || vectors.getFirst().dimension() == k);
+            if (!sameShape) {
+                List<ObservableVector> fresh = new ArrayList<>(rows);
+                for (int i = 0; i < rows; i++) {
+                    int o = i * k;
+                    fresh.add(k == 3 ? new ObservableVector(projected[o], projected[o + 1], projected[o + 2])
+                                     : new ObservableVector(projected[o], projected[o + 1]));
+                }
+                vectors.setAll(fresh);               // uma única mudança na lista
+                history.clear();                     // índices antigos não valem mais
+                return;
+            }
+            if (only == null) {
+                for (int i = 0; i < rows; i++) write(vectors.get(i), i, k);
+            } else {
+                for (int i = only.nextSetBit(0); i >= 0 && i < rows; i = only.nextSetBit(i + 1))
+                    write(vectors.get(i), i, k);
+            }
+        } finally {
+            history.resume();
+        }
+    }
+
+    private void write(ObservableVector v, int row, int k) {
+        int o = row * k;
+        v.setX(projected[o]);
+        v.setY(projected[o + 1]);
+        if (k == 3) v.setZ(projected[o + 2]);
+    }
+}
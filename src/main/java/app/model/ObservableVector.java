@@ -2,46 +2,157 @@ package app.model;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
-import java.util.Arrays;
+import javafx.beans.value.ObservableValue;
 
 /**
  * Vetor observável de 2 ou 3 dimensões.
  * Permite uso com propriedades reativas em JavaFX.
+ *
+ * <p>Enquanto está num {@link VectorWorld}, as componentes ficam numa linha do array compacto
+ * do mundo (ver {@link VectorStore}), com a precisão dele; solto, num array próprio. As
+ * propriedades só são criadas quando alguém pede uma (ex.: a célula da lista que exibe o
+ * vetor) — com um milhão de vetores, a maioria nunca tem nenhuma.</p>
  */
 public class ObservableVector {
-    private final DoubleProperty[] c;
+    private static final String[] NAMES = { "x", "y", "z" };
+
+    private final int dim;
+    private VectorStore store;              // null: solto, componentes em loose
+    private int row = -1;
+    private double[] loose;
+    private Component[] props;              // criadas sob demanda
+
+    /** Posição na lista do {@link VectorWorld} dono (-1 quando solto). */
+    int index = -1;
+    /** Marca do mundo na última mudança deste vetor (ver {@link VectorWorld#stamp()}). */
+    long stamp;
 
     public ObservableVector(double x, double y) {
-        this.c = new DoubleProperty[] {
-                new SimpleDoubleProperty(x),
-                new SimpleDoubleProperty(y)
-        };
+        this.dim = 2;
+        this.loose = new double[] { x, y };
     }
 
     public ObservableVector(double x, double y, double z) {
-        this.c = new DoubleProperty[] {
-                new SimpleDoubleProperty(x),
-                new SimpleDoubleProperty(y),
-                new SimpleDoubleProperty(z)
-        };
+        this.dim = 3;
+        this.loose = new double[] { x, y, z };
     }
 
     public int dimension() {
-        return c.length;
+        return dim;
+    }
+
+    public double getX() { return get(0); }
+    public void setX(double x) { set(0, x); }
+    public double getY() { return get(1); }
+    public void setY(double y) { set(1, y); }
+    public double getZ() { return dim >= 3 ? get(2) : 0; }
+    public void setZ(double z) { set(2, z); }
+
+    public DoubleProperty xProperty() { return componentProperty(0); }
+    public DoubleProperty yProperty() { return componentProperty(1); }
+    public DoubleProperty zProperty() { return dim >= 3 ? componentProperty(2) : new SimpleDoubleProperty(0); }
+
+    /* acesso por índice de componente (0 = x, 1 = y, 2 = z) */
+    public double get(int component) {
+        if (component >= dim) throw new ArrayIndexOutOfBoundsException(component);
+        return store != null ? store.get(row, component) : loose[component];
     }
 
-    public double getX() { return c[0].get(); }
-    public void setX(double x) { c[0].set(x); }
-    public double getY() { return c[1].get(); }
-    public void setY(double y) { c[1].set(y); }
-    public double getZ() { return c.length >= 3 ? c[2].get() : 0; }
-    public void setZ(double z) { c[2].set(z); }
+    /** Guarda {@code value} na precisão do mundo e avisa o mundo, se o valor guardado mudou. */
+    public void set(int component, double value) {
+        double old = get(component);
+        double stored = store != null ? store.precision.round(value) : value;
+        if (old == stored) return;
+        if (store != null) store.set(row, component, stored);
+        else loose[component] = stored;
+        if (store != null) store.world.componentChanged(this, component, old, stored);
+        if (props != null && props[component] != null) props[component].mirror(stored);
+    }
+
+    public DoubleProperty componentProperty(int component) {
+        if (component >= dim) throw new ArrayIndexOutOfBoundsException(component);
+        if (props == null) props = new Component[dim];
+        if (props[component] == null) props[component] = new Component(component);
+        return props[component];
+    }
 
-    public DoubleProperty xProperty() { return c[0]; }
-    public DoubleProperty yProperty() { return c[1]; }
-    public DoubleProperty zProperty() { return c.length >= 3 ? c[2] : new SimpleDoubleProperty(0); }
+    /** Índice da componente dona da propriedade, ou -1 se ela não pertence a este vetor. */
+    public int componentOf(ObservableValue<?> property) {
+        if (props != null)
+            for (int i = 0; i < dim; i++) if (props[i] == property) return i;
+        return -1;
+    }
+
+    /** Posição atual no {@link VectorWorld}, mantida pelo próprio mundo. */
+    public int index() {
+        return index;
+    }
+
+    /** Marca do {@link VectorWorld} quando este vetor entrou nele ou foi editado pela última vez. */
+    public long stamp() {
+        return stamp;
+    }
 
     public double[] toArray() {
-        return Arrays.stream(c).mapToDouble(DoubleProperty::get).toArray();
+        double[] a = new double[dim];
+        for (int i = 0; i < dim; i++) a[i] = get(i);
+        return a;
+    }
+
+    /**
+     * Muda as componentes para uma linha de {@code target} ({@code null}: array próprio). Entrar
+     * numa loja float32 arredonda os valores; isso não gera avisos de edição, o mundo trata a
+     * entrada como mudança na lista.
+     */
+    void moveTo(VectorStore target) {
+        if (target == store) return;
+        double[] v = toArray();
+        if (store != null) store.free(row);
+        store = target;
+        if (target == null) {
+            row = -1;
+            loose = v;
+        } else {
+            loose = null;
+            row = target.alloc();
+            for (int i = 0; i < dim; i++) target.set(row, i, v[i]);
+        }
+        if (props != null)
+            for (int i = 0; i < dim; i++) if (props[i] != null) props[i].mirror(get(i));
+    }
+
+    /**
+     * Propriedade de uma componente: escrever nela passa por {@link #set(int, double)}, então
+     * arredonda e avisa o mundo como qualquer edição. Ligada a outro valor ({@code bind}), cada
+     * mudança da fonte é escrita no vetor do mesmo jeito; enquanto isso a propriedade mostra a
+     * fonte, como manda o contrato de {@code Property}, e não aceita {@code set}.
+     */
+    private final class Component extends SimpleDoubleProperty {
+        private final int component;
+
+        Component(int component) {
+            super(ObservableVector.this, NAMES[component], ObservableVector.this.get(component));
+            this.component = component;
+        }
+
+        @Override public void set(double value) {
+            if (isBound()) super.set(value);            // lança, como qualquer propriedade ligada
+            else ObservableVector.this.set(component, value);
+        }
+
+        /** A fonte mudou (ou acabou de ser ligada): leva o valor dela para o vetor. */
+        @Override protected void invalidated() {
+            if (isBound()) ObservableVector.this.set(component, get());
+        }
+
+        @Override public void unbind() {
+            super.unbind();
+            mirror(ObservableVector.this.get(component));
+        }
+
+        /** Acompanha o valor guardado no vetor, avisando os ouvintes da propriedade. */
+        void mirror(double value) {
+            if (!isBound()) super.set(value);
+        }
     }
 }
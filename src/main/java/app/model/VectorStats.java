@@ -0,0 +1,199 @@
+package app.model;
+
+import app.util.SymmetricEigen;
+import javafx.collections.ListChangeListener;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Estatísticas do conjunto de vetores de um {@link VectorWorld}: vetor médio, matriz de
+ * covariância, eixos principais (PCA) e distribuição das magnitudes.
+ *
+ * <p>Os momentos são mantidos de forma incremental (Welford): cada inserção, remoção ou edição
+ * de componente custa O(1). Mudanças grandes na lista (carga em massa, {@code setAll}) caem
+ * num recálculo paralelo em blocos, combinados pela fórmula de Chan. Vetores 2D contam com z = 0.</p>
+ */
+public class VectorStats {
+    /** A partir de quantos vetores numa única mudança compensa recalcular tudo. */
+    static final int BULK_THRESHOLD = 4096;
+    private static final int CHUNK = 16_384;
+    /** Depois de tantas atualizações incrementais, recalcula para não acumular erro. */
+    private static final long REFRESH_AFTER = 1L << 22;
+
+    /** Faixas da distribuição de magnitudes: faixa k cobre [2^(k-32), 2^(k-31)); 0 e subnormais na 0. */
+    public static final int BINS = 64;
+    private static final int BIN_OFFSET = 32;
+
+    private final VectorWorld world;
+    private Moments m = new Moments();
+    private long updatesSinceRefresh;
+
+    private SymmetricEigen pca;               // calculado sob demanda
+    private long revision, pcaRevision = -1;
+
+    public VectorStats(VectorWorld world) {
+        this.world = world;
+        world.getVectors().addListener(this::listChanged);
+        world.addEditListener(this::edited);
+        recompute();
+    }
+
+    /* ================= consultas ================= */
+
+    public long count() { return m.n; }
+
+    /** Vetor médio (x, y, z). */
+    public double[] mean() { return m.mean.clone(); }
+
+    /** Covariância amostral 3×3 em ordem de linhas (zeros com menos de dois vetores). */
+    public double[] covariance() {
+        double[] cov = new double[9];
+        if (m.n < 2) return cov;
+        for (int i = 0; i < 9; i++) cov[i] = m.c[i] / (m.n - 1);
+        return cov;
+    }
+
+    /** Eixos principais: autovetores da covariância, do de maior variância para o de menor. */
+    public SymmetricEigen principalAxes() {
+        if (pcaRevision != revision) {
+            pca = SymmetricEigen.of(covariance(), 3);
+            pcaRevision = revision;
+        }
+        return pca;
+    }
+
+    /** Contagem de vetores por faixa de magnitude (ver {@link #BINS}). */
+    public long[] magnitudeHistogram() { return m.hist.clone(); }
+
+    /** Limite inferior da faixa {@code bin}. */
+    public static double binLowerBound(int bin) {
+        return bin == 0 ? 0 : Math.scalb(1.0, bin - BIN_OFFSET);
+    }
+
+    /** Muda a cada atualização; serve para saber se algo precisa ser redesenhado. */
+    public long revision() { return revision; }
+
+    /* ================= manutenção ================= */
+
+    private void listChanged(ListChangeListener.Change<? extends ObservableVector> c) {
+        int touched = 0;
+        while (c.next()) touched += c.getRemovedSize() + c.getAddedSize();
+        c.reset();
+        if (touched >= BULK_THRESHOLD) {
+            recompute();
+            return;
+        }
+        while (c.next()) {
+            for (ObservableVector v : c.getRemoved()) m.remove(v.get(0), v.get(1), v.getZ());
+            for (ObservableVector v : c.getAddedSubList()) m.add(v.get(0), v.get(1), v.getZ());
+        }
+        updated(touched);
+    }
+
+    private void edited(ObservableVector v, int comp, double oldValue, double newValue) {
+        double x = v.get(0), y = v.get(1), z = v.getZ();
+        switch (comp) {
+            case 0 -> m.remove(oldValue, y, z);
+            case 1 -> m.remove(x, oldValue, z);
+            default -> m.remove(x, y, oldValue);
+        }
+        m.add(x, y, z);
+        updated(2);
+    }
+
+    private void updated(long ops) {
+        revision++;
+        updatesSinceRefresh += ops;
+        if (updatesSinceRefresh >= REFRESH_AFTER) recompute();
+    }
+
+    /** Recalcula do zero, em paralelo por blocos quando há muitos vetores. */
+    public void recompute() {
+        List<ObservableVector> vs = world.getVectors();
+        int n = vs.size();
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (chunks > 1) range = range.parallel();
+        m = range.mapToObj(k -> {
+                    Moments part = new Moments();
+                    for (int i = k * CHUNK, end = Math.min(n, i + CHUNK); i < end; i++) {
+                        ObservableVector v = vs.get(i);
+                        part.add(v.get(0), v.get(1), v.getZ());
+                    }
+                    return part;
+                })
+                .reduce(new Moments(), Moments::merge);
+        updatesSinceRefresh = 0;
+        revision++;
+    }
+
+    static int bin(double magnitude) {
+        if (!(magnitude >= Double.MIN_NORMAL)) return 0;
+        return Math.max(0, Math.min(BINS - 1, Math.getExponent(magnitude) + BIN_OFFSET));
+    }
+
+    /* ================= momentos ================= */
+
+    /** Contagem, média e comomentos Σ(x-μ)(x-μ)ᵀ, atualizáveis e combináveis. */
+    private static final class Moments {
+        long n;
+        final double[] mean = new double[3];
+        final double[] c = new double[9];
+        final long[] hist = new long[BINS];
+
+        void add(double x, double y, double z) {
+            n++;
+            double dx = x - mean[0], dy = y - mean[1], dz = z - mean[2];
+            mean[0] += dx / n; mean[1] += dy / n; mean[2] += dz / n;
+            comoment(dx, dy, dz, x - mean[0], y - mean[1], z - mean[2], 1);
+            hist[bin(Math.sqrt(x * x + y * y + z * z))]++;
+        }
+
+        void remove(double x, double y, double z) {
+            if (n <= 1) {
+                clear();
+                return;
+            }
+            double ex = x - mean[0], ey = y - mean[1], ez = z - mean[2];   // desvio da média atual
+            n--;
+            mean[0] -= ex / n; mean[1] -= ey / n; mean[2] -= ez / n;
+            comoment(x - mean[0], y - mean[1], z - mean[2], ex, ey, ez, -1);
+            int b = bin(Math.sqrt(x * x + y * y + z * z));
+            if (hist[b] > 0) hist[b]--;
+        }
+
+        private void comoment(double ax, double ay, double az, double bx, double by, double bz, int sign) {
+            c[0] += sign * ax * bx; c[1] += sign * ax * by; c[2] += sign * ax * bz;
+            c[4] += sign * ay * by; c[5] += sign * ay * bz;
+            c[8] += sign * az * bz;
+            c[3] = c[1]; c[6] = c[2]; c[7] = c[5];
+        }
+
+        private void clear() {
+            n = 0;
+            java.util.Arrays.fill(mean, 0);
+            java.util.Arrays.fill(c, 0);
+            java.util.Arrays.fill(hist, 0);
+        }
+
+        /** Combinação de dois conjuntos disjuntos (Chan, Golub e LeVeque). */
+        Moments merge(Moments o) {
+            if (o.n == 0) return this;
+            if (n == 0) return o;
+            Moments r = new Moments();
+            r.n = n + o.n;
+            double f = (double) n * o.n / r.n;
+            double[] d = new double[3];
+            for (int i = 0; i < 3; i++) {
+                d[i] = o.mean[i] - mean[i];
+                r.mean[i] = mean[i] + d[i] * o.n / r.n;
+            }
+            for (int i = 0; i < 3; i++)
+                for (int j = 0; j < 3; j++)
+                    r.c[i * 3 + j] = c[i * 3 + j] + o.c[i * 3 + j] + d[i] * d[j] * f;
+            for (int i = 0; i < BINS; i++) r.hist[i] = hist[i] + o.hist[i];
+            return r;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package app.model;
+
+import java.util.Arrays;
+
+/**
+ * Coordenadas dos vetores de um {@link VectorWorld} num único array compacto, três por linha
+ * (z = 0 nos vetores 2D), em {@code double[]} ou {@code float[]} conforme a {@link Precision}.
+ * Cada vetor do mundo ocupa uma linha enquanto está nele; linhas liberadas são reaproveitadas.
+ * Só a thread FX escreve; leituras concorrentes (recálculos paralelos) são seguras enquanto
+ * ninguém escreve.
+ */
+final class VectorStore {
+    final VectorWorld world;
+    final Precision precision;
+    private double[] d;
+    private float[] f;
+    private int rows;                       // linhas já usadas alguma vez
+    private int[] free = new int[16];
+    private int freeCount;
+
+    VectorStore(VectorWorld world, Precision precision) {
+        this.world = world;
+        this.precision = precision;
+        if (precision == Precision.FLOAT32) f = new float[3 * 64];
+        else d = new double[3 * 64];
+    }
+
+    int alloc() {
+        if (freeCount > 0) return free[--freeCount];
+        int capacity = (f != null ? f.length : d.length) / 3;
+        if (rows == capacity) {
+            int grown = (int) Math.min(Integer.MAX_VALUE / 3, 2L * capacity);
+            if (grown == capacity) throw new IllegalStateException("Vetores demais para um único mundo.");
+            if (f != null) f = Arrays.copyOf(f, 3 * grown);
+            else d = Arrays.copyOf(d, 3 * grown);
+        }
+        return rows++;
+    }
+
+    void free(int row) {
+        if (freeCount == free.length) free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = row;
+        set(row, 0, 0);
+        set(row, 1, 0);
+        set(row, 2, 0);
+    }
+
+    double get(int row, int c) {
+        return f != null ? f[3 * row + c] : d[3 * row + c];
+    }
+
+    /** Guarda {@code v} arredondado à precisão da loja. */
+    void set(int row, int c, double v) {
+        if (f != null) f[3 * row + c] = (float) v;
+        else d[3 * row + c] = v;
+    }
+
+    /** Linhas ocupadas. */
+    int size() {
+        return rows - freeCount;
+    }
+
+    /** Memória do array de coordenadas. */
+    long bytes() {
+        return (long) (f != null ? f.length : d.length) * precision.bytes();
+    }
+}
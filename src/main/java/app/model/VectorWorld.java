@@ -1,15 +1,81 @@
 package app.model;
 
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
 public class VectorWorld {
     private final ObservableList<ObservableVector> vectors = FXCollections.observableArrayList();
+    private final List<EditListener> editListeners = new ArrayList<>();
+    private final EditHistory history = new EditHistory(this);
+    private VectorStore store = new VectorStore(this, Precision.FLOAT64);
+    private final ReadOnlyObjectWrapper<Precision> precision = new ReadOnlyObjectWrapper<>(Precision.FLOAT64);
+
+    /*
+     * Marcas de modificação: toda mudança incrementa stamp; estrutura (entradas, saídas, ordem)
+     * guarda a da última mudança da lista. As edições desde a última mudança estrutural ficam
+     * num anel (marca, índice); quando o anel transborda, changedSince cai nas marcas por vetor.
+     */
+    private static final int LOG_SIZE = 4096;
+    private long stamp, structureStamp;
+    private final long[] logStamp = new long[LOG_SIZE];
+    private final int[] logIndex = new int[LOG_SIZE];
+    private int logHead, logSize;
+    private long logFloor;                    // o anel tem todas as edições com marca > logFloor
+
+    /** Notificação de edição de uma componente de um vetor do mundo. */
+    @FunctionalInterface
+    public interface EditListener {
+        void edited(ObservableVector v, int component, double oldValue, double newValue);
+    }
+
+    public VectorWorld() {
+        // registrado antes de qualquer canvas: os índices já estão certos quando eles são avisados
+        vectors.addListener((ListChangeListener<ObservableVector>) c -> {
+            int from = Integer.MAX_VALUE;
+            structureStamp = ++stamp;
+            logSize = 0;                      // índices antigos não valem mais
+            logFloor = stamp;
+            history.beginBatch();
+            try {
+                while (c.next()) {
+                    from = Math.min(from, c.getFrom());
+                    if (c.wasRemoved()) {
+                        for (ObservableVector v : c.getRemoved()) {
+                            detach(v);
+                            history.recordRemove(c.getFrom(), v);
+                        }
+                    }
+                    if (c.wasAdded()) {
+                        int i = c.getFrom();
+                        for (ObservableVector v : c.getAddedSubList()) {
+                            v.stamp = stamp;
+                            attach(v);
+                            history.recordAdd(i++, v);
+                        }
+                    }
+                }
+            } finally {
+                history.endBatch();
+            }
+            reindex(from);
+        });
+    }
 
     public ObservableList<ObservableVector> getVectors() {
         return vectors;
     }
 
+    public EditHistory getHistory() {
+        return history;
+    }
+
     public void add(ObservableVector v) {
         vectors.add(v);
     }
@@ -18,8 +84,107 @@ public class VectorWorld {
         vectors.clear();
     }
 
+    /** Precisão em que as coordenadas dos vetores estão guardadas. */
+    public ReadOnlyObjectProperty<Precision> precisionProperty() {
+        return precision.getReadOnlyProperty();
+    }
+
+    public Precision getPrecision() {
+        return precision.get();
+    }
+
+    /**
+     * Passa a guardar as coordenadas em {@code p}. Todos os vetores mudam de loja (indo para
+     * float32, arredondados); para quem ouve o mundo é uma troca da lista inteira, fora do
+     * histórico de desfazer.
+     */
+    public void setPrecision(Precision p) {
+        if (p == precision.get()) return;
+        store = new VectorStore(this, p);
+        precision.set(p);
+        history.suspend();
+        try {
+            vectors.setAll(new ArrayList<>(vectors));     // sai da loja antiga, entra na nova
+        } finally {
+            history.resume();
+        }
+    }
+
+    /** Memória ocupada pelas coordenadas (bytes); não conta os objetos dos vetores. */
+    public long coordinateBytes() {
+        return store.bytes();
+    }
+
     public int dimension() {
         if (vectors.isEmpty()) return 2;
         return vectors.stream().anyMatch(v -> v.dimension() >= 3 && v.getZ() != 0) ? 3 : 2;
     }
+
+    /** Marca atual: cresce a cada mudança de qualquer vetor ou da lista. */
+    public long stamp() {
+        return stamp;
+    }
+
+    /** Marca da última vez que vetores entraram, saíram ou mudaram de posição. */
+    public long structureStamp() {
+        return structureStamp;
+    }
+
+    /**
+     * Vetores editados depois da marca {@code since}: seus índices vão para {@code out}, que é
+     * limpo antes. Devolve {@code false} se a lista mudou depois de {@code since} — os índices
+     * de então não valem mais e quem pergunta deve refazer tudo. Custa O(edições) enquanto elas
+     * cabem no registro interno; depois disso, uma passada pelas marcas dos vetores.
+     */
+    public boolean changedSince(long since, BitSet out) {
+        out.clear();
+        if (since < structureStamp) return false;
+        if (since >= stamp) return true;
+        if (since >= logFloor) {
+            for (int k = 0; k < logSize; k++) {
+                int slot = (logHead - 1 - k) & (LOG_SIZE - 1);
+                if (logStamp[slot] <= since) break;
+                out.set(logIndex[slot]);
+            }
+        } else {
+            for (int i = 0; i < vectors.size(); i++)
+                if (vectors.get(i).stamp > since) out.set(i);
+        }
+        return true;
+    }
+
+    public void addEditListener(EditListener l) {
+        editListeners.add(l);
+    }
+
+    public void removeEditListener(EditListener l) {
+        editListeners.remove(l);
+    }
+
+    /* ------------ helpers ------------ */
+
+    private void attach(ObservableVector v) {
+        v.moveTo(store);
+    }
+
+    private void detach(ObservableVector v) {
+        v.moveTo(null);
+        v.index = -1;
+    }
+
+    private void reindex(int from) {
+        for (int i = Math.max(0, from); i < vectors.size(); i++) vectors.get(i).index = i;
+    }
+
+    /** Chamado pelo próprio vetor ({@link ObservableVector#set(int, double)}) a cada edição. */
+    void componentChanged(ObservableVector v, int comp, double o, double n) {
+        v.stamp = ++stamp;
+        if (logSize == LOG_SIZE) logFloor = logStamp[logHead];   // a mais antiga sai do anel
+        else logSize++;
+        logStamp[logHead] = stamp;
+        logIndex[logHead] = v.index;
+        logHead = (logHead + 1) & (LOG_SIZE - 1);
+        history.recordSet(v.index, comp, o, n);
+        for (EditListener l : editListeners) l.edited(v, comp, o, n);
+    }
 }
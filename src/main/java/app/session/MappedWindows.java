@@ -0,0 +1,35 @@
+package app.session;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Arquivo só de leitura mapeado em janelas de {@link #WINDOW} bytes, para passar do limite de
+ * 2 GB de um único {@link MappedByteBuffer}. Cada janela se estende {@link #OVERLAP} bytes além
+ * do seu trecho, então um primitivo que começa numa janela sempre cabe inteiro nela. Como todo
+ * mapeamento, as janelas continuam valendo depois que o canal é fechado.
+ */
+final class MappedWindows {
+    static final int WINDOW = 1 << 30;
+    static final int OVERLAP = Long.BYTES;
+
+    private final long size;
+    private final MappedByteBuffer[] windows;
+
+    MappedWindows(FileChannel channel) throws IOException {
+        size = channel.size();
+        windows = new MappedByteBuffer[(int) ((size + WINDOW - 1) / WINDOW)];
+        for (int w = 0; w < windows.length; w++) {
+            long start = (long) w * WINDOW;
+            windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, (long) WINDOW + OVERLAP));
+        }
+    }
+
+    long size() { return size; }
+
+    byte get(long p)         { return windows[(int) (p / WINDOW)].get((int) (p % WINDOW)); }
+    int getInt(long p)       { return windows[(int) (p / WINDOW)].getInt((int) (p % WINDOW)); }
+    long getLong(long p)     { return windows[(int) (p / WINDOW)].getLong((int) (p % WINDOW)); }
+    double getDouble(long p) { return windows[(int) (p / WINDOW)].getDouble((int) (p % WINDOW)); }
+}
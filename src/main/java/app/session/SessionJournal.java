@@ -0,0 +1,186 @@
+package app.session;
+
+import app.model.ObservableVector;
+import app.model.VectorWorld;
+import javafx.collections.ListChangeListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Diário da sessão: toda mudança de um {@link VectorWorld} é acrescentada a um arquivo binário
+ * escrito por mapeamento em memória, para depois ser reaberta ou reproduzida por
+ * {@link SessionReplay}.
+ *
+ * <p>Formato (big-endian):</p>
+ * <pre>
+ * cabeçalho  int MAGIC, int VERSION, long fim, long último retrato, long último instante, long início (epoch ms)
+ * registro   byte tipo, long instante (ns desde o início), carga:
+ *   SET       int vetor, byte componente, double valor
+ *   ADD       int posição, byte dimensão, double x, y, z
+ *   REMOVE    int posição
+ *   SNAPSHOT  long retrato anterior, int n, n × (byte dimensão, double x, y, z)
+ * </pre>
+ *
+ * <p>Um retrato do mundo inteiro é gravado ao abrir o diário e depois a cada
+ * {@link #SNAPSHOT_EVERY} registros, desde que eles já ocupem pelo menos o tamanho do último
+ * retrato: com muitos vetores os retratos se espaçam e nunca passam de metade do arquivo. Eles
+ * formam uma lista encadeada a partir do cabeçalho, então a reprodução salta para o mais
+ * próximo em vez de refazer tudo desde o começo. O cabeçalho é atualizado a cada registro: se o programa cair, o arquivo vale até o
+ * último registro completo. Uso só na thread FX.</p>
+ */
+public class SessionJournal implements Closeable {
+    static final int MAGIC = 0x564D4A31;                  // "VMJ1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+    static final int OFF_END = 8, OFF_LAST_SNAPSHOT = 16, OFF_LAST_TIME = 24, OFF_START = 32;
+
+    static final byte SET = 1, ADD = 2, REMOVE = 3, SNAPSHOT = 4;
+    static final int RECORD_HEADER = 1 + 8;
+    static final int SET_SIZE = RECORD_HEADER + 4 + 1 + 8;
+    static final int ADD_SIZE = RECORD_HEADER + 4 + 1 + 24;
+    static final int REMOVE_SIZE = RECORD_HEADER + 4;
+    static final int SNAPSHOT_ENTRY = 1 + 24;
+
+    /** Registros entre dois retratos. */
+    public static final int SNAPSHOT_EVERY = 65_536;
+    private static final int CHUNK = 8 << 20;
+
+    private final VectorWorld world;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer chunk;
+    private long chunkStart;                               // posição do chunk no arquivo
+    private long end = HEADER_SIZE;
+    private long lastSnapshot = -1;
+    private long snapshotBytes, snapshotEnd;              // tamanho do último retrato e onde ele termina
+    private final long startNanos = System.nanoTime();
+    private int sinceSnapshot;
+    private long recordTime;
+    private int paused;
+
+    private final ListChangeListener<ObservableVector> listListener = this::listChanged;
+    private final VectorWorld.EditListener editListener = this::edited;
+
+    /** Cria (ou sobrescreve) {@code file} e começa a gravar as mudanças de {@code world}. */
+    public SessionJournal(VectorWorld world, Path file) throws IOException {
+        this.world = world;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.putInt(0, MAGIC).putInt(4, VERSION).putLong(OFF_START, System.currentTimeMillis());
+        map(HEADER_SIZE);
+        snapshot();
+        world.getVectors().addListener(listListener);
+        world.addEditListener(editListener);
+    }
+
+    /** Mudanças até o {@link #resume()} não são gravadas; no retorno grava-se um retrato. */
+    public void pause() {
+        paused++;
+    }
+
+    public void resume() {
+        if (paused > 0 && --paused == 0) snapshot();
+    }
+
+    /** Bytes gravados até agora. */
+    public long size() { return end; }
+
+    @Override public void close() throws IOException {
+        world.getVectors().removeListener(listListener);
+        world.removeEditListener(editListener);
+        chunk.force();
+        header.force();
+        try {
+            channel.truncate(end);                         // tira a sobra do último trecho mapeado
+        } catch (IOException ignored) {
+            // alguns sistemas não truncam arquivos mapeados; o cabeçalho já diz onde termina
+        }
+        channel.close();
+    }
+
+    /* ================= gravação ================= */
+
+    private void edited(ObservableVector v, int component, double oldValue, double newValue) {
+        if (paused > 0 || v.index() < 0) return;
+        begin(SET, SET_SIZE);
+        chunk.putInt(v.index()).put((byte) component).putDouble(newValue);
+        commit();
+        snapshotIfDue();
+    }
+
+    private void listChanged(ListChangeListener.Change<? extends ObservableVector> c) {
+        if (paused > 0) return;
+        while (c.next()) {
+            if (c.wasPermutated()) {                       // ordem nova: mais simples gravar tudo
+                snapshot();
+                return;
+            }
+            for (int k = 0; k < c.getRemovedSize(); k++) {
+                begin(REMOVE, REMOVE_SIZE);
+                chunk.putInt(c.getFrom());
+                commit();
+            }
+            if (c.wasAdded()) {
+                int i = c.getFrom();
+                for (ObservableVector v : c.getAddedSubList()) {
+                    begin(ADD, ADD_SIZE);
+                    chunk.putInt(i++).put((byte) v.dimension()).putDouble(v.getX()).putDouble(v.getY()).putDouble(v.getZ());
+                    commit();
+                }
+            }
+        }
+        snapshotIfDue();                                   // só depois da mudança inteira
+    }
+
+    /** Estado completo do mundo, encadeado ao retrato anterior. */
+    private void snapshot() {
+        List<ObservableVector> vs = world.getVectors();
+        long at = end;
+        begin(SNAPSHOT, RECORD_HEADER + 8 + 4 + vs.size() * SNAPSHOT_ENTRY);
+        chunk.putLong(lastSnapshot).putInt(vs.size());
+        for (ObservableVector v : vs)
+            chunk.put((byte) v.dimension()).putDouble(v.getX()).putDouble(v.getY()).putDouble(v.getZ());
+        commit();
+        lastSnapshot = at;
+        header.putLong(OFF_LAST_SNAPSHOT, at);
+        sinceSnapshot = 0;
+        snapshotBytes = end - at;
+        snapshotEnd = end;
+    }
+
+    private void snapshotIfDue() {
+        if (sinceSnapshot >= SNAPSHOT_EVERY && end - snapshotEnd >= snapshotBytes) snapshot();
+    }
+
+    private void begin(byte type, int size) {
+        if (chunk.remaining() < size) map(size);
+        recordTime = System.nanoTime() - startNanos;
+        chunk.put(type).putLong(recordTime);
+    }
+
+    /** Registro completo: só agora o cabeçalho passa a incluí-lo. */
+    private void commit() {
+        end = chunkStart + chunk.position();
+        header.putLong(OFF_LAST_TIME, recordTime);
+        header.putLong(OFF_END, end);
+        sinceSnapshot++;
+    }
+
+    /** Mapeia um novo trecho do arquivo a partir do fim atual. */
+    private void map(int atLeast) {
+        try {
+            chunkStart = end;
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, end, Math.max(CHUNK, atLeast));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
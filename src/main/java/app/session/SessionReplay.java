@@ -0,0 +1,162 @@
+package app.session;
+
+import app.model.VectorWorld;
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static app.session.SessionJournal.*;
+
+/**
+ * Reprodução de um diário gravado por {@link SessionJournal} num {@link VectorWorld}.
+ *
+ * <p>O arquivo é mapeado só para leitura, em janelas ({@link MappedWindows}), então não há
+ * limite de 2 GB. {@link #seek(long)} parte do retrato mais próximo antes do instante pedido
+ * (busca binária na lista de retratos) e aplica só os registros entre ele e o instante;
+ * {@link #play(double)} avança em tempo real multiplicado pela velocidade. Em ambos os casos
+ * os registros vão primeiro para uma cópia em arrays e o mundo recebe o resultado de uma vez
+ * por quadro, fora do histórico de desfazer. Uso só na thread FX.</p>
+ */
+public class SessionReplay {
+    private final VectorWorld world;
+    private final MappedWindows buf;
+    private final long end;
+    private final long duration;
+    private final long[] snapshotOffsets, snapshotTimes;    // em ordem crescente
+
+    private final SessionState state = new SessionState();
+    private long cursor = -1;                               // próximo registro a aplicar
+    private final ReadOnlyLongWrapper position = new ReadOnlyLongWrapper();
+    private final ReadOnlyBooleanWrapper playing = new ReadOnlyBooleanWrapper();
+
+    private double speed = 1;
+    private long wallStart, sessionStart;
+    private AnimationTimer timer;                           // criado no primeiro play
+
+    public SessionReplay(VectorWorld world, Path file) throws IOException {
+        this.world = world;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_SIZE) throw new IOException("Arquivo curto demais para um diário: " + file);
+            buf = new MappedWindows(ch);
+        }
+        if (buf.getInt(0) != MAGIC) throw new IOException("Não é um diário de sessão: " + file);
+        if (buf.getInt(4) != VERSION) throw new IOException("Versão de diário não suportada: " + buf.getInt(4));
+        end = Math.min(buf.getLong(OFF_END), buf.size());
+        duration = buf.getLong(OFF_LAST_TIME);
+
+        /* lista encadeada de retratos, do último para o primeiro */
+        long[] offs = new long[16];
+        int n = 0;
+        for (long s = buf.getLong(OFF_LAST_SNAPSHOT); s >= HEADER_SIZE && s < end; s = buf.getLong(s + RECORD_HEADER)) {
+            if (n == offs.length) offs = Arrays.copyOf(offs, n * 2);
+            offs[n++] = s;
+        }
+        if (n == 0) throw new IOException("Diário sem retratos: " + file);
+        snapshotOffsets = new long[n];
+        snapshotTimes = new long[n];
+        for (int i = 0; i < n; i++) {
+            snapshotOffsets[i] = offs[n - 1 - i];
+            snapshotTimes[i] = buf.getLong(snapshotOffsets[i] + 1);
+        }
+    }
+
+    /** Duração da sessão gravada (ns). */
+    public long duration() { return duration; }
+
+    /** Instante da sessão já aplicado ao mundo (ns). */
+    public ReadOnlyLongProperty positionProperty() { return position.getReadOnlyProperty(); }
+
+    public ReadOnlyBooleanProperty playingProperty() { return playing.getReadOnlyProperty(); }
+
+    /** Leva o mundo ao estado do instante {@code t} (ns desde o início da sessão). */
+    public void seek(long t) {
+        t = Math.max(0, Math.min(t, duration));
+        int k = Arrays.binarySearch(snapshotTimes, t);
+        if (k < 0) k = Math.max(0, -k - 2);                   // último retrato com instante ≤ t
+        while (k + 1 < snapshotTimes.length && snapshotTimes[k + 1] == t) k++;
+
+        /* avançar a partir da posição atual sai mais barato se nenhum retrato estiver no meio */
+        if (cursor < 0 || t < position.get() || snapshotOffsets[k] > cursor) {
+            cursor = snapshotOffsets[k];
+            state.clear();
+        }
+        advance(t);
+        state.flushTo(world);
+    }
+
+    /** Reproduz a partir da posição atual, {@code speed} vezes mais rápido que a gravação. */
+    public void play(double speed) {
+        this.speed = speed;
+        if (position.get() >= duration) seek(0);
+        sessionStart = position.get();
+        wallStart = System.nanoTime();
+        playing.set(true);
+        if (timer == null) timer = new AnimationTimer() {
+            @Override public void handle(long now) { tick(now); }
+        };
+        timer.start();
+    }
+
+    public void pause() {
+        if (timer != null) timer.stop();
+        playing.set(false);
+    }
+
+    /* ------------ reprodução ------------ */
+
+    private void tick(long now) {
+        long t = sessionStart + (long) ((now - wallStart) * speed);
+        if (t >= duration) {
+            t = duration;
+            pause();
+        }
+        if (cursor < 0) seek(t);
+        advance(t);
+        state.flushTo(world);
+    }
+
+    /** Aplica à cópia todos os registros com instante ≤ t. */
+    private void advance(long t) {
+        while (cursor + RECORD_HEADER <= end) {
+            long p = cursor;
+            byte type = buf.get(p);
+            long time = buf.getLong(p + 1);
+            if (time > t) break;
+            long q = p + RECORD_HEADER;
+            switch (type) {
+                case SET -> {
+                    state.set(buf.getInt(q), buf.get(q + 4), buf.getDouble(q + 5));
+                    cursor += SET_SIZE;
+                }
+                case ADD -> {
+                    state.add(buf.getInt(q), buf.get(q + 4),
+                            buf.getDouble(q + 5), buf.getDouble(q + 13), buf.getDouble(q + 21));
+                    cursor += ADD_SIZE;
+                }
+                case REMOVE -> {
+                    state.remove(buf.getInt(q));
+                    cursor += REMOVE_SIZE;
+                }
+                case SNAPSHOT -> {
+                    int n = buf.getInt(q + 8);
+                    state.clear();
+                    long o = q + 12;
+                    for (int i = 0; i < n; i++, o += SNAPSHOT_ENTRY)
+                        state.append(buf.get(o), buf.getDouble(o + 1), buf.getDouble(o + 9), buf.getDouble(o + 17));
+                    cursor = q + 12 + (long) n * SNAPSHOT_ENTRY;
+                }
+                default -> cursor = end;                       // registro desconhecido: para aqui
+            }
+        }
+        position.set(t);
+    }
+}
@@ -0,0 +1,111 @@
+package app.session;
+
+import app.model.EditHistory;
+import app.model.ObservableVector;
+import app.model.VectorWorld;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Cópia do mundo em arrays primitivos usada pela reprodução: os registros são aplicados aqui,
+ * sem ouvintes nem objetos por vetor, e só o resultado vai para o {@link VectorWorld}, uma vez
+ * por quadro.
+ */
+final class SessionState {
+    private double[] xyz = new double[3 * 64];
+    private byte[] dims = new byte[64];
+    private int size;
+
+    private final BitSet dirty = new BitSet();
+    private boolean structureChanged = true;
+
+    int size() { return size; }
+
+    void clear() {
+        size = 0;
+        dirty.clear();
+        structureChanged = true;
+    }
+
+    void set(int i, int component, double value) {
+        if (i < 0 || i >= size || component > 2) return;          // diário de outra versão: ignora
+        xyz[i * 3 + component] = value;
+        if (!structureChanged) dirty.set(i);
+    }
+
+    void add(int i, int dim, double x, double y, double z) {
+        if (i < 0 || i > size) return;
+        ensure(size + 1);
+        System.arraycopy(xyz, i * 3, xyz, i * 3 + 3, (size - i) * 3);
+        System.arraycopy(dims, i, dims, i + 1, size - i);
+        xyz[i * 3] = x;
+        xyz[i * 3 + 1] = y;
+        xyz[i * 3 + 2] = z;
+        dims[i] = (byte) dim;
+        size++;
+        structureChanged = true;
+    }
+
+    void remove(int i) {
+        if (i < 0 || i >= size) return;
+        System.arraycopy(xyz, i * 3 + 3, xyz, i * 3, (size - i - 1) * 3);
+        System.arraycopy(dims, i + 1, dims, i, size - i - 1);
+        size--;
+        structureChanged = true;
+    }
+
+    /** Acrescenta no fim (leitura de retrato). */
+    void append(int dim, double x, double y, double z) {
+        ensure(size + 1);
+        int o = size * 3;
+        xyz[o] = x;
+        xyz[o + 1] = y;
+        xyz[o + 2] = z;
+        dims[size++] = (byte) dim;
+        structureChanged = true;
+    }
+
+    /**
+     * Leva as mudanças acumuladas para o mundo de uma vez, fora do histórico de desfazer: recria
+     * a lista se vetores entraram ou saíram, senão só atualiza os vetores alterados.
+     */
+    void flushTo(VectorWorld world) {
+        var vectors = world.getVectors();
+        EditHistory history = world.getHistory();
+        history.suspend();
+        try {
+            if (structureChanged || vectors.size() != size) {
+                List<ObservableVector> fresh = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    int o = i * 3;
+                    fresh.add(dims[i] >= 3 ? new ObservableVector(xyz[o], xyz[o + 1], xyz[o + 2])
+                                           : new ObservableVector(xyz[o], xyz[o + 1]));
+                }
+                vectors.setAll(fresh);
+                history.clear();
+            } else {
+                for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                    ObservableVector v = vectors.get(i);
+                    int o = i * 3;
+                    v.setX(xyz[o]);
+                    v.setY(xyz[o + 1]);
+                    if (v.dimension() >= 3) v.setZ(xyz[o + 2]);
+                }
+            }
+        } finally {
+            history.resume();
+        }
+        dirty.clear();
+        structureChanged = false;
+    }
+
+    private void ensure(int n) {
+        if (n <= dims.length) return;
+        int cap = Math.max(n, dims.length * 2);
+        dims = Arrays.copyOf(dims, cap);
+        xyz = Arrays.copyOf(xyz, cap * 3);
+    }
+}
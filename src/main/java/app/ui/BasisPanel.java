@@ -0,0 +1,61 @@
+package app.ui;
+
+import app.model.ObservableVector;
+import app.model.VectorWorld;
+import app.util.Basis;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Posto, independência e espaço gerado pelos vetores do mundo; base ortonormal como vetores novos. */
+public class BasisPanel extends VBox {
+    private final VectorWorld world;
+    private final Label result = new Label("—");
+
+    public BasisPanel(VectorWorld world) {
+        this.world = world;
+
+        Button analyze = new Button("Analisar");
+        analyze.setOnAction(_ -> analyze());
+
+        Button orthonormalize = new Button("Base ortonormal");
+        orthonormalize.setOnAction(_ -> orthonormalize());
+
+        result.setWrapText(true);
+        setSpacing(6);
+        getChildren().addAll(new HBox(6, analyze, orthonormalize), result);
+    }
+
+    private Basis compute() {
+        long t0 = System.nanoTime();
+        Basis b = Basis.of(world.getVectors());
+        double ms = (System.nanoTime() - t0) / 1e6;
+        result.setText(String.format("posto %d de %d vetores · %s%ngeram %s   (%.1f ms)",
+                b.rank(), b.size(), b.isIndependent() ? "LI" : "LD", spanName(b), ms));
+        return b;
+    }
+
+    private void analyze() {
+        compute();
+    }
+
+    /** Acrescenta a base ortonormal do espaço gerado numa única operação (um só desfazer). */
+    private void orthonormalize() {
+        Basis b = compute();
+        List<ObservableVector> added = new ArrayList<>();
+        for (double[] q : b.orthonormal())
+            added.add(q.length == 3 ? new ObservableVector(q[0], q[1], q[2]) : new ObservableVector(q[0], q[1]));
+        world.getVectors().addAll(added);
+    }
+
+    private static String spanName(Basis b) {
+        int r = b.rank();
+        if (r == 0) return "só a origem";
+        if (r == b.dimension()) return b.dimension() == 2 ? "o plano ℝ²" : "o espaço ℝ³";
+        return r == 1 ? "uma reta pela origem" : "um plano pela origem";
+    }
+}
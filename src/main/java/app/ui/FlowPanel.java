@@ -0,0 +1,218 @@
+package app.ui;
+
+import app.flow.LinearField;
+import app.flow.ParticleSystem;
+import app.flow.SampledField;
+import app.flow.VectorField;
+import app.model.NdDataset;
+import app.model.ObservableVector;
+import app.model.VectorWorld;
+import app.util.TrailMesh;
+import javafx.animation.AnimationTimer;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Partículas levadas por um campo de velocidades: o campo linear de v₁, v₂ (e v₃), que
+ * acompanha as edições desses vetores, ou amostras (posição, velocidade) lidas de um arquivo.
+ * Os passos rodam em segundo plano (ver {@link ParticleSystem}); aqui só se publica um por quadro.
+ */
+public class FlowPanel extends VBox {
+
+    private enum Source {
+        LINEAR("Linear (v₁ v₂ v₃)"), SAMPLES("Amostras");
+
+        final String label;
+        Source(String label) { this.label = label; }
+        @Override public String toString() { return label; }
+    }
+
+    private final VectorWorld world;
+    private final ParticleSystem particles = new ParticleSystem();
+    private SampledField samples;
+
+    private final ComboBox<Source> source = new ComboBox<>();
+    private static final int MAX_COUNT = 200_000, MAX_TRAIL = 64;
+
+    private final Spinner<Integer> count = new Spinner<>(100, MAX_COUNT, 5000, 1000);
+    private final Spinner<Integer> trail = new Spinner<>(2, MAX_TRAIL, 12);
+    private final Slider speed = new Slider(0.1, 4, 1);
+    private final Button play = new Button("▶");
+    private final Label info = new Label();
+    private final Label error = new Label();
+
+    private AnimationTimer timer;                   // criado no primeiro play
+    private boolean running, active = true;
+    private boolean fieldStale;                     // v₁, v₂ ou v₃ mudaram desde o último campo
+    private long frames, framesStart;
+
+    public FlowPanel(VectorWorld world) {
+        this.world = world;
+
+        source.getItems().setAll(Source.values());
+        source.setValue(Source.LINEAR);
+        source.valueProperty().addListener(_ -> restart());
+        Button open = new Button("Abrir amostras…");
+        open.setOnAction(_ -> chooseSamples());
+
+        count.setPrefWidth(100);
+        count.setEditable(true);
+        trail.setPrefWidth(70);
+        /* partículas × rastro limitado ao que a malha 3D comporta: cada um limita o outro */
+        var countLimit = (SpinnerValueFactory.IntegerSpinnerValueFactory) count.getValueFactory();
+        var trailLimit = (SpinnerValueFactory.IntegerSpinnerValueFactory) trail.getValueFactory();
+        count.valueProperty().addListener((_, _, c) -> {
+            trailLimit.setMax(Math.min(MAX_TRAIL, TrailMesh.MAX_POINTS / c));
+            restart();
+        });
+        trail.valueProperty().addListener((_, _, t) -> {
+            countLimit.setMax(Math.min(MAX_COUNT, TrailMesh.MAX_POINTS / t));
+            restart();
+        });
+        trailLimit.setMax(Math.min(MAX_TRAIL, TrailMesh.MAX_POINTS / count.getValue()));
+        countLimit.setMax(Math.min(MAX_COUNT, TrailMesh.MAX_POINTS / trail.getValue()));
+        speed.valueProperty().addListener((_, _, s) -> particles.setSpeed(s.doubleValue()));
+
+        play.setOnAction(_ -> {
+            if (running) pause();
+            else start();
+        });
+        Button clear = new Button("Limpar");
+        clear.setOnAction(_ -> {
+            pause();
+            particles.reset(null, 0, trail.getValue());
+            info.setText("");
+        });
+
+        world.getVectors().addListener((ListChangeListener<ObservableVector>) _ -> fieldStale = true);
+        world.addEditListener((v, _, _, _) -> {
+            List<ObservableVector> vs = world.getVectors();
+            for (int i = 0; i < Math.min(3, vs.size()); i++)
+                if (vs.get(i) == v) fieldStale = true;
+        });
+
+        error.setTextFill(Color.FIREBRICK);
+        error.setWrapText(true);
+        setSpacing(6);
+        getChildren().addAll(new HBox(6, new Label("Campo"), source, open),
+                new HBox(6, new Label("Partículas"), count, new Label("Rastro"), trail),
+                new HBox(6, new Label("Velocidade"), speed),
+                new HBox(6, play, clear), info, error);
+    }
+
+    /** Sistema desenhado pelos canvases desta área de trabalho. */
+    public ParticleSystem particles() {
+        return particles;
+    }
+
+    /** Aba escondida: a simulação pausa e retoma quando ela volta. */
+    public void setActive(boolean active) {
+        if (this.active == active) return;
+        this.active = active;
+        if (!running) return;
+        if (active) timer.start();
+        else {
+            timer.stop();
+            particles.finish();
+        }
+    }
+
+    private void start() {
+        if (particles.count() == 0 || particles.field() == null) {
+            if (!reset()) return;
+        }
+        running = true;
+        play.setText("⏸");
+        if (timer == null) timer = new AnimationTimer() {
+            @Override public void handle(long now) { tick(now); }
+        };
+        frames = 0;
+        framesStart = System.nanoTime();
+        if (active) timer.start();
+    }
+
+    private void pause() {
+        if (timer != null) timer.stop();
+        particles.finish();
+        running = false;
+        play.setText("▶");
+    }
+
+    /** Parâmetros mudaram: recomeça as partículas se já havia alguma. */
+    private void restart() {
+        if (particles.count() > 0 && !reset()) pause();
+    }
+
+    private boolean reset() {
+        VectorField f = field();
+        if (f == null) return false;
+        particles.setSpeed(speed.getValue());
+        particles.reset(f, count.getValue(), trail.getValue());
+        return true;
+    }
+
+    private void tick(long now) {
+        if (fieldStale && source.getValue() == Source.LINEAR) {
+            VectorField f = field();
+            if (f == null) {
+                pause();
+                return;
+            }
+            particles.setField(f);
+        }
+        particles.poll();
+        if (++frames % 30 == 0) {
+            double fps = frames * 1e9 / (now - framesStart);
+            info.setText(String.format("%d partículas · passo %.1f ms · %.0f quadros/s",
+                    particles.count(), particles.stepNanos() / 1e6, fps));
+            frames = 0;
+            framesStart = now;
+        }
+    }
+
+    /** Campo da fonte escolhida, ou {@code null} com o motivo na tela. */
+    private VectorField field() {
+        fieldStale = false;
+        try {
+            VectorField f = switch (source.getValue()) {
+                case LINEAR -> LinearField.of(world);
+                case SAMPLES -> {
+                    if (samples == null) throw new IllegalArgumentException("Abra um arquivo de amostras primeiro.");
+                    yield samples;
+                }
+            };
+            error.setText("");
+            return f;
+        } catch (IllegalArgumentException e) {
+            error.setText(e.getMessage());
+            return null;
+        }
+    }
+
+    private void chooseSamples() {
+        FileChooser fc = new FileChooser();
+        fc.setTitle("Amostras do campo (x y vx vy ou x y z vx vy vz)");
+        fc.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Texto / CSV", "*.txt", "*.csv", "*.tsv"),
+                new FileChooser.ExtensionFilter("Todos", "*.*"));
+        File f = fc.showOpenDialog(getScene() == null ? null : getScene().getWindow());
+        if (f == null) return;
+        try {
+            samples = SampledField.of(NdDataset.load(f.toPath()));
+            error.setText("");
+            info.setText(samples.size() + " amostras em " + samples.dimension() + "D");
+            if (source.getValue() == Source.SAMPLES) restart();
+            else source.setValue(Source.SAMPLES);
+        } catch (IOException | IllegalArgumentException e) {
+            error.setText(e.getMessage());
+        }
+    }
+}
@@ -1,23 +1,72 @@
 package app.ui;
 
 import app.controller.VectorTab;
+import javafx.application.Platform;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Áreas de trabalho em abas, cada uma com o seu {@link app.model.VectorWorld}. Só a aba
+ * selecionada redesenha; a aba "+" cria uma área nova.
+ */
 public class MainView extends VBox {
+    private final TabPane tabs = new TabPane();
+    private final Tab newTab = new Tab("+");
+    private final List<VectorTab> workspaces = new ArrayList<>();
+    private final VectorTab vectorTab;
+    private int created;
+
     public MainView() {
-        TabPane tabs = new TabPane();
         VBox.setVgrow(tabs, Priority.ALWAYS);
 
-        javafx.scene.layout.VBox.setVgrow(tabs, javafx.scene.layout.Priority.ALWAYS);
+        newTab.setClosable(false);
+        tabs.getTabs().add(newTab);
+        tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.ALL_TABS);
 
-        Tab tab1 = new Tab("Vetores", new VectorTab());
+        vectorTab = addWorkspace();
+        tabs.getTabs().get(0).setClosable(false);        // a primeira recebe --ingest e --dataset
 
-        tabs.getTabs().addAll(tab1);
-        tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        tabs.getSelectionModel().selectedItemProperty().addListener((_, _, sel) -> {
+            if (sel == newTab) Platform.runLater(this::addWorkspace);
+        });
 
         this.getChildren().add(tabs);
     }
+
+    /** Abre uma área de trabalho nova, vazia, e a seleciona. */
+    public VectorTab addWorkspace() {
+        VectorTab workspace = new VectorTab();
+        Tab tab = new Tab(++created == 1 ? "Vetores" : "Vetores " + created, workspace);
+        workspaces.add(workspace);
+
+        tab.selectedProperty().addListener((_, _, selected) -> workspace.setActive(selected));
+        tab.setOnCloseRequest(_ -> {
+            // sem isso a seleção cairia no "+" e abriria outra área
+            if (tab.isSelected()) tabs.getSelectionModel().select(tabs.getTabs().indexOf(tab) - 1);
+        });
+        tab.setOnClosed(_ -> {
+            workspace.setActive(false);
+            workspace.stopRecording();
+            workspaces.remove(workspace);
+        });
+
+        tabs.getTabs().add(tabs.getTabs().size() - 1, tab);     // antes do "+"
+        tabs.getSelectionModel().select(tab);
+        workspace.setActive(tab.isSelected());
+        return workspace;
+    }
+
+    /** A primeira área de trabalho. */
+    public VectorTab getVectorTab() {
+        return vectorTab;
+    }
+
+    public List<VectorTab> getWorkspaces() {
+        return List.copyOf(workspaces);
+    }
 }
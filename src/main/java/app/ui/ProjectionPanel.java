@@ -0,0 +1,134 @@
+package app.ui;
+
+import app.model.NdDataset;
+import app.model.NdProjector;
+import app.util.Projection;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/** Abre um conjunto N-D e escolhe como ele é projetado no plano ou no espaço. */
+public class ProjectionPanel extends VBox {
+
+    private enum Mode {
+        AXES("Eixos"), PCA("PCA"), RANDOM("Aleatória");
+
+        final String label;
+        Mode(String label) { this.label = label; }
+        @Override public String toString() { return label; }
+    }
+
+    private final NdProjector projector;
+
+    private final Label info = new Label("Nenhum conjunto aberto");
+    private final Label error = new Label();
+    private final ComboBox<Mode> mode = new ComboBox<>();
+    private final CheckBox threeD = new CheckBox("3D");
+    private final Spinner<Integer> ax = new Spinner<>(0, 0, 0);
+    private final Spinner<Integer> ay = new Spinner<>(0, 0, 1);
+    private final Spinner<Integer> az = new Spinner<>(0, 0, 2);
+    private final Button reseed = new Button("Nova semente");
+    private long seed = 1;
+    private boolean opening;            // ajustando os controles para um conjunto novo
+
+    public ProjectionPanel(NdProjector projector) {
+        this.projector = projector;
+
+        Button open = new Button("Abrir conjunto N-D…");
+        open.setOnAction(_ -> choose());
+
+        mode.getItems().setAll(Mode.values());
+        mode.setValue(Mode.PCA);
+        for (Spinner<Integer> s : List.of(ax, ay, az)) {
+            s.setPrefWidth(70);
+            s.valueProperty().addListener(_ -> reproject());
+        }
+        BooleanBinding notAxes = Bindings.createBooleanBinding(() -> mode.getValue() != Mode.AXES, mode.valueProperty());
+        ax.disableProperty().bind(notAxes);
+        ay.disableProperty().bind(notAxes);
+        az.disableProperty().bind(notAxes.or(threeD.selectedProperty().not()));
+        reseed.disableProperty().bind(Bindings.createBooleanBinding(
+                () -> mode.getValue() != Mode.RANDOM, mode.valueProperty()));
+        reseed.setOnAction(_ -> {
+            seed++;
+            reproject();
+        });
+        mode.valueProperty().addListener(_ -> reproject());
+        threeD.selectedProperty().addListener(_ -> reproject());
+        error.setTextFill(Color.FIREBRICK);
+        error.setWrapText(true);
+
+        setSpacing(6);
+        getChildren().addAll(open, info,
+                new HBox(6, new Label("Projeção"), mode, threeD),
+                new HBox(6, new Label("x"), ax, new Label("y"), ay, new Label("z"), az),
+                reseed, error);
+    }
+
+    private void choose() {
+        FileChooser fc = new FileChooser();
+        fc.setTitle("Conjunto de vetores N-D");
+        fc.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Texto / CSV", "*.txt", "*.csv", "*.tsv"),
+                new FileChooser.ExtensionFilter("Todos", "*.*"));
+        File f = fc.showOpenDialog(getScene() == null ? null : getScene().getWindow());
+        if (f == null) return;
+        try {
+            open(NdDataset.load(f.toPath()));
+        } catch (IOException | IllegalArgumentException e) {
+            error.setText(e.getMessage());
+        }
+    }
+
+    /** Exibe {@code dataset} com a projeção escolhida no painel. */
+    public void open(NdDataset dataset) {
+        int d = dataset.dimension();
+        opening = true;
+        for (Spinner<Integer> s : List.of(ax, ay, az)) {
+            var f = (SpinnerValueFactory.IntegerSpinnerValueFactory) s.getValueFactory();
+            f.setMax(d - 1);
+        }
+        ax.getValueFactory().setValue(0);
+        ay.getValueFactory().setValue(Math.min(1, d - 1));
+        az.getValueFactory().setValue(Math.min(2, d - 1));
+        threeD.setSelected(d >= 3 && threeD.isSelected());
+        threeD.setDisable(d < 3);
+        opening = false;
+        info.setText(dataset.rows() + " vetores × " + d + " dimensões");
+        try {
+            projector.show(dataset, build(dataset));
+            error.setText("");
+        } catch (IllegalArgumentException e) {
+            error.setText(e.getMessage());
+        }
+    }
+
+    private void reproject() {
+        NdDataset ds = projector.getDataset();
+        if (ds == null || opening) return;
+        try {
+            projector.setProjection(build(ds));
+            error.setText("");
+        } catch (IllegalArgumentException e) {
+            error.setText(e.getMessage());
+        }
+    }
+
+    private Projection build(NdDataset ds) {
+        int k = threeD.isSelected() ? 3 : 2;
+        return switch (mode.getValue()) {
+            case AXES -> k == 3 ? Projection.axes(ds.dimension(), ax.getValue(), ay.getValue(), az.getValue())
+                                : Projection.axes(ds.dimension(), ax.getValue(), ay.getValue());
+            case PCA -> Projection.pca(ds.data(), ds.rows(), ds.dimension(), k);
+            case RANDOM -> Projection.random(ds.dimension(), k, seed);
+        };
+    }
+}
@@ -0,0 +1,153 @@
+package app.ui;
+
+import app.model.VectorWorld;
+import app.session.SessionJournal;
+import app.session.SessionReplay;
+import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.FileChooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/** Grava as mudanças da área de trabalho num diário e reproduz diários gravados. */
+public class SessionPanel extends VBox {
+    private static final List<Double> SPEEDS = List.of(0.5, 1.0, 2.0, 10.0, 100.0);
+
+    private final VectorWorld world;
+    private SessionJournal journal;
+    private SessionReplay replay;
+
+    private final Button record = new Button("Gravar…");
+    private final Button open = new Button("Abrir sessão…");
+    private final Button play = new Button("▶");
+    private final ComboBox<Double> speed = new ComboBox<>();
+    private final Slider time = new Slider(0, 0, 0);
+    private final Label clock = new Label("—");
+    private final Label error = new Label();
+    private boolean following;          // slider acompanhando a reprodução, não o usuário
+
+    public SessionPanel(VectorWorld world) {
+        this.world = world;
+
+        record.setOnAction(_ -> {
+            if (journal == null) startRecording();
+            else stopRecording();
+        });
+        open.setOnAction(_ -> chooseReplay());
+
+        speed.getItems().setAll(SPEEDS);
+        speed.setValue(1.0);
+        speed.setConverter(new javafx.util.StringConverter<>() {
+            @Override public String toString(Double s) {
+                return s == null ? "" : (s == Math.rint(s) ? String.valueOf(s.intValue()) : s.toString()) + "×";
+            }
+            @Override public Double fromString(String s) { return Double.valueOf(s.replace("×", "")); }
+        });
+        speed.valueProperty().addListener((_, _, s) -> {
+            if (replay != null && replay.playingProperty().get()) replay.play(s);
+        });
+
+        play.setOnAction(_ -> {
+            if (replay.playingProperty().get()) replay.pause();
+            else replay.play(speed.getValue());
+        });
+        time.valueProperty().addListener((_, _, v) -> {
+            if (following || replay == null) return;
+            replay.pause();
+            replay.seek((long) (v.doubleValue() * 1e9));
+        });
+        play.setDisable(true);
+        time.setDisable(true);
+
+        error.setTextFill(Color.FIREBRICK);
+        error.setWrapText(true);
+        setSpacing(6);
+        getChildren().addAll(new HBox(6, record, open),
+                new HBox(6, play, speed, clock), time, error);
+    }
+
+    /** Grava a partir de agora em {@code file}, que é sobrescrito. */
+    public void startRecording(Path file) throws IOException {
+        stopRecording();
+        journal = new SessionJournal(world, file);
+        record.setText("Parar gravação");
+        open.setDisable(true);                  // gravar a própria reprodução não faz sentido
+    }
+
+    public void stopRecording() {
+        if (journal == null) return;
+        try {
+            journal.close();
+            error.setText("");
+        } catch (IOException | UncheckedIOException e) {
+            error.setText(e.getMessage());
+        }
+        journal = null;
+        record.setText("Gravar…");
+        open.setDisable(false);
+    }
+
+    private void startRecording() {
+        File f = chooser().showSaveDialog(getScene() == null ? null : getScene().getWindow());
+        if (f == null) return;
+        try {
+            startRecording(f.toPath());
+            error.setText("");
+        } catch (IOException | UncheckedIOException e) {
+            error.setText(e.getMessage());
+        }
+    }
+
+    private void chooseReplay() {
+        File f = chooser().showOpenDialog(getScene() == null ? null : getScene().getWindow());
+        if (f == null) return;
+        try {
+            openReplay(f.toPath());
+            error.setText("");
+        } catch (IOException e) {
+            error.setText(e.getMessage());
+        }
+    }
+
+    /** Abre um diário gravado e leva o mundo ao seu estado inicial. */
+    public void openReplay(Path file) throws IOException {
+        SessionReplay r = new SessionReplay(world, file);
+        if (replay != null) replay.pause();
+        replay = r;
+        double seconds = r.duration() / 1e9;
+        following = true;
+        time.setMax(seconds);
+        time.setValue(0);
+        following = false;
+
+        r.positionProperty().addListener((_, _, t) -> {
+            following = true;
+            time.setValue(t.longValue() / 1e9);
+            following = false;
+            clock.setText(String.format("%.1f / %.1f s", t.longValue() / 1e9, seconds));
+        });
+        r.playingProperty().addListener((_, _, p) -> {
+            play.setText(p ? "⏸" : "▶");
+            record.setDisable(p);
+        });
+        play.setDisable(false);
+        time.setDisable(false);
+        r.seek(0);
+        clock.setText(String.format("0.0 / %.1f s", seconds));
+    }
+
+    private static FileChooser chooser() {
+        FileChooser fc = new FileChooser();
+        fc.setTitle("Sessão");
+        fc.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("Sessão", "*.vmj"),
+                new FileChooser.ExtensionFilter("Todos", "*.*"));
+        return fc;
+    }
+}
@@ -0,0 +1,122 @@
+package app.ui;
+
+import app.model.ObservableVector;
+import app.model.VectorStats;
+import app.model.VectorWorld;
+import app.util.SymmetricEigen;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+
+/** Resumo de {@link VectorStats}: média, covariância, eixos principais e histograma de magnitudes. */
+public class StatsPanel extends VBox {
+    private final VectorStats stats;
+
+    private final Label count = new Label();
+    private final Label mean  = new Label();
+    private final Label cov   = new Label();
+    private final Label axes  = new Label();
+    private final Canvas histogram = new Canvas(260, 60);
+
+    private boolean refreshPending;
+    private long shownStamp = -1;             // marca do mundo nos números exibidos
+
+    /* ouvintes do modelo, removidos enquanto a aba está escondida */
+    private final VectorWorld world;
+    private boolean active = true;
+    private final ListChangeListener<ObservableVector> listListener = _ -> requestRefresh();
+    private final VectorWorld.EditListener editListener = (_, _, _, _) -> requestRefresh();
+
+    public StatsPanel(VectorWorld world, VectorStats stats) {
+        this.world = world;
+        this.stats = stats;
+        setSpacing(4);
+        cov.setStyle("-fx-font-family: monospace;");
+        axes.setStyle("-fx-font-family: monospace;");
+        getChildren().addAll(count, mean, new Label("Covariância"), cov,
+                new Label("Eixos principais (σ²: direção)"), axes,
+                new Label("Magnitudes (escala log₂)"), histogram);
+
+        world.getVectors().addListener(listListener);
+        world.addEditListener(editListener);
+        refresh();
+    }
+
+    /** Inativo: não ouve o modelo; ao reativar, atualiza uma vez. */
+    public void setActive(boolean active) {
+        if (this.active == active) return;
+        this.active = active;
+        if (active) {
+            world.getVectors().addListener(listListener);
+            world.addEditListener(editListener);
+            if (world.stamp() != shownStamp) requestRefresh();
+        } else {
+            world.getVectors().removeListener(listListener);
+            world.removeEditListener(editListener);
+        }
+    }
+
+    /** Atualiza no máximo uma vez por pulso, por mais vetores que cheguem. */
+    private void requestRefresh() {
+        if (refreshPending) return;
+        refreshPending = true;
+        Platform.runLater(() -> {
+            refreshPending = false;
+            refresh();
+        });
+    }
+
+    private void refresh() {
+        shownStamp = world.stamp();
+        count.setText("n = " + stats.count());
+        double[] mu = stats.mean();
+        mean.setText(String.format("média = (%.3f, %.3f, %.3f)", mu[0], mu[1], mu[2]));
+
+        double[] c = stats.covariance();
+        cov.setText(String.format("%9.3f %9.3f %9.3f%n%9.3f %9.3f %9.3f%n%9.3f %9.3f %9.3f",
+                c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], c[8]));
+
+        SymmetricEigen pca = stats.principalAxes();
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < 3; k++) {
+            double[] e = pca.vectors[k];
+            if (k > 0) sb.append('\n');
+            sb.append(String.format("%8.3f: (%.3f, %.3f, %.3f)", pca.values[k], e[0], e[1], e[2]));
+        }
+        axes.setText(sb.toString());
+
+        drawHistogram(stats.magnitudeHistogram());
+    }
+
+    /** Barras só entre a primeira e a última faixa ocupadas. */
+    private void drawHistogram(long[] h) {
+        GraphicsContext g = histogram.getGraphicsContext2D();
+        double W = histogram.getWidth(), H = histogram.getHeight();
+        g.setFill(Color.WHITE); g.fillRect(0, 0, W, H);
+
+        int lo = 0, hi = h.length - 1;
+        while (lo < hi && h[lo] == 0) lo++;
+        while (hi > lo && h[hi] == 0) hi--;
+        long max = 1;
+        for (int i = lo; i <= hi; i++) max = Math.max(max, h[i]);
+
+        int bins = hi - lo + 1;
+        double bw = W / bins;
+        g.setFill(Color.TEAL);
+        for (int i = lo; i <= hi; i++) {
+            double bh = (H - 14) * h[i] / max;
+            g.fillRect((i - lo) * bw + 1, H - 14 - bh, Math.max(1, bw - 2), bh);
+        }
+        g.setFill(Color.GRAY);
+        g.fillText(format(VectorStats.binLowerBound(lo)), 2, H - 2);
+        g.fillText(format(VectorStats.binLowerBound(hi + 1)), W - 50, H - 2);
+    }
+
+    private static String format(double v) {
+        return v == 0 ? "0" : String.format("%.3g", v);
+    }
+}
@@ -1,6 +1,9 @@
 package app.ui;
 
 import app.model.ObservableVector;
+import javafx.application.Platform;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.value.ChangeListener;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
@@ -14,6 +17,11 @@ public class VectorCell extends ListCell<ObservableVector> {
     private final Spinner<Double> sy = buildSpinner();
     private final Spinner<Double> sz = buildSpinner();
 
+    /* ligações da célula com o vetor exibido no momento (desfeitas ao trocar de item) */
+    private final SpinnerLink bx = new SpinnerLink(sx);
+    private final SpinnerLink by = new SpinnerLink(sy);
+    private final SpinnerLink bz = new SpinnerLink(sz);
+
     public VectorCell(javafx.collections.ObservableList<ObservableVector> list) {
         box.setPadding(new Insets(4));
         Button remove = new Button("x");
@@ -35,12 +43,13 @@ public class VectorCell extends ListCell<ObservableVector> {
     @Override protected void updateItem(ObservableVector v, boolean empty) {
         super.updateItem(v, empty);
         if (empty || v == null) {
+            bx.unbind(); by.unbind(); bz.unbind();
             setGraphic(null);
             return;
         }
-        bindSpinner(sx, v.xProperty());
-        bindSpinner(sy, v.yProperty());
-        bindSpinner(sz, v.zProperty());
+        bx.bind(v.xProperty());
+        by.bind(v.yProperty());
+        bz.bind(v.zProperty());
         setGraphic(box);
     }
 
@@ -52,20 +61,59 @@ public class VectorCell extends ListCell<ObservableVector> {
         sp.setPrefWidth(60);
         return sp;
     }
-    /** Mantém o spinner e a propriedade sincronizados a cada digitação. */
-    private void bindSpinner(Spinner<Double> sp, javafx.beans.property.DoubleProperty prop) {
-        // inicial
-        sp.getValueFactory().setValue(prop.get());
-        // 1) spinner → vetor
-        sp.valueProperty().addListener((_, _, newV) -> prop.set(newV));
-        // 2) editor de texto enquanto digita
-        sp.getEditor().textProperty().addListener((_, _, txt) -> {
-            try { prop.set(Double.parseDouble(txt.replace(',','.'))); }
-            catch (NumberFormatException ignored) {}
-        });
-        // 3) vetor → spinner (caso outra parte altere)
-        prop.addListener((_, _, newV) -> {
-            if (!sp.isFocused()) sp.getValueFactory().setValue(newV.doubleValue());
-        });
+
+    /**
+     * Mantém o spinner e a propriedade sincronizados: cada digitação vai direto ao vetor; as
+     * mudanças do vetor chegam ao spinner no máximo uma vez por pulso (atualizar o editor custa
+     * mais que a edição em si, e uma carga pode editar o mesmo vetor milhares de vezes).
+     */
+    private static final class SpinnerLink {
+        private final Spinner<Double> sp;
+        private DoubleProperty prop;
+        private boolean showPending;
+
+        private final ChangeListener<Number> fromVector;
+
+        SpinnerLink(Spinner<Double> sp) {
+            this.sp = sp;
+            // 1) spinner → vetor
+            sp.valueProperty().addListener((_, _, newV) -> {
+                if (prop != null && newV != null) prop.set(newV);
+            });
+            // 2) editor de texto enquanto digita (só quando é o usuário digitando)
+            sp.getEditor().textProperty().addListener((_, _, txt) -> {
+                if (prop == null || !editing()) return;
+                try { prop.set(Double.parseDouble(txt.replace(',','.'))); }
+                catch (NumberFormatException ignored) {}
+            });
+            // 3) vetor → spinner (caso outra parte altere, ex.: desfazer)
+            fromVector = (_, _, _) -> requestShow();
+        }
+
+        private void requestShow() {
+            if (showPending) return;
+            showPending = true;
+            Platform.runLater(() -> {
+                showPending = false;
+                if (prop != null && !editing()) sp.getValueFactory().setValue(prop.get());
+            });
+        }
+
+        void bind(DoubleProperty p) {
+            if (p == prop) return;
+            unbind();
+            sp.getValueFactory().setValue(p.get());   // inicial
+            prop = p;
+            p.addListener(fromVector);
+        }
+
+        void unbind() {
+            if (prop != null) prop.removeListener(fromVector);
+            prop = null;
+        }
+
+        private boolean editing() {
+            return sp.isFocused() || sp.getEditor().isFocused();
+        }
     }
 }
@@ -1,7 +1,9 @@
 package app.ui;
 
 import app.model.ObservableVector;
+import app.model.Precision;
 import app.model.VectorWorld;
+import javafx.collections.ListChangeListener;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 
@@ -10,10 +12,36 @@ public class VectorListPanel extends VBox {
         Button add = new Button("Novo vetor");
         add.setOnAction(_ -> world.add(new ObservableVector(1, 0, 0)));
 
+        Button undo = new Button("Desfazer");
+        undo.setOnAction(_ -> world.getHistory().undo());
+        undo.disableProperty().bind(world.getHistory().canUndoProperty().not());
+
+        Button redo = new Button("Refazer");
+        redo.setOnAction(_ -> world.getHistory().redo());
+        redo.disableProperty().bind(world.getHistory().canRedoProperty().not());
+
         ListView<ObservableVector> list = new ListView<>(world.getVectors());
         list.setCellFactory(_ -> new VectorCell(world.getVectors()));
 
+        /* precisão das coordenadas: float32 para conjuntos grandes, sempre à vista */
+        ComboBox<Precision> precision = new ComboBox<>();
+        precision.getItems().setAll(Precision.values());
+        precision.setValue(world.getPrecision());
+        precision.valueProperty().addListener((_, _, p) -> {
+            if (p != null) world.setPrecision(p);
+        });
+        Label precisionInfo = new Label();
+        Runnable showPrecision = () -> {
+            Precision p = world.getPrecision();
+            precision.setValue(p);
+            precisionInfo.setText(String.format("≈%d algarismos · coordenadas %.1f MB", p.digits(), world.coordinateBytes() / 1e6));
+        };
+        world.precisionProperty().addListener(_ -> showPrecision.run());
+        world.getVectors().addListener((ListChangeListener<ObservableVector>) _ -> showPrecision.run());
+        showPrecision.run();
+
         setSpacing(8);
-        getChildren().addAll(add, list);
+        getChildren().addAll(new HBox(6, add, undo, redo),
+                new HBox(6, new Label("Precisão"), precision, precisionInfo), list);
     }
 }
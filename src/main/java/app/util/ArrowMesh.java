@@ -0,0 +1,150 @@
+package app.util;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+
+/**
+ * Várias setas (fuste + cone) da mesma cor numa única {@link TriangleMesh}.
+ *
+ * <p>Cada seta ocupa um bloco fixo de {@link #POINTS_PER_ARROW} vértices, então mudar uma seta
+ * reescreve só o seu trecho do array de pontos. As faces dependem apenas do número de setas.
+ * Coordenadas já na cena (Y para baixo), com as mesmas proporções da seta de nós separados:
+ * fuste de raio 2 e cabeça com 12% do comprimento.</p>
+ */
+public class ArrowMesh extends MeshView {
+    private static final int SIDES = 8;
+    /** anel da base do fuste, anel do topo do fuste, anel da base do cone, ápice, centro da base */
+    public static final int POINTS_PER_ARROW = 3 * SIDES + 2;
+    private static final int FACES_PER_ARROW = 4 * SIDES;
+    private static final int FLOATS = POINTS_PER_ARROW * 3;
+    private static final int FACE_INTS = FACES_PER_ARROW * 6;
+
+    private static final double SHAFT_RADIUS = 2;
+
+    private static final double[] COS = new double[SIDES], SIN = new double[SIDES];
+    static {
+        for (int k = 0; k < SIDES; k++) {
+            COS[k] = Math.cos(2 * Math.PI * k / SIDES);
+            SIN[k] = Math.sin(2 * Math.PI * k / SIDES);
+        }
+    }
+
+    private final TriangleMesh mesh = new TriangleMesh();
+    private float[] points = new float[FLOATS * 16];    // espelho de mesh.getPoints()
+    private int[] faces = new int[0];                   // padrão de faces para 'faces.length / FACE_INTS' setas
+    private int count;
+    private boolean structureChanged;
+
+    public ArrowMesh(Color color) {
+        mesh.getTexCoords().addAll(0, 0);
+        setMesh(mesh);
+        setMaterial(SceneCache.material(color));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Remove todas as setas (efetivado no próximo {@link #commit()}). */
+    public void clear() {
+        count = 0;
+        structureChanged = true;
+    }
+
+    /** Acrescenta a seta do vetor (x, y, z) do mundo e devolve o seu índice nesta malha. */
+    public int add(double x, double y, double z, double scale) {
+        if ((count + 1) * FLOATS > points.length) points = Arrays.copyOf(points, points.length * 2);
+        write(count, x, y, z, scale);
+        structureChanged = true;
+        return count++;
+    }
+
+    /** Reescreve só os vértices da seta {@code slot}. */
+    public void update(int slot, double x, double y, double z, double scale) {
+        write(slot, x, y, z, scale);
+        if (!structureChanged) mesh.getPoints().set(slot * FLOATS, points, slot * FLOATS, FLOATS);
+    }
+
+    /** Envia para a malha as setas acrescentadas ou removidas desde o último commit. */
+    public void commit() {
+        if (!structureChanged) return;
+        structureChanged = false;
+        ensureFaces(count);
+        mesh.getPoints().setAll(points, 0, count * FLOATS);
+        mesh.getFaces().setAll(faces, 0, count * FACE_INTS);
+        setVisible(count > 0);
+    }
+
+    /* ------------ geometria ------------ */
+
+    private void write(int slot, double x, double y, double z, double scale) {
+        int o = slot * FLOATS;
+        /* ponta na cena: (x, -y, z) * escala */
+        double tx = x * scale, ty = -y * scale, tz = z * scale;
+        double len = Math.sqrt(tx * tx + ty * ty + tz * tz);
+        if (len < 1e-9) {
+            Arrays.fill(points, o, o + FLOATS, 0f);
+            return;
+        }
+        double dx = tx / len, dy = ty / len, dz = tz / len;
+
+        /* base ortonormal (u, w, d) com u × w = d */
+        double ux, uy, uz;
+        if (Math.abs(dy) < 0.9) { ux = dz; uy = 0; uz = -dx; }      // Y × d
+        else                    { ux = 0; uy = -dz; uz = dy; }      // X × d
+        double un = Math.sqrt(ux * ux + uy * uy + uz * uz);
+        ux /= un; uy /= un; uz /= un;
+        double wx = dy * uz - dz * uy, wy = dz * ux - dx * uz, wz = dx * uy - dy * ux;
+
+        double headLen = len * 0.12, headRad = headLen * 0.35, shaftLen = len - headLen;
+        double r = Math.min(SHAFT_RADIUS, headRad);
+
+        for (int k = 0; k < SIDES; k++) {
+            double rx = ux * COS[k] + wx * SIN[k];
+            double ry = uy * COS[k] + wy * SIN[k];
+            double rz = uz * COS[k] + wz * SIN[k];
+            put(o, k, r * rx, r * ry, r * rz);                                      // base do fuste
+            put(o, SIDES + k, dx * shaftLen + r * rx, dy * shaftLen + r * ry, dz * shaftLen + r * rz);
+            put(o, 2 * SIDES + k, dx * shaftLen + headRad * rx, dy * shaftLen + headRad * ry,
+                    dz * shaftLen + headRad * rz);                                   // base do cone
+        }
+        put(o, 3 * SIDES, tx, ty, tz);                                               // ápice
+        put(o, 3 * SIDES + 1, dx * shaftLen, dy * shaftLen, dz * shaftLen);          // centro da base
+    }
+
+    private void put(int offset, int vertex, double x, double y, double z) {
+        int i = offset + vertex * 3;
+        points[i] = (float) x;
+        points[i + 1] = (float) y;
+        points[i + 2] = (float) z;
+    }
+
+    /** Mesma orientação de faces da {@link Cone}. */
+    private void ensureFaces(int arrows) {
+        int have = faces.length / FACE_INTS;
+        if (have >= arrows) return;
+        int cap = Math.max(arrows, have * 2);
+        faces = Arrays.copyOf(faces, cap * FACE_INTS);
+        for (int a = have; a < cap; a++) {
+            int p = a * POINTS_PER_ARROW, f = a * FACE_INTS;
+            int apex = p + 3 * SIDES, center = apex + 1;
+            for (int k = 0; k < SIDES; k++) {
+                int k1 = (k + 1) % SIDES;
+                f = face(f, p + k, p + SIDES + k, p + k1);                         // fuste
+                f = face(f, p + k1, p + SIDES + k, p + SIDES + k1);
+                f = face(f, apex, p + 2 * SIDES + k1, p + 2 * SIDES + k);          // cone
+                f = face(f, center, p + 2 * SIDES + k, p + 2 * SIDES + k1);        // base do cone
+            }
+        }
+    }
+
+    private int face(int f, int a, int b, int c) {
+        faces[f]     = a; faces[f + 1] = 0;
+        faces[f + 2] = b; faces[f + 3] = 0;
+        faces[f + 4] = c; faces[f + 5] = 0;
+        return f + 6;
+    }
+}
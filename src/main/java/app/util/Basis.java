@@ -0,0 +1,233 @@
+package app.util;
+
+import app.model.ObservableVector;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Posto, independência linear e base ortonormal do espaço gerado por um conjunto de vetores.
+ *
+ * <p>Os vetores ficam num único {@code double[]} (um vetor por linha). Conjuntos pequenos usam
+ * Gram–Schmidt modificado com reortogonalização, na ordem dada e com a semântica de
+ * {@link VectorMath#dot}/{@link VectorMath#normalize}. Conjuntos grandes usam QR de Householder
+ * com pivoteamento de colunas: a cada passo o refletor é aplicado a todos os vetores restantes
+ * em blocos paralelos, no mesmo laço que atualiza as normas residuais usadas no próximo pivô.</p>
+ *
+ * <p>Um vetor é considerado dependente quando o seu resíduo fica abaixo de
+ * {@code 4·ε·max(n, d)·‖maior vetor‖}, a tolerância usual de posto numérico. Antes de tudo os
+ * dados são escalados por uma potência de 2 (sem erro de arredondamento), para que as normas
+ * ao quadrado não estourem com vetores enormes nem virem zero com vetores minúsculos.</p>
+ */
+public final class Basis {
+    /** Até quantos vetores vale o Gram–Schmidt sequencial. */
+    static final int SMALL = 64;
+    private static final int BLOCK = 2048;
+    private static final double EPS = Math.ulp(1.0);
+
+    private final int n, dim;
+    private final int[] pivots;         // vetores linearmente independentes, em ordem crescente
+    private final double[][] q;         // base ortonormal do espaço gerado
+    private final double tolerance;     // na escala dos dados depois de multiplicados por 2^-exponent
+    private final int exponent;
+
+    private Basis(int n, int dim, int[] pivots, double[][] q, double tolerance, int exponent) {
+        this.n = n;
+        this.dim = dim;
+        this.pivots = pivots;
+        this.q = q;
+        this.tolerance = tolerance;
+        this.exponent = exponent;
+    }
+
+    /* ================= construção ================= */
+
+    /** Vetores do mundo; os 2D contam com z = 0 se houver algum 3D. */
+    public static Basis of(List<ObservableVector> vectors) {
+        int dim = vectors.stream().anyMatch(v -> v.dimension() >= 3) ? 3 : 2;
+        double[] data = new double[vectors.size() * dim];
+        for (int i = 0; i < vectors.size(); i++) {
+            ObservableVector v = vectors.get(i);
+            for (int j = 0; j < v.dimension(); j++) data[i * dim + j] = v.get(j);
+        }
+        return of(data, vectors.size(), dim);
+    }
+
+    /** @param data {@code n} vetores de dimensão {@code dim} em ordem de linhas (não é alterado) */
+    public static Basis of(double[] data, int n, int dim) {
+        if (data.length < n * dim) throw new IllegalArgumentException("Array menor que " + n + " vetores.");
+        int e = exponent(data, n * dim);
+        double[] w = e == 0 ? data : scaled(data, n * dim, -e);
+        double maxNorm2 = blocks(n).mapToDouble(b -> {
+            double m = 0;
+            for (int i = b * BLOCK, end = Math.min(n, i + BLOCK); i < end; i++) m = Math.max(m, norm2(w, i * dim, dim));
+            return m;
+        }).max().orElse(0);
+        double tol = 4 * EPS * Math.max(n, dim) * Math.sqrt(maxNorm2);
+        return n <= SMALL ? gramSchmidt(w, n, dim, tol, e) : householder(w, n, dim, tol, e);
+    }
+
+    /* ================= consultas ================= */
+
+    public int rank() { return q.length; }
+
+    public int size() { return n; }
+
+    public int dimension() { return dim; }
+
+    /** Linearmente independentes: posto igual ao número de vetores. */
+    public boolean isIndependent() { return q.length == n; }
+
+    /** Índices de um subconjunto linearmente independente maximal, em ordem crescente. */
+    public int[] independentSubset() { return pivots.clone(); }
+
+    /** Base ortonormal do espaço gerado (cópia), {@code rank()} vetores de dimensão {@code dim}. */
+    public double[][] orthonormal() {
+        double[][] r = new double[q.length][];
+        for (int k = 0; k < q.length; k++) r[k] = q[k].clone();
+        return r;
+    }
+
+    /** Se {@code v} pertence ao espaço gerado (a menos da mesma tolerância do posto). */
+    public boolean spans(double[] v) {
+        if (v.length != dim) throw new IllegalArgumentException("Vetor deve ter dimensão " + dim + ".");
+        int e = exponent(v, dim);                           // normas na escala do próprio v
+        double[] r = scaled(v, dim, -e);
+        double magnitude = VectorMath.magnitude(r);
+        for (double[] b : q) subtractProjection(r, 0, b);
+        double norm = Math.sqrt(norm2(r, 0, dim));
+        return norm <= Math.scalb(tolerance, exponent - e) + 4 * EPS * dim * magnitude;
+    }
+
+    /* ================= Gram–Schmidt (poucos vetores) ================= */
+
+    private static Basis gramSchmidt(double[] data, int n, int dim, double tol, int exponent) {
+        double[][] q = new double[Math.min(n, dim)][];
+        int[] pivots = new int[q.length];
+        int rank = 0;
+        for (int i = 0; i < n && rank < q.length; i++) {
+            double[] u = Arrays.copyOfRange(data, i * dim, i * dim + dim);
+            for (int pass = 0; pass < 2; pass++)                // "duas vezes basta"
+                for (int k = 0; k < rank; k++) subtractProjection(u, 0, q[k]);
+            if (VectorMath.magnitude(u) <= tol) continue;
+            q[rank] = VectorMath.normalize(u);
+            pivots[rank++] = i;
+        }
+        return new Basis(n, dim, Arrays.copyOf(pivots, rank), Arrays.copyOf(q, rank), tol, exponent);
+    }
+
+    /* ================= Householder com pivoteamento (muitos vetores) ================= */
+
+    private static Basis householder(double[] data, int n, int dim, double tol, int exponent) {
+        double[] w = Arrays.copyOf(data, n * dim);
+        int[] perm = IntStream.range(0, n).toArray();
+        double[] res = new double[n];                      // ‖w[j][k..dim)‖², o resíduo do vetor j
+        blocks(n).forEach(b -> {
+            for (int j = b * BLOCK, end = Math.min(n, j + BLOCK); j < end; j++) res[j] = norm2(w, j * dim, dim);
+        });
+
+        int steps = Math.min(n, dim);
+        double[][] reflectors = new double[steps][];
+        int rank = 0;
+        for (int k = 0; k < steps; k++) {
+            int p = k;
+            for (int j = k + 1; j < n; j++) if (res[j] > res[p]) p = j;
+            if (Math.sqrt(res[p]) <= tol) break;
+            swap(w, perm, res, k, p, dim);
+
+            /* refletor H = I − 2vvᵀ/vᵀv que leva w[k][k..dim) a (α, 0, …, 0) */
+            int len = dim - k, o = k * dim + k;
+            double[] v = Arrays.copyOfRange(w, o, o + len);
+            double alpha = -Math.copySign(Math.sqrt(norm2(v, 0, len)), v[0]);
+            v[0] -= alpha;
+            double vv = norm2(v, 0, len);
+            reflectors[k] = v;
+            w[o] = alpha;
+            Arrays.fill(w, o + 1, o + len, 0);
+            rank++;
+
+            /* aplica aos vetores restantes e atualiza o resíduo deles, em blocos paralelos */
+            final int kk = k;
+            int from = k + 1, count = n - from;
+            blocks(count).forEach(b -> {
+                for (int j = from + b * BLOCK, end = Math.min(n, j + BLOCK); j < end; j++) {
+                    int c = j * dim + kk;
+                    double s = 0;
+                    for (int i = 0; i < len; i++) s += v[i] * w[c + i];
+                    double f = vv == 0 ? 0 : 2 * s / vv;          // vv = 0: já estava alinhado
+                    for (int i = 0; i < len; i++) w[c + i] -= f * v[i];
+                    res[j] = norm2(w, c + 1, len - 1);
+                }
+            });
+        }
+
+        /* Q·eₖ, com o sinal que deixa qₖ no mesmo sentido do k-ésimo pivô */
+        double[][] q = new double[rank][];
+        for (int k = 0; k < rank; k++) {
+            double[] e = new double[dim];
+            e[k] = Math.signum(w[k * dim + k]) < 0 ? -1 : 1;
+            for (int r = k; r >= 0; r--) reflect(e, r, reflectors[r]);
+            q[k] = e;
+        }
+        int[] pivots = Arrays.copyOf(perm, rank);
+        Arrays.sort(pivots);
+        return new Basis(n, dim, pivots, q, tol, exponent);
+    }
+
+    /* ------------ helpers ------------ */
+
+    /** Expoente binário da maior componente em módulo (0 se todas são nulas ou não finitas). */
+    private static int exponent(double[] a, int len) {
+        double max = 0;
+        for (int i = 0; i < len; i++) max = Math.max(max, Math.abs(a[i]));
+        return max > 0 && Double.isFinite(max) ? Math.getExponent(max) : 0;
+    }
+
+    /** Cópia dos primeiros {@code len} valores multiplicados por 2^{@code e}. */
+    private static double[] scaled(double[] a, int len, int e) {
+        double[] r = new double[len];
+        for (int i = 0; i < len; i++) r[i] = Math.scalb(a[i], e);
+        return r;
+    }
+
+    /** u ← u − (u·b)b, com b unitário. */
+    private static void subtractProjection(double[] u, int offset, double[] b) {
+        double s = 0;
+        for (int i = 0; i < b.length; i++) s += u[offset + i] * b[i];
+        for (int i = 0; i < b.length; i++) u[offset + i] -= s * b[i];
+    }
+
+    /** Aplica o refletor do passo {@code k} (que age nas componentes k..d) a {@code e}. */
+    private static void reflect(double[] e, int k, double[] v) {
+        double vv = norm2(v, 0, v.length);
+        if (vv == 0) return;
+        double s = 0;
+        for (int i = 0; i < v.length; i++) s += v[i] * e[k + i];
+        double f = 2 * s / vv;
+        for (int i = 0; i < v.length; i++) e[k + i] -= f * v[i];
+    }
+
+    private static double norm2(double[] a, int offset, int len) {
+        double s = 0;
+        for (int i = 0; i < len; i++) s += a[offset + i] * a[offset + i];
+        return s;
+    }
+
+    private static void swap(double[] w, int[] perm, double[] res, int a, int b, int dim) {
+        if (a == b) return;
+        for (int i = 0; i < dim; i++) {
+            double t = w[a * dim + i];
+            w[a * dim + i] = w[b * dim + i];
+            w[b * dim + i] = t;
+        }
+        int t = perm[a]; perm[a] = perm[b]; perm[b] = t;
+        double r = res[a]; res[a] = res[b]; res[b] = r;
+    }
+
+    private static IntStream blocks(int count) {
+        int blocks = (count + BLOCK - 1) / BLOCK;
+        IntStream s = IntStream.range(0, blocks);
+        return blocks > 1 ? s.parallel() : s;
+    }
+}
@@ -2,17 +2,19 @@ package app.util;
 
 import javafx.scene.shape.MeshView;
 import javafx.scene.shape.TriangleMesh;
-import javafx.scene.paint.PhongMaterial;
 import javafx.scene.paint.Color;
 
-/** Cone sólido (fuste = 0 -> ponta) com base centrada em y = +h/2 e ápice em y = -h/2. */
+/**
+ * Cone sólido (fuste = 0 -> ponta) com base centrada em y = +h/2 e ápice em y = -h/2.
+ * Malha e material vêm do {@link SceneCache}, compartilhados entre cones iguais.
+ */
 public class Cone extends MeshView {
     public Cone(float radius, float height, int divisions, Color color) {
-        super(buildMesh(radius, height, divisions));
-        setMaterial(new PhongMaterial(color));
+        super(SceneCache.cone(radius, height, divisions));
+        setMaterial(SceneCache.material(color));
     }
 
-    private static TriangleMesh buildMesh(float r, float h, int n) {
+    static TriangleMesh buildMesh(float r, float h, int n) {
         TriangleMesh mesh = new TriangleMesh();
 
         // 1. Ápice do cone (topo, Y negativo)
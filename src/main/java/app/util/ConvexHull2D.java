@@ -0,0 +1,78 @@
+package app.util;
+
+import java.util.Arrays;
+
+/**
+ * Fecho convexo no plano pela cadeia monótona de Andrew, com orientações exatas
+ * ({@link Predicates#orient2d(double[], int, int, int)}).
+ *
+ * <p>Antes da ordenação descarta-se tudo o que está estritamente dentro do quadrilátero dos
+ * pontos extremos em x e y (Akl–Toussaint): com dados espalhados sobra uma fração pequena, e o
+ * custo fica perto de uma passada linear.</p>
+ */
+public final class ConvexHull2D {
+    private ConvexHull2D() {}
+
+    /**
+     * Índices dos vértices do fecho dos {@code n} primeiros pontos de {@code xy} (x, y em
+     * sequência), em sentido anti-horário e sem pontos colineares nos lados. Menos de três
+     * vértices quando os pontos estão numa reta.
+     */
+    public static int[] of(double[] xy, int n) {
+        if (n == 0) return new int[0];
+        int left = 0, right = 0, bottom = 0, top = 0;
+        for (int i = 1; i < n; i++) {
+            if (xy[2 * i] < xy[2 * left]) left = i;
+            if (xy[2 * i] > xy[2 * right]) right = i;
+            if (xy[2 * i + 1] < xy[2 * bottom + 1]) bottom = i;
+            if (xy[2 * i + 1] > xy[2 * top + 1]) top = i;
+        }
+        int[] quad = { left, bottom, right, top };        // anti-horário
+        int[] keep = new int[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            boolean inside = true;
+            for (int k = 0; k < 4 && inside; k++)
+                inside = Predicates.orient2d(xy, quad[k], quad[(k + 1) % 4], i) > 0;
+            if (!inside) keep[m++] = i;
+        }
+        sort(xy, keep, new int[m], 0, m);
+
+        int[] hull = new int[2 * m + 1];
+        int h = 0;
+        for (int pass = 0; pass < 2; pass++) {
+            int floor = h;
+            for (int t = 0; t < m; t++) {
+                int i = keep[pass == 0 ? t : m - 1 - t];
+                while (h >= floor + 2 && Predicates.orient2d(xy, hull[h - 2], hull[h - 1], i) <= 0) h--;
+                hull[h++] = i;
+            }
+            h--;                                           // o último é o primeiro da outra cadeia
+        }
+        if (h == 2 && xy[2 * hull[0]] == xy[2 * hull[1]] && xy[2 * hull[0] + 1] == xy[2 * hull[1] + 1]) h = 1;
+        return Arrays.copyOf(hull, Math.max(h, Math.min(m, 1)));
+    }
+
+    /** Ordena {@code idx[from, to)} por (x, y) sem encaixotar índices (merge sort). */
+    private static void sort(double[] xy, int[] idx, int[] tmp, int from, int to) {
+        if (to - from < 16) {
+            for (int i = from + 1; i < to; i++)
+                for (int j = i; j > from && less(xy, idx[j], idx[j - 1]); j--) {
+                    int t = idx[j]; idx[j] = idx[j - 1]; idx[j - 1] = t;
+                }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sort(xy, idx, tmp, from, mid);
+        sort(xy, idx, tmp, mid, to);
+        if (!less(xy, idx[mid], idx[mid - 1])) return;
+        System.arraycopy(idx, from, tmp, from, to - from);
+        for (int i = from, a = from, b = mid; i < to; i++)
+            idx[i] = b >= to || (a < mid && !less(xy, tmp[b], tmp[a])) ? tmp[a++] : tmp[b++];
+    }
+
+    private static boolean less(double[] xy, int i, int j) {
+        double xi = xy[2 * i], xj = xy[2 * j];
+        return xi < xj || (xi == xj && xy[2 * i + 1] < xy[2 * j + 1]);
+    }
+}
@@ -0,0 +1,499 @@
+package app.util;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Fecho convexo 3D de um conjunto de pontos, mantido de forma incremental.
+ *
+ * <p>A construção completa é a QuickHull (Barber, Dobkin e Huhdanpaa): cada face guarda os
+ * pontos que ficam acima dela e o mais distante vira o próximo vértice, com o cone de faces
+ * novas ligado ao horizonte. Depois disso:</p>
+ * <ul>
+ *   <li>um ponto novo, ou movido para fora, é inserido com um único passo da QuickHull —
+ *       O(faces do fecho), sem olhar os outros pontos, que continuam dentro;</li>
+ *   <li>um ponto interior que se move para dentro não custa nada além do teste;</li>
+ *   <li>um vértice do fecho que se move ou sai provoca uma reconstrução local: o fecho dos
+ *       vértices restantes, mais os pontos que ficavam nos tetraedros entre o vértice antigo e
+ *       as faces desse fecho visíveis dele (uma passada filtrada por caixa, só com sinais).</li>
+ * </ul>
+ *
+ * <p>Todas as decisões de lado usam {@link Predicates#orient3d(double[], int, int, int, int)},
+ * exato. Faces são triângulos orientados para fora (o interior fica do lado negativo). Com menos
+ * de quatro pontos fora de um mesmo plano o fecho é o polígono plano, triangulado em leque, e
+ * refeito do zero a cada mudança.</p>
+ */
+public class ConvexHull3D {
+    private double[] xyz = new double[3 * 64];     // um ponto extra no fim para posições antigas
+    private int n;
+    private int[] use = new int[64];               // faces que usam cada ponto
+
+    /* faces: vértices e vizinhas, 3 por face; aresta k = (v[k], v[k+1]) */
+    private int[] fv = new int[3 * 64];
+    private int[] nb = new int[3 * 64];
+    private int faceTop, alive;
+    private int[] free = new int[16];
+    private int freeTop;
+    private boolean planar;                        // sem volume: fv é um leque sem vizinhas
+
+    /* pontos acima de cada face (só durante a construção) */
+    private int[] outHead = new int[64];
+    private int[] nextOut = new int[64];
+
+    /* rascunho da inserção */
+    private int[] mark = new int[64];              // época em que a face foi testada
+    private boolean[] visible = new boolean[64];
+    private int epoch;
+    private int[] startOf = new int[64];           // face nova cuja aresta do horizonte começa no ponto
+    private int[] stack = new int[64], horizonF = new int[64], horizonK = new int[64], cone = new int[64];
+    private int[] pending = new int[64];
+    private int pendingTop;
+
+    /* ================= consultas ================= */
+
+    public int size() { return n; }
+
+    public double x(int i) { return xyz[3 * i]; }
+    public double y(int i) { return xyz[3 * i + 1]; }
+    public double z(int i) { return xyz[3 * i + 2]; }
+
+    /** O ponto {@code i} é vértice do fecho. */
+    public boolean isVertex(int i) { return use[i] > 0; }
+
+    /** O fecho não tem volume (todos os pontos num plano, numa reta ou em menos de quatro posições). */
+    public boolean isPlanar() { return planar; }
+
+    public int faceCount() { return alive; }
+
+    /** Triângulos do fecho como trios de índices de pontos, orientados para fora. */
+    public int[] faces() {
+        int[] out = new int[3 * alive];
+        int o = 0;
+        for (int f = 0; f < faceTop; f++) {
+            if (fv[3 * f] < 0) continue;
+            out[o++] = fv[3 * f];
+            out[o++] = fv[3 * f + 1];
+            out[o++] = fv[3 * f + 2];
+        }
+        return out;
+    }
+
+    /* ================= mudanças ================= */
+
+    /** Troca todos os pontos pelos {@code count} primeiros de {@code src} (x, y, z em sequência). */
+    public void rebuild(double[] src, int count) {
+        ensurePoints(count);
+        System.arraycopy(src, 0, xyz, 0, 3 * count);
+        n = count;
+        build(IntStream.range(0, n).toArray(), n);
+    }
+
+    /** Acrescenta o ponto (x, y, z) com índice {@link #size()}. */
+    public void append(double x, double y, double z) {
+        ensurePoints(n + 1);
+        put(n, x, y, z);
+        use[n] = 0;
+        n++;
+        if (planar) build(IntStream.range(0, n).toArray(), n);
+        else insert(n - 1);
+    }
+
+    /** Move o ponto {@code i} para (x, y, z). */
+    public void move(int i, double x, double y, double z) {
+        if (x == x(i) && y == y(i) && z == z(i)) return;
+        if (planar) {
+            put(i, x, y, z);
+            build(IntStream.range(0, n).toArray(), n);
+            return;
+        }
+        if (use[i] > 0) {
+            put(n, x(i), y(i), z(i));              // posição antiga no ponto extra
+            put(i, x, y, z);
+            removeVertex(i);                       // fecho dos outros, já sem o vértice
+        } else {
+            put(i, x, y, z);
+        }
+        if (!planar) insert(i);
+    }
+
+    /* ================= construção completa (QuickHull) ================= */
+
+    private void build(int[] ids, int m) {
+        clearFaces();
+        int[] s = initialSimplex(ids, m);
+        if (s == null) {
+            buildPlanar(ids, m);
+            return;
+        }
+        planar = false;
+        int a = s[0], b = s[1], c = s[2], d = s[3];
+        if (Predicates.orient3d(xyz, a, b, c, d) > 0) { int t = b; b = c; c = t; }   // d do lado de dentro
+        int f0 = newFace(a, b, c), f1 = newFace(b, a, d), f2 = newFace(a, c, d), f3 = newFace(b, d, c);
+        linkBrute(new int[] { f0, f1, f2, f3 });
+
+        pendingTop = 0;
+        for (int k = 0; k < m; k++) {
+            int p = ids[k];
+            if (p == a || p == b || p == c || p == d) continue;
+            for (int f : new int[] { f0, f1, f2, f3 })
+                if (above(f, p)) {
+                    pushOutside(f, p);
+                    break;
+                }
+        }
+        for (int f : new int[] { f0, f1, f2, f3 }) if (outHead[f] >= 0) pushPending(f);
+
+        while (pendingTop > 0) {
+            int f = pending[--pendingTop];
+            if (fv[3 * f] < 0 || outHead[f] < 0) continue;
+            addPoint(furthest(f), f);
+        }
+    }
+
+    /**
+     * Quatro pontos fora de um mesmo plano: os extremos em x, o mais longe da reta entre eles e o
+     * mais longe do plano dos três. Distâncias em ponto flutuante só para escolher; colinear e
+     * coplanar são decididos pelos predicados exatos.
+     */
+    private int[] initialSimplex(int[] ids, int m) {
+        if (m < 4) return null;
+        int p0 = ids[0];
+        for (int k = 1; k < m; k++) if (x(ids[k]) < x(p0)) p0 = ids[k];
+        int p1 = -1;
+        double best = 0;
+        for (int k = 0; k < m; k++) {
+            double dx = x(ids[k]) - x(p0), dy = y(ids[k]) - y(p0), dz = z(ids[k]) - z(p0);
+            double d2 = dx * dx + dy * dy + dz * dz;
+            if (d2 > best) { best = d2; p1 = ids[k]; }
+        }
+        if (p1 < 0) return null;
+
+        int p2 = -1;
+        best = -1;
+        double ux = x(p1) - x(p0), uy = y(p1) - y(p0), uz = z(p1) - z(p0);
+        for (int k = 0; k < m; k++) {
+            double dx = x(ids[k]) - x(p0), dy = y(ids[k]) - y(p0), dz = z(ids[k]) - z(p0);
+            double cx = uy * dz - uz * dy, cy = uz * dx - ux * dz, cz = ux * dy - uy * dx;
+            double c2 = cx * cx + cy * cy + cz * cz;
+            if (c2 > best) { best = c2; p2 = ids[k]; }
+        }
+        if (collinear(p0, p1, p2)) {
+            p2 = -1;
+            for (int k = 0; k < m && p2 < 0; k++) if (!collinear(p0, p1, ids[k])) p2 = ids[k];
+            if (p2 < 0) return null;
+        }
+
+        int p3 = -1;
+        best = -1;
+        double vx = x(p2) - x(p0), vy = y(p2) - y(p0), vz = z(p2) - z(p0);
+        double nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+        for (int k = 0; k < m; k++) {
+            double h = Math.abs(nx * (x(ids[k]) - x(p0)) + ny * (y(ids[k]) - y(p0)) + nz * (z(ids[k]) - z(p0)));
+            if (h > best) { best = h; p3 = ids[k]; }
+        }
+        if (Predicates.orient3d(xyz, p0, p1, p2, p3) == 0) {
+            p3 = -1;
+            for (int k = 0; k < m && p3 < 0; k++) if (Predicates.orient3d(xyz, p0, p1, p2, ids[k]) != 0) p3 = ids[k];
+            if (p3 < 0) return null;
+        }
+        return new int[] { p0, p1, p2, p3 };
+    }
+
+    /** Ponto de fora de {@code f} mais distante do seu plano. */
+    private int furthest(int f) {
+        int a = fv[3 * f], b = fv[3 * f + 1], c = fv[3 * f + 2];
+        double ux = x(b) - x(a), uy = y(b) - y(a), uz = z(b) - z(a);
+        double vx = x(c) - x(a), vy = y(c) - y(a), vz = z(c) - z(a);
+        double nx = uy * vz - uz * vy, ny = uz * vx - ux * vz, nz = ux * vy - uy * vx;
+        int best = outHead[f];
+        double bestH = Double.NEGATIVE_INFINITY;
+        for (int p = outHead[f]; p >= 0; p = nextOut[p]) {
+            double h = nx * (x(p) - x(a)) + ny * (y(p) - y(a)) + nz * (z(p) - z(a));
+            if (h > bestH) { bestH = h; best = p; }
+        }
+        return best;
+    }
+
+    /* ================= passo incremental ================= */
+
+    /** Insere o ponto {@code p} se ele estiver fora do fecho atual. */
+    private void insert(int p) {
+        for (int f = 0; f < faceTop; f++) {
+            if (fv[3 * f] >= 0 && above(f, p)) {
+                pendingTop = 0;
+                addPoint(p, f);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Acrescenta {@code eye}, que está acima da face {@code seed}: apaga as faces visíveis dele,
+     * liga um cone de faces novas ao horizonte e passa os pontos de fora das faces apagadas
+     * para as novas.
+     */
+    private void addPoint(int eye, int seed) {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            epoch = 1;
+        }
+        int visCount = 0, hCount = 0, top = 0;
+        mark[seed] = epoch;
+        visible[seed] = true;
+        stack[top++] = seed;
+        while (top > 0) {
+            int f = stack[--top];
+            cone = grow(cone, visCount + 1);
+            cone[visCount++] = f;                      // faces visíveis (reaproveitado abaixo)
+            for (int k = 0; k < 3; k++) {
+                int g = nb[3 * f + k];
+                if (mark[g] != epoch) {
+                    mark[g] = epoch;
+                    visible[g] = above(g, eye);
+                    if (visible[g]) {
+                        stack = grow(stack, top + 1);
+                        stack[top++] = g;
+                        continue;
+                    }
+                }
+                if (!visible[g]) {
+                    horizonF = grow(horizonF, hCount + 1);
+                    horizonK = grow(horizonK, hCount + 1);
+                    horizonF[hCount] = f;
+                    horizonK[hCount++] = k;
+                }
+            }
+        }
+        int[] dead = Arrays.copyOf(cone, visCount);
+
+        /* cone: uma face (a, b, eye) por aresta (a, b) do horizonte */
+        int[] fresh = new int[hCount];
+        for (int h = 0; h < hCount; h++) {
+            int f = horizonF[h], k = horizonK[h];
+            int a = fv[3 * f + k], b = fv[3 * f + (k + 1) % 3], g = nb[3 * f + k];
+            int F = newFace(a, b, eye);
+            fresh[h] = F;
+            nb[3 * F] = g;
+            for (int j = 0; j < 3; j++)
+                if (fv[3 * g + j] == b && fv[3 * g + (j + 1) % 3] == a) nb[3 * g + j] = F;
+            startOf[a] = F;
+        }
+        for (int F : fresh) {
+            int G = startOf[fv[3 * F + 1]];            // a face nova que começa em b
+            nb[3 * F + 1] = G;
+            nb[3 * G + 2] = F;
+        }
+
+        /* pontos de fora das faces apagadas: para a primeira face nova que os vê */
+        for (int f : dead) {
+            for (int p = outHead[f], next; p >= 0; p = next) {
+                next = nextOut[p];
+                if (p == eye) continue;
+                for (int F : fresh)
+                    if (above(F, p)) {
+                        pushOutside(F, p);
+                        break;
+                    }
+            }
+            deleteFace(f);
+        }
+        for (int F : fresh) if (outHead[F] >= 0) pushPending(F);
+    }
+
+    /* ================= remoção de vértice ================= */
+
+    /**
+     * O vértice {@code i} saiu da posição guardada no ponto extra ({@code n}). O fecho novo é o
+     * dos outros vértices mais os pontos que só o vértice antigo cobria: os que estão acima de
+     * alguma face desse fecho visível da posição antiga.
+     */
+    private void removeVertex(int i) {
+        int[] ids = new int[n];
+        int m = 0;
+        for (int p = 0; p < n; p++) if (use[p] > 0 && p != i) ids[m++] = p;
+        build(ids, m);
+        if (planar) {                                  // sem volume: refaz com todos os pontos
+            build(IntStream.range(0, n).toArray(), n);
+            return;
+        }
+
+        int old = n;
+        int[] seen = new int[16];
+        int vc = 0;
+        double minX = x(old), maxX = minX, minY = y(old), maxY = minY, minZ = z(old), maxZ = minZ;
+        for (int f = 0; f < faceTop; f++) {
+            if (fv[3 * f] < 0 || !above(f, old)) continue;
+            seen = grow(seen, vc + 1);
+            seen[vc++] = f;
+            for (int j = 0; j < 3; j++) {
+                int v = fv[3 * f + j];
+                minX = Math.min(minX, x(v)); maxX = Math.max(maxX, x(v));
+                minY = Math.min(minY, y(v)); maxY = Math.max(maxY, y(v));
+                minZ = Math.min(minZ, z(v)); maxZ = Math.max(maxZ, z(v));
+            }
+        }
+        int[] candidates = new int[16];
+        int cc = 0;
+        for (int q = 0; q < n; q++) {
+            if (q == i || use[q] > 0) continue;
+            double qx = x(q), qy = y(q), qz = z(q);
+            if (qx < minX || qx > maxX || qy < minY || qy > maxY || qz < minZ || qz > maxZ) continue;
+            for (int k = 0; k < vc; k++)
+                if (above(seen[k], q)) {
+                    candidates = grow(candidates, cc + 1);
+                    candidates[cc++] = q;
+                    break;
+                }
+        }
+        for (int k = 0; k < cc; k++) insert(candidates[k]);
+    }
+
+    /* ================= caso plano ================= */
+
+    /**
+     * Polígono convexo dos pontos no plano deles ({@link ConvexHull2D} sobre a projeção que
+     * descarta o eixo mais alinhado à normal, o que não muda as orientações), triangulado em leque.
+     */
+    private void buildPlanar(int[] ids, int m) {
+        planar = true;
+        clearFaces();
+        if (m < 3) return;
+        int p0 = -1, p1 = -1, p2 = -1;
+        for (int k = 0; k < m && p1 < 0; k++) {
+            if (p0 < 0) p0 = ids[k];
+            else if (!samePoint(p0, ids[k])) p1 = ids[k];
+        }
+        if (p1 < 0) return;
+        for (int k = 0; k < m && p2 < 0; k++) if (!collinear(p0, p1, ids[k])) p2 = ids[k];
+        if (p2 < 0) return;                            // todos numa reta
+
+        double ux = x(p1) - x(p0), uy = y(p1) - y(p0), uz = z(p1) - z(p0);
+        double vx = x(p2) - x(p0), vy = y(p2) - y(p0), vz = z(p2) - z(p0);
+        double[] normal = { uy * vz - uz * vy, uz * vx - ux * vz, ux * vy - uy * vx };
+        int drop = 0;
+        for (int k = 1; k < 3; k++) if (Math.abs(normal[k]) > Math.abs(normal[drop])) drop = k;
+        int cu = drop == 0 ? 1 : 0, cv = drop == 2 ? 1 : 2;
+        boolean flip = normal[drop] < 0 != (drop == 1);  // (x, z) tem orientação invertida
+
+        double[] uv = new double[2 * m];
+        for (int k = 0; k < m; k++) {
+            uv[2 * k] = xyz[3 * ids[k] + cu];
+            uv[2 * k + 1] = xyz[3 * ids[k] + cv];
+        }
+        int[] hull = ConvexHull2D.of(uv, m);
+        int h = hull.length;
+        for (int t = 1; t + 1 < h; t++) {
+            int a = ids[hull[0]], b = ids[hull[t]], c = ids[hull[t + 1]];
+            if (flip) newFace(a, c, b);
+            else newFace(a, b, c);
+        }
+    }
+
+    /* ================= faces ================= */
+
+    private boolean above(int f, int p) {
+        return Predicates.orient3d(xyz, fv[3 * f], fv[3 * f + 1], fv[3 * f + 2], p) > 0;
+    }
+
+    private int newFace(int a, int b, int c) {
+        int f;
+        if (freeTop > 0) {
+            f = free[--freeTop];
+        } else {
+            f = faceTop++;
+            if (3 * faceTop > fv.length) {
+                int cap = Math.max(faceTop, fv.length / 3 * 2);
+                fv = Arrays.copyOf(fv, 3 * cap);
+                nb = Arrays.copyOf(nb, 3 * cap);
+                outHead = Arrays.copyOf(outHead, cap);
+                mark = Arrays.copyOf(mark, cap);
+                visible = Arrays.copyOf(visible, cap);
+            }
+        }
+        fv[3 * f] = a;
+        fv[3 * f + 1] = b;
+        fv[3 * f + 2] = c;
+        nb[3 * f] = nb[3 * f + 1] = nb[3 * f + 2] = -1;
+        outHead[f] = -1;
+        mark[f] = 0;
+        use[a]++;
+        use[b]++;
+        use[c]++;
+        alive++;
+        return f;
+    }
+
+    private void deleteFace(int f) {
+        use[fv[3 * f]]--;
+        use[fv[3 * f + 1]]--;
+        use[fv[3 * f + 2]]--;
+        fv[3 * f] = -1;
+        outHead[f] = -1;
+        alive--;
+        free = grow(free, freeTop + 1);
+        free[freeTop++] = f;
+    }
+
+    private void clearFaces() {
+        faceTop = alive = freeTop = 0;
+        Arrays.fill(use, 0, n + 1, 0);
+    }
+
+    /** Liga vizinhas comparando todas as arestas (só para o tetraedro inicial). */
+    private void linkBrute(int[] fs) {
+        for (int f : fs)
+            for (int k = 0; k < 3; k++) {
+                int a = fv[3 * f + k], b = fv[3 * f + (k + 1) % 3];
+                for (int g : fs)
+                    for (int j = 0; j < 3; j++)
+                        if (fv[3 * g + j] == b && fv[3 * g + (j + 1) % 3] == a) nb[3 * f + k] = g;
+            }
+    }
+
+    private void pushOutside(int f, int p) {
+        nextOut[p] = outHead[f];
+        outHead[f] = p;
+    }
+
+    private void pushPending(int f) {
+        pending = grow(pending, pendingTop + 1);
+        pending[pendingTop++] = f;
+    }
+
+    /* ================= pontos ================= */
+
+    private void put(int i, double x, double y, double z) {
+        xyz[3 * i] = x;
+        xyz[3 * i + 1] = y;
+        xyz[3 * i + 2] = z;
+    }
+
+    private boolean samePoint(int a, int b) {
+        return x(a) == x(b) && y(a) == y(b) && z(a) == z(b);
+    }
+
+    /** Colineares exatamente: as três projeções nos planos coordenados são colineares. */
+    private boolean collinear(int a, int b, int c) {
+        for (int u = 0; u < 3; u++) {
+            int v = (u + 1) % 3;
+            double[] pa = { xyz[3 * a + u], xyz[3 * a + v] }, pb = { xyz[3 * b + u], xyz[3 * b + v] },
+                     pc = { xyz[3 * c + u], xyz[3 * c + v] };
+            if (Predicates.orient2d(pa, pb, pc) != 0) return false;
+        }
+        return true;
+    }
+
+    /** Espaço para {@code count} pontos mais o ponto extra. */
+    private void ensurePoints(int count) {
+        if (count + 1 <= use.length) return;
+        int cap = Math.max(count + 1, use.length * 2);
+        xyz = Arrays.copyOf(xyz, 3 * cap);
+        use = Arrays.copyOf(use, cap);
+        nextOut = Arrays.copyOf(nextOut, cap);
+        startOf = Arrays.copyOf(startOf, cap);
+    }
+
+    private static int[] grow(int[] a, int need) {
+        return need <= a.length ? a : Arrays.copyOf(a, Math.max(need, a.length * 2));
+    }
+}
@@ -0,0 +1,37 @@
+package app.util;
+
+/**
+ * Espaçamentos "redondos" (1, 2 ou 5 × 10ᵏ) para grades e marcas de eixo, e formatação dos
+ * valores das marcas com o número de casas que o espaçamento pede.
+ */
+public final class NiceScale {
+
+    private NiceScale() {}
+
+    /** Menor espaçamento 1-2-5 que é maior ou igual a {@code raw} (> 0). */
+    public static double step(double raw) {
+        if (!(raw > 0) || Double.isInfinite(raw)) return 1;
+        double exp = Math.floor(Math.log10(raw));
+        double base = Math.pow(10, exp);
+        double f = raw / base;
+        double nice = f <= 1 ? 1 : f <= 2 ? 2 : f <= 5 ? 5 : 10;
+        return nice * base;
+    }
+
+    /** Espaçamento para que marcas fiquem a pelo menos {@code minPixels} px com {@code pixelsPerUnit}. */
+    public static double stepForPixels(double minPixels, double pixelsPerUnit) {
+        return step(minPixels / pixelsPerUnit);
+    }
+
+    /** Valor de uma marca da grade de espaçamento {@code step}, sem ruído de arredondamento. */
+    public static String format(double value, double step) {
+        if (value == 0) return "0";
+        double mag = Math.abs(value);
+        if (mag >= 1e6 || step < 1e-4) {
+            int digits = (int) (Math.floor(Math.log10(mag)) - Math.floor(Math.log10(step)));
+            return String.format("%." + Math.max(0, Math.min(digits, 15)) + "e", value);
+        }
+        int decimals = Math.max(0, (int) -Math.floor(Math.log10(step)));
+        return String.format("%." + decimals + "f", value);
+    }
+}
@@ -0,0 +1,364 @@
+package app.util;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Predicados geométricos exatos: ortogonal, paralelo, coplanar e sinal de orientação.
+ *
+ * <p>A resposta é sempre a da aritmética exata sobre os {@code double} de entrada, mas o custo
+ * quase sempre é o do cálculo comum: primeiro avalia-se a expressão em ponto flutuante junto com
+ * um limite para o erro de arredondamento (Higham, γₙ = nu/(1−nu)); se o valor está longe de zero
+ * o sinal já é o certo. Só quando o filtro não decide a expressão é refeita com expansões de
+ * ponto flutuante (Shewchuk: soma e produto sem erro, com {@link Math#fma}). Entradas tão
+ * grandes ou tão pequenas que o produto sem erro deixaria de ser exato caem em {@link BigDecimal}.
+ * Com entradas infinitas ou NaN vale o sinal do cálculo comum (NaN conta como 0).</p>
+ */
+public final class Predicates {
+    private static final double U = 0x1p-53;                       // unidade de arredondamento
+    /** Faixa em que produtos de até três fatores (e os termos de erro) não estouram nem ficam subnormais. */
+    private static final double SAFE_MIN = 0x1p-200, SAFE_MAX = 0x1p200;
+    private static final int BLOCK = 4096;
+
+    private Predicates() {}
+
+    /* ================= produtos escalares ================= */
+
+    /** Sinal exato de a·b. */
+    public static int dotSign(double[] a, double[] b) {
+        if (a.length != b.length) throw new IllegalArgumentException("Vetores devem ter a mesma dimensão.");
+        return dotSign(a, 0, b, 0, a.length);
+    }
+
+    /** a ⊥ b exatamente (o vetor nulo é ortogonal a todos). */
+    public static boolean orthogonal(double[] a, double[] b) {
+        return dotSign(a, b) == 0;
+    }
+
+    /** a ∥ b exatamente: todos os menores 2×2 de [a; b] são nulos (o vetor nulo é paralelo a todos). */
+    public static boolean parallel(double[] a, double[] b) {
+        if (a.length != b.length) throw new IllegalArgumentException("Vetores devem ter a mesma dimensão.");
+        for (int i = 0; i < a.length; i++)
+            for (int j = i + 1; j < a.length; j++)
+                if (minorSign(a[i], b[j], a[j], b[i]) != 0) return false;
+        return true;
+    }
+
+    /* ================= orientação ================= */
+
+    /** Sinal de det[a; b] = a.x·b.y − a.y·b.x: 1 se b está à esquerda de a, −1 à direita, 0 se colineares. */
+    public static int orientation(double[] a, double[] b) {
+        return minorSign(a[0], b[1], a[1], b[0]);
+    }
+
+    /** Sinal de det[a; b; c] = a·(b × c): 1 se (a, b, c) é positivamente orientada, 0 se coplanares. */
+    public static int orientation(double[] a, double[] b, double[] c) {
+        return det3Sign(a[0], a[1], a[2], b[0], b[1], b[2], c[0], c[1], c[2]);
+    }
+
+    /** Os três vetores (a partir da origem) estão num mesmo plano. */
+    public static boolean coplanar(double[] a, double[] b, double[] c) {
+        return orientation(a, b, c) == 0;
+    }
+
+    /**
+     * Sinal de orientação de quatro pontos: positivo se {@code d} fica do lado de
+     * (b − a) × (c − a), zero se os quatro são coplanares.
+     */
+    public static int orient3d(double[] a, double[] b, double[] c, double[] d) {
+        double bx = b[0] - a[0], by = b[1] - a[1], bz = b[2] - a[2];
+        double cx = c[0] - a[0], cy = c[1] - a[1], cz = c[2] - a[2];
+        double dx = d[0] - a[0], dy = d[1] - a[1], dz = d[2] - a[2];
+        double det = dx * (by * cz - bz * cy) + dy * (bz * cx - bx * cz) + dz * (bx * cy - by * cx);
+        double perm = Math.abs(dx) * (Math.abs(by * cz) + Math.abs(bz * cy))
+                + Math.abs(dy) * (Math.abs(bz * cx) + Math.abs(bx * cz))
+                + Math.abs(dz) * (Math.abs(bx * cy) + Math.abs(by * cx));
+        if (Math.abs(det) > gamma(10) * perm + Double.MIN_NORMAL) return (int) Math.signum(det);
+        if (inRange(a) && inRange(b) && inRange(c) && inRange(d)) return orient3dExact(a, b, c, d);
+        if (!finite(a) || !finite(b) || !finite(c) || !finite(d)) return (int) Math.signum(det);
+        BigDecimal[] p = new BigDecimal[3], q = new BigDecimal[3], r = new BigDecimal[3];
+        for (int i = 0; i < 3; i++) {
+            BigDecimal ai = new BigDecimal(a[i]);
+            p[i] = new BigDecimal(b[i]).subtract(ai);
+            q[i] = new BigDecimal(c[i]).subtract(ai);
+            r[i] = new BigDecimal(d[i]).subtract(ai);
+        }
+        return det3(r, p, q).signum();
+    }
+
+    /**
+     * {@link #orient3d(double[], double[], double[], double[])} para os pontos {@code a}, {@code b},
+     * {@code c}, {@code d} de {@code xyz} (x, y, z de cada ponto em sequência), sem cópias quando o
+     * filtro decide.
+     */
+    public static int orient3d(double[] xyz, int a, int b, int c, int d) {
+        int ia = 3 * a, ib = 3 * b, ic = 3 * c, id = 3 * d;
+        double ax = xyz[ia], ay = xyz[ia + 1], az = xyz[ia + 2];
+        double bx = xyz[ib] - ax, by = xyz[ib + 1] - ay, bz = xyz[ib + 2] - az;
+        double cx = xyz[ic] - ax, cy = xyz[ic + 1] - ay, cz = xyz[ic + 2] - az;
+        double dx = xyz[id] - ax, dy = xyz[id + 1] - ay, dz = xyz[id + 2] - az;
+        double det = dx * (by * cz - bz * cy) + dy * (bz * cx - bx * cz) + dz * (bx * cy - by * cx);
+        double perm = Math.abs(dx) * (Math.abs(by * cz) + Math.abs(bz * cy))
+                + Math.abs(dy) * (Math.abs(bz * cx) + Math.abs(bx * cz))
+                + Math.abs(dz) * (Math.abs(bx * cy) + Math.abs(by * cx));
+        if (Math.abs(det) > gamma(10) * perm + Double.MIN_NORMAL) return (int) Math.signum(det);
+        return orient3d(Arrays.copyOfRange(xyz, ia, ia + 3), Arrays.copyOfRange(xyz, ib, ib + 3),
+                Arrays.copyOfRange(xyz, ic, ic + 3), Arrays.copyOfRange(xyz, id, id + 3));
+    }
+
+    /** Sinal de orientação de três pontos no plano: positivo se a → b → c gira no sentido anti-horário. */
+    public static int orient2d(double[] a, double[] b, double[] c) {
+        double bx = b[0] - a[0], by = b[1] - a[1], cx = c[0] - a[0], cy = c[1] - a[1];
+        double det = bx * cy - by * cx;
+        double perm = Math.abs(bx * cy) + Math.abs(by * cx);
+        if (Math.abs(det) > gamma(5) * perm + Double.MIN_NORMAL) return (int) Math.signum(det);
+        if (inRange(a) && inRange(b) && inRange(c)) {
+            Expansion e = diff(b[0], a[0]).times(diff(c[1], a[1]));
+            e.subtract(diff(b[1], a[1]).times(diff(c[0], a[0])));
+            return e.sign();
+        }
+        if (!finite(a) || !finite(b) || !finite(c)) return (int) Math.signum(det);
+        BigDecimal ax = new BigDecimal(a[0]), ay = new BigDecimal(a[1]);
+        return new BigDecimal(b[0]).subtract(ax).multiply(new BigDecimal(c[1]).subtract(ay))
+                .subtract(new BigDecimal(b[1]).subtract(ay).multiply(new BigDecimal(c[0]).subtract(ax)))
+                .signum();
+    }
+
+    /** {@link #orient2d(double[], double[], double[])} para os pontos {@code a}, {@code b}, {@code c} de {@code xy} (x, y em sequência). */
+    public static int orient2d(double[] xy, int a, int b, int c) {
+        int ia = 2 * a, ib = 2 * b, ic = 2 * c;
+        double bx = xy[ib] - xy[ia], by = xy[ib + 1] - xy[ia + 1], cx = xy[ic] - xy[ia], cy = xy[ic + 1] - xy[ia + 1];
+        double det = bx * cy - by * cx;
+        double perm = Math.abs(bx * cy) + Math.abs(by * cx);
+        if (Math.abs(det) > gamma(5) * perm + Double.MIN_NORMAL) return (int) Math.signum(det);
+        return orient2d(Arrays.copyOfRange(xy, ia, ia + 2), Arrays.copyOfRange(xy, ib, ib + 2),
+                Arrays.copyOfRange(xy, ic, ic + 2));
+    }
+
+    /* ================= em massa ================= */
+
+    /** Vetores de {@code data} (n × dim, em ordem de linhas) ortogonais a {@code ref}; blocos em paralelo. */
+    public static BitSet orthogonalTo(double[] ref, double[] data, int n, int dim) {
+        checkBulk(ref, data, n, dim);
+        return bulk(n, i -> dotSign(ref, 0, data, i * dim, dim) == 0);
+    }
+
+    /** Vetores de {@code data} (n × dim, em ordem de linhas) paralelos a {@code ref}; blocos em paralelo. */
+    public static BitSet parallelTo(double[] ref, double[] data, int n, int dim) {
+        checkBulk(ref, data, n, dim);
+        return bulk(n, i -> {
+            int o = i * dim;
+            for (int p = 0; p < dim; p++)
+                for (int q = p + 1; q < dim; q++)
+                    if (minorSign(ref[p], data[o + q], ref[q], data[o + p]) != 0) return false;
+            return true;
+        });
+    }
+
+    /* ================= núcleos ================= */
+
+    private static int dotSign(double[] a, int ao, double[] b, int bo, int n) {
+        double s = 0, abs = 0;
+        for (int i = 0; i < n; i++) {
+            double p = a[ao + i] * b[bo + i];
+            s += p;
+            abs += Math.abs(p);
+        }
+        /* |s − a·b| ≤ γₙ·Σ|aᵢbᵢ|; folga de dois γ para Σ|p| também arredondada e termo absoluto para subnormais */
+        if (Math.abs(s) > gamma(n + 2) * abs + n * Double.MIN_NORMAL) return (int) Math.signum(s);
+
+        boolean safe = true;
+        for (int i = 0; i < n && safe; i++) safe = inRange(a[ao + i]) && inRange(b[bo + i]);
+        if (safe) {
+            Expansion e = new Expansion(2 * n);
+            for (int i = 0; i < n; i++) e.addProduct(a[ao + i], b[bo + i]);
+            return e.sign();
+        }
+        for (int i = 0; i < n; i++)
+            if (!Double.isFinite(a[ao + i]) || !Double.isFinite(b[bo + i])) return (int) Math.signum(s);
+        BigDecimal exact = BigDecimal.ZERO;
+        for (int i = 0; i < n; i++) exact = exact.add(new BigDecimal(a[ao + i]).multiply(new BigDecimal(b[bo + i])));
+        return exact.signum();
+    }
+
+    /** Sinal de a·b − c·d. */
+    private static int minorSign(double a, double b, double c, double d) {
+        double p = a * b, q = c * d, det = p - q;
+        if (Math.abs(det) > gamma(4) * (Math.abs(p) + Math.abs(q)) + Double.MIN_NORMAL) return (int) Math.signum(det);
+        if (inRange(a) && inRange(b) && inRange(c) && inRange(d)) {
+            Expansion e = new Expansion(4);
+            e.addProduct(a, b);
+            e.addProduct(-c, d);
+            return e.sign();
+        }
+        if (!finite(new double[] { a, b, c, d })) return (int) Math.signum(det);
+        return new BigDecimal(a).multiply(new BigDecimal(b))
+                .subtract(new BigDecimal(c).multiply(new BigDecimal(d))).signum();
+    }
+
+    private static int det3Sign(double ax, double ay, double az, double bx, double by, double bz,
+                                double cx, double cy, double cz) {
+        double det = ax * (by * cz - bz * cy) + ay * (bz * cx - bx * cz) + az * (bx * cy - by * cx);
+        double perm = Math.abs(ax) * (Math.abs(by * cz) + Math.abs(bz * cy))
+                + Math.abs(ay) * (Math.abs(bz * cx) + Math.abs(bx * cz))
+                + Math.abs(az) * (Math.abs(bx * cy) + Math.abs(by * cx));
+        if (Math.abs(det) > gamma(7) * perm + Double.MIN_NORMAL) return (int) Math.signum(det);
+
+        if (inRange(ax) && inRange(ay) && inRange(az) && inRange(bx) && inRange(by) && inRange(bz)
+                && inRange(cx) && inRange(cy) && inRange(cz)) {
+            Expansion e = new Expansion(24);
+            e.addProduct3(ax, by, cz);
+            e.addProduct3(-ax, bz, cy);
+            e.addProduct3(ay, bz, cx);
+            e.addProduct3(-ay, bx, cz);
+            e.addProduct3(az, bx, cy);
+            e.addProduct3(-az, by, cx);
+            return e.sign();
+        }
+        if (!finite(new double[] { ax, ay, az, bx, by, bz, cx, cy, cz })) return (int) Math.signum(det);
+        BigDecimal[] a = { new BigDecimal(ax), new BigDecimal(ay), new BigDecimal(az) };
+        BigDecimal[] b = { new BigDecimal(bx), new BigDecimal(by), new BigDecimal(bz) };
+        BigDecimal[] c = { new BigDecimal(cx), new BigDecimal(cy), new BigDecimal(cz) };
+        return det3(a, b, c).signum();
+    }
+
+    private static int orient3dExact(double[] a, double[] b, double[] c, double[] d) {
+        Expansion[] p = new Expansion[3], q = new Expansion[3], r = new Expansion[3];
+        for (int i = 0; i < 3; i++) {
+            p[i] = diff(b[i], a[i]);
+            q[i] = diff(c[i], a[i]);
+            r[i] = diff(d[i], a[i]);
+        }
+        /* r · (p × q) */
+        Expansion e = r[0].times(p[1].times(q[2]));
+        e.subtract(r[0].times(p[2].times(q[1])));
+        e.add(r[1].times(p[2].times(q[0])));
+        e.subtract(r[1].times(p[0].times(q[2])));
+        e.add(r[2].times(p[0].times(q[1])));
+        e.subtract(r[2].times(p[1].times(q[0])));
+        return e.sign();
+    }
+
+    private static BigDecimal det3(BigDecimal[] a, BigDecimal[] b, BigDecimal[] c) {
+        return a[0].multiply(b[1].multiply(c[2]).subtract(b[2].multiply(c[1])))
+                .add(a[1].multiply(b[2].multiply(c[0]).subtract(b[0].multiply(c[2]))))
+                .add(a[2].multiply(b[0].multiply(c[1]).subtract(b[1].multiply(c[0]))));
+    }
+
+    /* ------------ helpers ------------ */
+
+    private static double gamma(int n) {
+        return n * U / (1 - n * U);
+    }
+
+    private static boolean inRange(double x) {
+        double m = Math.abs(x);
+        return m == 0 || (m >= SAFE_MIN && m <= SAFE_MAX);
+    }
+
+    private static boolean inRange(double[] v) {
+        for (double x : v) if (!inRange(x)) return false;
+        return true;
+    }
+
+    private static boolean finite(double[] v) {
+        for (double x : v) if (!Double.isFinite(x)) return false;
+        return true;
+    }
+
+    /** b − a como expansão de dois termos (sem erro). */
+    private static Expansion diff(double b, double a) {
+        Expansion e = new Expansion(2);
+        e.add(b);
+        e.add(-a);
+        return e;
+    }
+
+    private static void checkBulk(double[] ref, double[] data, int n, int dim) {
+        if (ref.length != dim) throw new IllegalArgumentException("Vetor de referência deve ter dimensão " + dim + ".");
+        if (data.length < n * dim) throw new IllegalArgumentException("Array menor que " + n + " vetores.");
+    }
+
+    private static BitSet bulk(int n, IntPredicate test) {
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        IntStream s = IntStream.range(0, blocks);
+        if (blocks > 1) s = s.parallel();
+        return s.mapToObj(b -> {
+                    BitSet part = new BitSet();
+                    for (int i = b * BLOCK, end = Math.min(n, i + BLOCK); i < end; i++) if (test.test(i)) part.set(i);
+                    return part;
+                })
+                .reduce(new BitSet(), (x, y) -> {
+                    BitSet r = (BitSet) x.clone();
+                    r.or(y);
+                    return r;
+                });
+    }
+
+    /**
+     * Soma exata de parcelas como expansão não sobreposta (componentes em ordem crescente de
+     * magnitude, zeros eliminados). Só vale sem estouro nem subnormais, o que
+     * {@link #inRange(double)} garante para as entradas.
+     */
+    private static final class Expansion {
+        private double[] c;
+        private int n;
+
+        Expansion(int capacity) {
+            c = new double[Math.max(4, capacity)];
+        }
+
+        /** Grow-Expansion: acrescenta {@code b} sem erro. */
+        void add(double b) {
+            if (n + 1 > c.length) c = Arrays.copyOf(c, c.length * 2);
+            double q = b;
+            int m = 0;
+            for (int i = 0; i < n; i++) {
+                double e = c[i];
+                double s = q + e;                          // Two-Sum
+                double bv = s - q;
+                double err = (q - (s - bv)) + (e - bv);
+                q = s;
+                if (err != 0) c[m++] = err;
+            }
+            if (q != 0) c[m++] = q;
+            n = m;
+        }
+
+        void add(Expansion o) {
+            for (int i = 0; i < o.n; i++) add(o.c[i]);
+        }
+
+        void subtract(Expansion o) {
+            for (int i = 0; i < o.n; i++) add(-o.c[i]);
+        }
+
+        /** a·b exatamente: p + erro, com o erro vindo do fma. */
+        void addProduct(double a, double b) {
+            double p = a * b;
+            add(Math.fma(a, b, -p));
+            add(p);
+        }
+
+        void addProduct3(double a, double b, double c) {
+            double p = a * b, e = Math.fma(a, b, -p);
+            addProduct(p, c);
+            addProduct(e, c);
+        }
+
+        Expansion times(Expansion o) {
+            Expansion r = new Expansion(2 * n * o.n);
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < o.n; j++) r.addProduct(c[i], o.c[j]);
+            return r;
+        }
+
+        /** O componente de maior magnitude (o último) decide o sinal. */
+        int sign() {
+            return n == 0 ? 0 : (int) Math.signum(c[n - 1]);
+        }
+    }
+}
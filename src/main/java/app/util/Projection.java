@@ -0,0 +1,174 @@
+package app.util;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Projeção linear de ℝᵈ em ℝᵏ (k = 2 ou 3): {@code y = P·(x − c)}, com P k×d em ordem de
+ * linhas e c um centro opcional (a média, no caso da PCA).
+ *
+ * <p>Os dados ficam num único {@code double[]} em ordem de linhas (n × d). A aplicação percorre
+ * blocos de {@link #BLOCK} linhas, em paralelo quando há mais de um bloco, e pode se restringir
+ * às linhas marcadas num {@link BitSet}.</p>
+ */
+public final class Projection {
+    /** Linhas por bloco: d·BLOCK doubles de entrada cabem confortavelmente no cache. */
+    static final int BLOCK = 1024;
+
+    private final int dim, k;
+    private final double[] matrix;      // k × dim
+    private final double[] center;      // dim (zeros se não centralizada)
+
+    private Projection(int dim, int k, double[] matrix, double[] center) {
+        if (k != 2 && k != 3) throw new IllegalArgumentException("Projeção só para 2 ou 3 dimensões.");
+        this.dim = dim;
+        this.k = k;
+        this.matrix = matrix;
+        this.center = center;
+    }
+
+    public int inputDimension()  { return dim; }
+    public int outputDimension() { return k; }
+
+    /** Linha {@code r} de P (cópia). */
+    public double[] axis(int r) {
+        double[] a = new double[dim];
+        System.arraycopy(matrix, r * dim, a, 0, dim);
+        return a;
+    }
+
+    /* ================= construção ================= */
+
+    /** Escolhe as componentes {@code axes[0..k)} como x, y (e z). */
+    public static Projection axes(int dim, int... axes) {
+        double[] p = new double[axes.length * dim];
+        for (int r = 0; r < axes.length; r++) {
+            if (axes[r] < 0 || axes[r] >= dim)
+                throw new IllegalArgumentException("Eixo " + axes[r] + " fora de 0.." + (dim - 1) + ".");
+            p[r * dim + axes[r]] = 1;
+        }
+        return new Projection(dim, axes.length, p, new double[dim]);
+    }
+
+    /**
+     * Gaussiana aleatória (Johnson–Lindenstrauss) com linhas ortonormalizadas, para que a
+     * escala não dependa de d.
+     */
+    public static Projection random(int dim, int k, long seed) {
+        if (dim < k) throw new IllegalArgumentException("Dimensão menor que " + k + ".");
+        Random rnd = new Random(seed);
+        double[][] rows = new double[k][dim];
+        for (int r = 0; r < k; r++) {
+            for (int i = 0; i < dim; i++) rows[r][i] = rnd.nextGaussian();
+            for (int q = 0; q < r; q++) {               // Gram–Schmidt contra as anteriores
+                double d = VectorMath.dot(rows[r], rows[q]);
+                for (int i = 0; i < dim; i++) rows[r][i] -= d * rows[q][i];
+            }
+            rows[r] = VectorMath.normalize(rows[r]);
+        }
+        double[] p = new double[k * dim];
+        for (int r = 0; r < k; r++) System.arraycopy(rows[r], 0, p, r * dim, dim);
+        return new Projection(dim, k, p, new double[dim]);
+    }
+
+    /**
+     * Componentes principais: média e covariância em paralelo por blocos, autovetores com
+     * {@link SymmetricEigen}. Com menos de duas linhas cai nos primeiros eixos.
+     */
+    public static Projection pca(double[] data, int rows, int dim, int k) {
+        if (dim < k) throw new IllegalArgumentException("Dimensão menor que " + k + ".");
+        if (rows < 2) return axes(dim, IntStream.range(0, k).toArray());
+
+        int blocks = (rows + BLOCK - 1) / BLOCK;
+        double[] mean = blocks(blocks).mapToObj(b -> {
+                    double[] s = new double[dim];
+                    for (int i = b * BLOCK, end = Math.min(rows, i + BLOCK); i < end; i++)
+                        for (int j = 0, o = i * dim; j < dim; j++) s[j] += data[o + j];
+                    return s;
+                })
+                .reduce(new double[dim], Projection::sum);
+        for (int j = 0; j < dim; j++) mean[j] /= rows;
+
+        /* só o triângulo superior; espelhado no fim */
+        double[] cov = blocks(blocks).mapToObj(b -> {
+                    double[] c = new double[dim * dim];
+                    double[] x = new double[dim];
+                    for (int i = b * BLOCK, end = Math.min(rows, i + BLOCK); i < end; i++) {
+                        for (int j = 0, o = i * dim; j < dim; j++) x[j] = data[o + j] - mean[j];
+                        for (int p = 0; p < dim; p++) {
+                            double xp = x[p];
+                            if (xp == 0) continue;
+                            for (int q = p, o = p * dim; q < dim; q++) c[o + q] += xp * x[q];
+                        }
+                    }
+                    return c;
+                })
+                .reduce(new double[dim * dim], Projection::sum);
+        for (int p = 0; p < dim; p++)
+            for (int q = p; q < dim; q++) cov[q * dim + p] = cov[p * dim + q] /= (rows - 1);
+
+        SymmetricEigen eig = SymmetricEigen.of(cov, dim);
+        double[] p = new double[k * dim];
+        for (int r = 0; r < k; r++) System.arraycopy(eig.vectors[r], 0, p, r * dim, dim);
+        return new Projection(dim, k, p, mean);
+    }
+
+    /* ================= aplicação ================= */
+
+    /** Projeta todas as {@code rows} linhas de {@code data} em {@code out} (rows × k). */
+    public void apply(double[] data, int rows, double[] out) {
+        check(data, rows, out);
+        int blocks = (rows + BLOCK - 1) / BLOCK;
+        blocks(blocks).forEach(b -> {
+            double[] x = new double[dim];
+            for (int i = b * BLOCK, end = Math.min(rows, i + BLOCK); i < end; i++) project(data, i, x, out);
+        });
+    }
+
+    /** Reprojeta só as linhas marcadas em {@code changed}. */
+    public void apply(double[] data, int rows, BitSet changed, double[] out) {
+        check(data, rows, out);
+        int[] idx = changed.stream().takeWhile(i -> i < rows).toArray();
+        int blocks = (idx.length + BLOCK - 1) / BLOCK;
+        blocks(blocks).forEach(b -> {
+            double[] x = new double[dim];
+            for (int t = b * BLOCK, end = Math.min(idx.length, t + BLOCK); t < end; t++) project(data, idx[t], x, out);
+        });
+    }
+
+    /** Projeção de um único vetor de dimensão d. */
+    public double[] apply(double[] v) {
+        if (v.length != dim) throw new IllegalArgumentException("Vetor deve ter dimensão " + dim + ".");
+        double[] out = new double[k];
+        project(v, 0, new double[dim], out);
+        return out;
+    }
+
+    /* ------------ helpers ------------ */
+
+    private void project(double[] data, int row, double[] x, double[] out) {
+        for (int j = 0, o = row * dim; j < dim; j++) x[j] = data[o + j] - center[j];
+        for (int r = 0; r < k; r++) {
+            double s = 0;
+            for (int j = 0, o = r * dim; j < dim; j++) s += matrix[o + j] * x[j];
+            out[row * k + r] = s;
+        }
+    }
+
+    private void check(double[] data, int rows, double[] out) {
+        if (data.length < rows * dim || out.length < rows * k)
+            throw new IllegalArgumentException("Arrays menores que " + rows + " linhas.");
+    }
+
+    private static IntStream blocks(int blocks) {
+        IntStream s = IntStream.range(0, blocks);
+        return blocks > 1 ? s.parallel() : s;
+    }
+
+    private static double[] sum(double[] a, double[] b) {
+        double[] r = a.clone();
+        for (int i = 0; i < r.length; i++) r[i] += b[i];
+        return r;
+    }
+}
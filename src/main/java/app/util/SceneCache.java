@@ -0,0 +1,41 @@
+package app.util;
+
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Materiais e malhas imutáveis compartilhados por todas as cenas 3D (todas as abas).
+ *
+ * <p>Um {@link PhongMaterial} ou uma {@link TriangleMesh} pode ser usado por vários nós ao mesmo
+ * tempo, então não há motivo para cada seta, eixo ou aba ter a sua cópia. Quem recebe um objeto
+ * daqui não deve alterá-lo. Uso só na thread FX.</p>
+ */
+public final class SceneCache {
+    /** Malhas de cone com tamanhos diferentes guardadas ao mesmo tempo. */
+    private static final int MAX_CONES = 64;
+
+    private static final Map<Color, PhongMaterial> materials = new HashMap<>();
+    private static final Map<String, TriangleMesh> cones = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<String, TriangleMesh> e) {
+            return size() > MAX_CONES;
+        }
+    };
+
+    private SceneCache() {}
+
+    /** Material difuso de cor {@code color}. */
+    public static PhongMaterial material(Color color) {
+        return materials.computeIfAbsent(color, PhongMaterial::new);
+    }
+
+    /** Malha de cone (ver {@link Cone}); use raio e altura 1 com um {@code Scale} para tamanhos variáveis. */
+    public static TriangleMesh cone(float radius, float height, int divisions) {
+        return cones.computeIfAbsent(radius + "/" + height + "/" + divisions,
+                _ -> Cone.buildMesh(radius, height, divisions));
+    }
+}
@@ -0,0 +1,90 @@
+package app.util;
+
+import javafx.scene.paint.Color;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.Arrays;
+
+/**
+ * Sólido translúcido numa única {@link TriangleMesh}: o fecho convexo das pontas dos vetores ou
+ * o paralelepípedo gerado por três deles. Coordenadas já na cena, (x, −y, z) vezes a escala,
+ * como em {@link ArrowMesh}. As faces aparecem dos dois lados, porque o sólido pode ser plano.
+ */
+public class SolidMesh extends MeshView {
+    private final TriangleMesh mesh = new TriangleMesh();
+    private float[] points = new float[3 * 8];
+    private int[] faces = new int[6 * 12];
+    private int[] remap = new int[0];                  // índice do ponto do fecho → vértice da malha
+
+    public SolidMesh(Color color) {
+        mesh.getTexCoords().addAll(0, 0);
+        setMesh(mesh);
+        setMaterial(SceneCache.material(color));
+        setCullFace(CullFace.NONE);
+        setMouseTransparent(true);
+    }
+
+    /** Faces de {@code hull}; só os pontos que são vértices entram na malha. */
+    public void setHull(ConvexHull3D hull, double scale) {
+        int[] tri = hull.faces();
+        if (remap.length < hull.size()) remap = new int[Math.max(hull.size(), remap.length * 2)];
+        ensure(tri.length, tri.length);
+        int count = 0;
+        for (int k = 0; k < tri.length; k++) {
+            int p = tri[k];
+            if (remap[p] == 0) {                       // 0 = ainda não visto; vértice v guardado como v + 1
+                put(count, hull.x(p), hull.y(p), hull.z(p), scale);
+                remap[p] = ++count;
+            }
+            faces[2 * k] = remap[p] - 1;
+            faces[2 * k + 1] = 0;
+        }
+        for (int p : tri) remap[p] = 0;
+        commit(count, tri.length / 3);
+    }
+
+    /** Paralelepípedo {s·a + t·b + u·c : s, t, u ∈ [0, 1]} (a, b, c com três componentes). */
+    public void setParallelepiped(double[] a, double[] b, double[] c, double scale) {
+        ensure(36, 8);
+        for (int v = 0; v < 8; v++) {
+            double s = v & 1, t = (v >> 1) & 1, u = (v >> 2) & 1;
+            put(v, s * a[0] + t * b[0] + u * c[0], s * a[1] + t * b[1] + u * c[1], s * a[2] + t * b[2] + u * c[2], scale);
+        }
+        int f = 0;
+        for (int d = 0; d < 3; d++) {                  // par de faces com a coordenada d fixa
+            int e = 1 << ((d + 1) % 3), g = 1 << ((d + 2) % 3);
+            for (int side = 0; side < 2; side++) {
+                int base = side << d;
+                f = quad(f, base, base | e, base | e | g, base | g);
+            }
+        }
+        commit(8, 12);
+    }
+
+    private int quad(int f, int v0, int v1, int v2, int v3) {
+        for (int v : new int[] { v0, v1, v2, v0, v2, v3 }) {
+            faces[f++] = v;
+            faces[f++] = 0;
+        }
+        return f;
+    }
+
+    private void put(int vertex, double x, double y, double z, double scale) {
+        points[3 * vertex] = (float) (x * scale);
+        points[3 * vertex + 1] = (float) (-y * scale);
+        points[3 * vertex + 2] = (float) (z * scale);
+    }
+
+    private void ensure(int faceVertices, int vertices) {
+        if (points.length < 3 * vertices) points = Arrays.copyOf(points, Math.max(3 * vertices, points.length * 2));
+        if (faces.length < 2 * faceVertices) faces = Arrays.copyOf(faces, Math.max(2 * faceVertices, faces.length * 2));
+    }
+
+    private void commit(int vertices, int triangles) {
+        mesh.getPoints().setAll(points, 0, 3 * vertices);
+        mesh.getFaces().setAll(faces, 0, 6 * triangles);
+        setVisible(triangles > 0);
+    }
+}
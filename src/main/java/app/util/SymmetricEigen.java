@@ -0,0 +1,89 @@
+package app.util;
+
+/**
+ * Autovalores e autovetores de uma matriz simétrica pelo método de Jacobi cíclico.
+ * Estável e simples; adequado para matrizes pequenas (covariâncias 3×3 até algumas centenas).
+ * A matriz é escalada por uma potência de 2 antes das rotações (sem erro de arredondamento),
+ * para que a soma dos quadrados do critério de parada não estoure com entradas enormes nem
+ * vire zero com entradas minúsculas.
+ */
+public final class SymmetricEigen {
+    private static final int MAX_SWEEPS = 64;
+
+    /** Autovalores em ordem decrescente. */
+    public final double[] values;
+    /** {@code vectors[k]} é o autovetor unitário de {@code values[k]}. */
+    public final double[][] vectors;
+
+    private SymmetricEigen(double[] values, double[][] vectors) {
+        this.values = values;
+        this.vectors = vectors;
+    }
+
+    /** @param a matriz n×n simétrica em ordem de linhas (não é alterada) */
+    public static SymmetricEigen of(double[] a, int n) {
+        if (a.length != n * n) throw new IllegalArgumentException("Matriz deve ser " + n + "×" + n + ".");
+        double max = 0;
+        for (double x : a) max = Math.max(max, Math.abs(x));
+        int e = max > 0 && Double.isFinite(max) ? Math.getExponent(max) : 0;
+        double[] m = new double[n * n];
+        for (int i = 0; i < m.length; i++) m[i] = Math.scalb(a[i], -e);
+        double[] v = new double[n * n];
+        for (int i = 0; i < n; i++) v[i * n + i] = 1;
+
+        double norm = 0;
+        for (double x : m) norm += x * x;
+
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double off = 0;
+            for (int p = 0; p < n; p++)
+                for (int q = p + 1; q < n; q++) off += m[p * n + q] * m[p * n + q];
+            if (off <= 1e-30 * norm) break;
+
+            for (int p = 0; p < n; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    double apq = m[p * n + q];
+                    if (apq == 0) continue;
+                    double theta = (m[q * n + q] - m[p * n + p]) / (2 * apq);
+                    double t = theta == 0 ? 1
+                            : Math.signum(theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1));
+                    double c = 1 / Math.sqrt(t * t + 1), s = t * c;
+                    rotate(m, v, n, p, q, c, s);
+                }
+            }
+        }
+
+        /* ordena por autovalor decrescente */
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        java.util.Arrays.sort(order, (i, j) -> Double.compare(m[j * n + j], m[i * n + i]));
+
+        double[] values = new double[n];
+        double[][] vectors = new double[n][n];
+        for (int k = 0; k < n; k++) {
+            int col = order[k];
+            values[k] = Math.scalb(m[col * n + col], e);
+            for (int i = 0; i < n; i++) vectors[k][i] = v[i * n + col];
+        }
+        return new SymmetricEigen(values, vectors);
+    }
+
+    /** m ← Jᵀ·m·J e v ← v·J, com J a rotação (c, s) no plano (p, q). */
+    private static void rotate(double[] m, double[] v, int n, int p, int q, double c, double s) {
+        for (int k = 0; k < n; k++) {
+            double mkp = m[k * n + p], mkq = m[k * n + q];
+            m[k * n + p] = c * mkp - s * mkq;
+            m[k * n + q] = s * mkp + c * mkq;
+        }
+        for (int k = 0; k < n; k++) {
+            double mpk = m[p * n + k], mqk = m[q * n + k];
+            m[p * n + k] = c * mpk - s * mqk;
+            m[q * n + k] = s * mpk + c * mqk;
+        }
+        for (int k = 0; k < n; k++) {
+            double vkp = v[k * n + p], vkq = v[k * n + q];
+            v[k * n + p] = c * vkp - s * vkq;
+            v[k * n + q] = s * vkp + c * vkq;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package app.util;
+
+import app.flow.ParticleSystem;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.DrawMode;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+/**
+ * Rastros de todas as partículas de um {@link ParticleSystem} numa única malha desenhada em
+ * arestas: cada segmento é um triângulo degenerado (a, b, b). A topologia só muda com o número
+ * de partículas ou o comprimento dos rastros; a cada quadro reescrevem-se apenas os pontos, e
+ * num rastro ainda curto os pontos que faltam repetem o último válido. Coordenadas na cena,
+ * (x, −y, z) vezes a escala, como em {@link ArrowMesh}.
+ */
+public class TrailMesh extends MeshView {
+    /**
+     * Teto de partículas × pontos de rastro: um milhão de pontos são 12 MB de coordenadas e
+     * 24 MB de faces, mais as cópias da {@link TriangleMesh}. Quem configura as partículas
+     * limita os controles a isto (ver FlowPanel).
+     */
+    public static final int MAX_POINTS = 1_000_000;
+
+    private final TriangleMesh mesh = new TriangleMesh();
+    private float[] points = new float[0];
+    private int particles = -1, length = -1;
+
+    public TrailMesh(Color color) {
+        mesh.getTexCoords().addAll(0, 0);
+        setMesh(mesh);
+        setMaterial(SceneCache.material(color));
+        setDrawMode(DrawMode.LINE);
+        setCullFace(CullFace.NONE);
+        setMouseTransparent(true);
+    }
+
+    public void update(ParticleSystem ps, double scale) {
+        int n = ps.count(), slots = ps.slots(), t = slots - 1;
+        if (n != particles || t != length) topology(n, t);
+        float[] trails = ps.trails();
+        int head = ps.head();
+        float s = (float) scale;
+        for (int i = 0, o = 0; i < n; i++) {
+            int len = Math.max(1, ps.length(i)), base = i * slots;
+            for (int j = 0; j < t; j++, o += 3) {
+                int slot = head - Math.min(j, len - 1);
+                if (slot < 0) slot += slots;
+                int p = (base + slot) * 3;
+                points[o] = trails[p] * s;
+                points[o + 1] = -trails[p + 1] * s;
+                points[o + 2] = trails[p + 2] * s;
+            }
+        }
+        mesh.getPoints().setAll(points, 0, 3 * n * t);
+        setVisible(n > 0 && t > 1);
+    }
+
+    private void topology(int n, int t) {
+        particles = n;
+        length = t;
+        points = new float[3 * n * t];
+        int segments = Math.max(0, t - 1);
+        int[] faces = new int[6 * n * segments];
+        int f = 0;
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < segments; j++) {
+                int a = i * t + j;
+                faces[f] = a;
+                faces[f + 2] = a + 1;
+                faces[f + 4] = a + 1;                  // texturas em 0; (a, a+1, a+1) vira um segmento
+                f += 6;
+            }
+        mesh.getPoints().setAll(points);
+        mesh.getFaces().setAll(faces);
+    }
+}
@@ -94,16 +94,27 @@ public final class VectorMath {
         return subtract(v.toArray(), w.toArray());
     }
 
+    /*
+     * Produtos e normas lidos direto das componentes, sem copiar para um array: num mundo
+     * float32 cada componente chega aqui já como double e a soma é feita em double.
+     */
+
     public static double dot(ObservableVector v, ObservableVector w) {
-        return dot(v.toArray(), w.toArray());
+        if (v.dimension() != w.dimension())
+            throw new IllegalArgumentException("Vetores devem ter a mesma dimensão.");
+        double sum = 0;
+        for (int i = 0; i < v.dimension(); i++) sum += v.get(i) * w.get(i);
+        return sum;
     }
 
     public static double magnitude(ObservableVector v) {
-        return magnitude(v.toArray());
+        return Math.sqrt(magnitudeSquared(v));
     }
 
     public static double magnitudeSquared(ObservableVector v) {
-        return magnitudeSquared(v.toArray());
+        double sum = 0;
+        for (int i = 0; i < v.dimension(); i++) sum += v.get(i) * v.get(i);
+        return sum;
     }
 
     public static double[] normalize(ObservableVector v) {
@@ -119,7 +130,12 @@ public final class VectorMath {
     }
 
     public static double angleRad(ObservableVector v, ObservableVector w) {
-        return angleRad(v.toArray(), w.toArray());
+        double magV = magnitude(v);
+        double magW = magnitude(w);
+        if (magV == 0 || magW == 0) return 0;
+        double cos = dot(v, w) / (magV * magW);
+        cos = Math.max(-1, Math.min(1, cos)); // evitar erros de arredondamento
+        return Math.acos(cos);
     }
 
     public static double angleDeg(ObservableVector v, ObservableVector w) {
@@ -1,15 +1,27 @@
 package app.view;
 
+import app.flow.ParticleSystem;
 import app.model.ObservableVector;
+import app.model.VectorStats;
 import app.model.VectorWorld;
+import app.util.ConvexHull2D;
+import app.util.NiceScale;
+import app.util.Predicates;
+import app.util.SymmetricEigen;
 import app.util.VectorMath;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ListChangeListener;
 import javafx.scene.Node;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Renderizador 2D para N vetores.
@@ -24,16 +36,62 @@ public class Canvas2D extends Canvas implements VectorCanvas {
     private final BooleanProperty showAngle  = new SimpleBooleanProperty(false);
     private final BooleanProperty showTicks  = new SimpleBooleanProperty(false);
     private final BooleanProperty showGrid   = new SimpleBooleanProperty(false);
+    private final BooleanProperty showStats  = new SimpleBooleanProperty(false);
+    private final BooleanProperty showHull   = new SimpleBooleanProperty(false);
+    private final BooleanProperty showSpan   = new SimpleBooleanProperty(false);
+
+    private VectorStats stats;
+
+    /* rótulos: textos formatados só quando mudam, pixels copiados do atlas */
+    private final LabelAtlas atlas = new LabelAtlas(Font.getDefault());
+    private final LabelCache vectorLabels = new LabelCache();
+    private final LabelCache resultLabel = new LabelCache(_ -> "R");
+    private final Map<Long, String> tickLabels = new HashMap<>();
+    private double tickLabelsStep = Double.NaN;
+    private double lastAngle = Double.NaN;
+    private String lastAngleLabel;
 
     private double currentScale = 30;
+    private boolean drawPending, staleWhileInactive;
+    private long drawnStamp = -1;                    // marca do mundo no último desenho
+
+    /* fecho convexo das pontas: recalculado só quando o mundo muda, não a cada zoom */
+    private double[] tips = new double[0];
+    private int[] hull2D = new int[0];
+    private long hullStamp = -1;
+
+    /* partículas do campo de fluxo: redesenho a cada passo publicado */
+    private ParticleSystem particles;
+    private final Runnable particleFrame = this::requestDraw;
+    /** Partículas por caminho: um único traço por lote em vez de um por partícula. */
+    private static final int PARTICLE_BATCH = 1024;
+
+    /* ouvintes do modelo, removidos enquanto o canvas está inativo */
+    private boolean active = true;
+    private final ListChangeListener<ObservableVector> listListener = _ -> requestDraw();
+    private final VectorWorld.EditListener editListener = (_, _, _, _) -> requestDraw();
+
+    /* zoom/pan: enquanto autoFit, a escala acompanha o maior vetor e a origem fica no centro */
+    private static final double MIN_SCALE = 1e-12, MAX_SCALE = 1e12;
+    /** Distância mínima em px entre linhas da grade / marcas: limita o custo ao tamanho da tela. */
+    private static final double MIN_GRID_PX = 40;
+    /** Proteção extra: nunca mais linhas que isto por eixo (ex.: canvas enorme). */
+    private static final long MAX_LINES = 500;
+    /** Maior índice de múltiplo com todos os inteiros vizinhos representáveis em double. */
+    private static final double EXACT_MULTIPLES = 0x1p53;
+    private boolean autoFit = true;
+    private double centerX, centerY;                 // ponto do mundo no centro do canvas
+    private double dragX, dragY;
 
     public Canvas2D() {
         super(600, 600);
         setStyle("-fx-border-color:#bbb; -fx-border-width:1;");
 
         // redesenha semopre que mudar
-        widthProperty().addListener(_ -> draw());
-        heightProperty().addListener(_ -> draw());
+        widthProperty().addListener(_ -> { if (active) draw(); else staleWhileInactive = true; });
+        heightProperty().addListener(_ -> { if (active) draw(); else staleWhileInactive = true; });
+
+        initZoomPan();
     }
 
     /* =========== Propriedades de exibição =========== */
@@ -43,6 +101,19 @@ public class Canvas2D extends Canvas implements VectorCanvas {
     public BooleanProperty showAngleProperty (){ return showAngle;  }
     public BooleanProperty showTicksProperty (){ return showTicks;  }
     public BooleanProperty showGridProperty  (){ return showGrid;   }
+    public BooleanProperty showStatsProperty (){ return showStats;  }
+    public BooleanProperty showHullProperty  (){ return showHull;   }
+    public BooleanProperty showSpanProperty  (){ return showSpan;   }
+
+    public void setStats(VectorStats stats) { this.stats = stats; requestDraw(); }
+
+    /** Desenha os rastros de {@code ps} sob os vetores; {@code null} para de desenhar. */
+    public void setParticles(ParticleSystem ps) {
+        if (particles != null) particles.removeFrameListener(particleFrame);
+        particles = ps;
+        if (ps != null) ps.addFrameListener(particleFrame);
+        requestDraw();
+    }
 
 
     /* ============== VectorCanvas ============== */
@@ -51,79 +122,174 @@ public class Canvas2D extends Canvas implements VectorCanvas {
         this.world = world;
 
         /* ouvintes na lista e nos vetores */
-        world.getVectors().addListener((ListChangeListener<ObservableVector>) c -> {
-            while (c.next()) {
-                if (c.wasAdded()) {
-                    for (ObservableVector v : c.getAddedSubList()) {
-                        v.xProperty().addListener(_ -> draw());
-                        v.yProperty().addListener(_ -> draw());
-                    }
-                }
-            }
-            draw();
-        });
-        world.getVectors().forEach(v -> {
-            v.xProperty().addListener(_ -> draw());
-            v.yProperty().addListener(_ -> draw());
-        });
+        if (active) attach();
 
         /* redesenhar quando qualquer flag mudar */
-        showResult.addListener(_ -> draw());
-        showCoord .addListener(_ -> draw());
-        showOrtho .addListener(_ -> draw());
-        showAngle .addListener(_ -> draw());
-        showTicks .addListener(_ -> draw());
-        showGrid  .addListener(_ -> draw());
+        showResult.addListener(_ -> requestDraw());
+        showCoord .addListener(_ -> requestDraw());
+        showOrtho .addListener(_ -> requestDraw());
+        showAngle .addListener(_ -> requestDraw());
+        showTicks .addListener(_ -> requestDraw());
+        showGrid  .addListener(_ -> requestDraw());
+        showStats .addListener(_ -> requestDraw());
+        showHull  .addListener(_ -> requestDraw());
+        showSpan  .addListener(_ -> requestDraw());
 
         draw();
     }
 
     @Override public Node getView() { return this; }
 
+    @Override public void setActive(boolean active) {
+        if (this.active == active) return;
+        this.active = active;
+        if (world == null) return;
+        if (active) {
+            attach();
+            if (staleWhileInactive || world.stamp() != drawnStamp) requestDraw();   // senão a imagem ainda vale
+            staleWhileInactive = false;
+        } else {
+            world.getVectors().removeListener(listListener);
+            world.removeEditListener(editListener);
+        }
+    }
+
+    private void attach() {
+        world.getVectors().addListener(listListener);
+        world.addEditListener(editListener);
+    }
+
     /* ================= Desenho principal ================= */
 
+    /** Agenda um único redesenho para o próximo pulso, por mais que o modelo mude até lá. */
+    private void requestDraw() {
+        if (!active) staleWhileInactive = true;
+        if (drawPending || !active) return;
+        drawPending = true;
+        Platform.runLater(() -> {
+            drawPending = false;
+            draw();
+        });
+    }
+
     private void draw() {
         GraphicsContext g = getGraphicsContext2D();
         double W = getWidth(), H = getHeight();
-        double cx = W / 2, cy = H / 2;
 
         g.setFill(Color.WHITE); g.fillRect(0, 0, W, H);
         if (world == null) return;
+        drawnStamp = world.stamp();
+        atlas.beginFrame();
+
+        /* escala dinâmica (até o usuário dar zoom ou arrastar) */
+        if (autoFit) {
+            double max = 1;
+            for (ObservableVector v : world.getVectors())
+                max = Math.max(max, Math.max(Math.abs(v.getX()), Math.abs(v.getY())));
+            double margin = 80;
+            currentScale = max == 0 ? 40 : Math.min((W/2 - margin) / max, (H/2 - margin) / max);
+            currentScale = Math.max(MIN_SCALE, currentScale);
+            centerX = centerY = 0;
+        }
 
-        /* escala dinâmica */
-        double max = 1;
-        for (ObservableVector v : world.getVectors())
-            max = Math.max(max, Math.max(Math.abs(v.getX()), Math.abs(v.getY())));
-        double margin = 80;
-        currentScale = max == 0 ? 40 : Math.min((W/2 - margin) / max, (H/2 - margin) / max);
+        /* origem na tela (pode estar fora dela) */
+        double ox = sx(0), oy = sy(0);
 
-        if (showGrid.get()) drawGrid(g, cx, cy);
+        if (showGrid.get()) drawGrid(g);
         g.setStroke(Color.LIGHTGRAY); g.setLineWidth(1);
-        g.strokeLine(cx, 0, cx, H); g.strokeLine(0, cy, W, cy);
-        if (showTicks.get()) drawTicks(g, cx, cy);
+        if (ox >= 0 && ox <= W) g.strokeLine(ox, 0, ox, H);
+        if (oy >= 0 && oy <= H) g.strokeLine(0, oy, W, oy);
+        if (showTicks.get()) drawTicks(g, ox, oy);
+
+        if (showSpan.get()) drawSpan(g);
+        if (showHull.get()) drawHull(g);
+        if (particles != null && particles.count() > 0) drawParticles(g);
 
         /* desenha vetores */
         int i = 0;
         for (ObservableVector v : world.getVectors()) {
-            drawVector(g, cx, cy, v.getX(), v.getY(), pickColor(i), "v" + (i + 1));
+            drawVector(g, v.getX(), v.getY(), pickColor(i), vectorLabels, i);
             i++;
         }
 
+        if (showStats.get() && stats != null) drawStats(g);
+
         /* operações envolvendo dois vetores */
         if (world.getVectors().size() >= 2) {
             var a = world.getVectors().get(0);
             var b = world.getVectors().get(1);
 
             if (showResult.get()) {
-                drawVector(g, cx, cy, a.getX()+b.getX(), a.getY()+b.getY(), Color.GREEN, "R");
+                drawVector(g, a.getX()+b.getX(), a.getY()+b.getY(), Color.GREEN, resultLabel, 0);
             }
 
             double ang = VectorMath.angleDeg(a, b);
-            boolean ortho = Math.abs(VectorMath.dot(a, b)) < 1e-6;
+            boolean ortho = Predicates.orthogonal(a.toArray(), b.toArray());
+
+            if (showAngle.get()) drawAngleArc(g, ox, oy, a.getX(),a.getY(), b.getX(),b.getY(), ang);
+            if (showOrtho.get() && ortho) drawOrthoMarker(g, ox, oy);
+        }
+        if (atlas.deferred()) requestDraw();          // glifos que ficaram para o próximo quadro
+    }
+
+    /* ================== Zoom, pan e transformação mundo → tela ================== */
+
+    /** Subtrai o centro antes de escalar: não perde precisão com coordenadas enormes. */
+    private double sx(double x) { return getWidth()  / 2 + (x - centerX) * currentScale; }
+    private double sy(double y) { return getHeight() / 2 - (y - centerY) * currentScale; }
+
+    private void initZoomPan() {
+        /* roda: zoom mantendo fixo o ponto sob o cursor */
+        setOnScroll(e -> {
+            if (e.getDeltaY() == 0) return;
+            double wx = centerX + (e.getX() - getWidth() / 2) / currentScale;
+            double wy = centerY - (e.getY() - getHeight() / 2) / currentScale;
+            double s = Math.clamp(currentScale * Math.exp(e.getDeltaY() * 0.0025), MIN_SCALE, MAX_SCALE);
+            autoFit = false;
+            currentScale = s;
+            centerX = wx - (e.getX() - getWidth() / 2) / s;
+            centerY = wy + (e.getY() - getHeight() / 2) / s;
+            requestDraw();
+        });
+        /* arrastar: pan */
+        setOnMousePressed(e -> { dragX = e.getX(); dragY = e.getY(); });
+        setOnMouseDragged(e -> {
+            autoFit = false;
+            centerX -= (e.getX() - dragX) / currentScale;
+            centerY += (e.getY() - dragY) / currentScale;
+            dragX = e.getX(); dragY = e.getY();
+            requestDraw();
+        });
+        /* duplo clique: volta a enquadrar todos os vetores */
+        setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                autoFit = true;
+                requestDraw();
+            }
+        });
+    }
 
-            if (showAngle.get()) drawAngleArc(g, cx, cy, a.getX(),a.getY(), b.getX(),b.getY(), ang);
-            if (showOrtho.get() && ortho) drawOrthoMarker(g, cx, cy);
+    /**
+     * Segmento recortado a uma margem em volta do canvas (Liang–Barsky). Evita mandar ao
+     * pipeline coordenadas gigantes quando o zoom está muito aproximado.
+     */
+    private boolean strokeClipped(GraphicsContext g, double x0, double y0, double x1, double y1) {
+        double pad = 50, minX = -pad, minY = -pad, maxX = getWidth() + pad, maxY = getHeight() + pad;
+        double dx = x1 - x0, dy = y1 - y0, t0 = 0, t1 = 1;
+        double[] p = { -dx, dx, -dy, dy };
+        double[] q = { x0 - minX, maxX - x0, y0 - minY, maxY - y0 };
+        for (int k = 0; k < 4; k++) {
+            if (p[k] == 0) {
+                if (q[k] < 0) return false;
+                continue;
+            }
+            double t = q[k] / p[k];
+            if (p[k] < 0) t0 = Math.max(t0, t);
+            else          t1 = Math.min(t1, t);
+            if (t0 > t1) return false;
         }
+        g.strokeLine(x0 + t0 * dx, y0 + t0 * dy, x0 + t1 * dx, y0 + t1 * dy);
+        return true;
     }
 
     /* ================== Métodos auxiliares de desenho ================== */
@@ -137,52 +303,81 @@ public class Canvas2D extends Canvas implements VectorCanvas {
         };
     }
 
-    private void drawVector(GraphicsContext g, double ox, double oy,
-                            double x, double y, Color color,String label) {
-        double ex = ox + x * currentScale, ey = oy - y * currentScale;
+    private void drawVector(GraphicsContext g, double x, double y, Color color, LabelCache labels, int slot) {
+        double ox = sx(0), oy = sy(0);
+        double ex = sx(x), ey = sy(y);
         g.setStroke(color);
         g.setLineWidth(2);
-        g.strokeLine(ox, oy, ex, ey);
+        if (!strokeClipped(g, ox, oy, ex, ey)) return;
+        if (ex < -50 || ex > getWidth() + 50 || ey < -50 || ey > getHeight() + 50) return;   // ponta fora da tela
 
         /* ponta da seta */
         double ang = Math.atan2(oy - ey, ex - ox), len = 10, off = Math.toRadians(20);
         g.strokeLine(ex, ey, ex - len * Math.cos(ang - off), ey + len * Math.sin(ang - off));
         g.strokeLine(ex, ey, ex - len * Math.cos(ang + off), ey + len * Math.sin(ang + off));
 
-        g.setFill(color.darker());
-        if (showCoord.get()) {
-            g.fillText(label + String.format(" (%.1f, %.1f)", x, y), ex + 4, ey - 4);
-        } else {
-            g.fillText(label, ex + 4, ey - 4);
-        }
+        String label = labels.label(slot, showCoord.get() ? 2 : 0, 1, x, y, 0);
+        atlas.draw(g, label, color.darker(), ex + 4, ey - 4);
     }
 
-    private void drawGrid(GraphicsContext g, double cx, double cy) {
+    /** Linhas a cada passo 1-2-5 que mantém pelo menos {@link #MIN_GRID_PX} entre elas. */
+    private void drawGrid(GraphicsContext g) {
+        double W = getWidth(), H = getHeight();
+        double step = gridStep(MIN_GRID_PX, Math.max(W, H));
         g.setStroke(Color.web("#f0f0f0")); g.setLineWidth(1);
-        int maxY = (int) Math.ceil(getWidth() / (2 * currentScale));
-        int maxX = (int) Math.ceil(getHeight() / (2 * currentScale));
-        for (int i = -maxX; i <= maxX; i++) {
-            g.strokeLine(cx + i * currentScale, 0, cx + i * currentScale, getHeight());
-        }
-        for (int j = -maxY; j <= maxY; j++) {
-            g.strokeLine(0, cy - j * currentScale, getWidth(), cy - j * currentScale);
-        }
+        if (drawableMultiples(worldX(0), worldX(W), step))
+            for (long k = firstMultiple(worldX(0), step), last = lastMultiple(worldX(W), step); k <= last; k++) {
+                double x = sx(k * step);
+                g.strokeLine(x, 0, x, H);
+            }
+        if (drawableMultiples(worldY(H), worldY(0), step))
+            for (long k = firstMultiple(worldY(H), step), last = lastMultiple(worldY(0), step); k <= last; k++) {
+                double y = sy(k * step);
+                g.strokeLine(0, y, W, y);
+            }
     }
 
-    private void drawTicks(GraphicsContext g, double cx, double cy) {
+    /** Marcas sobre os eixos (presos à borda quando a origem sai da tela). */
+    private void drawTicks(GraphicsContext g, double ox, double oy) {
+        double W = getWidth(), H = getHeight();
+        double step = gridStep(MIN_GRID_PX * 1.5, Math.max(W, H));
+        double ax = Math.clamp(ox, 0, W - 40), ay = Math.clamp(oy, 0, H - 20);
         g.setStroke(Color.GRAY); g.setLineWidth(1);
-        int maxX = (int) (getWidth() / (2 * currentScale));
-        int maxY = (int) (getHeight() / (2 * currentScale));
-        for (int i = -maxX; i <= maxX; i++) {
-            double x = cx + i * currentScale;
-            g.strokeLine(x, cy -4, x, cy + 4);
-            if (i != 0) g.fillText(Integer.toString(i), x - 4, cy + 16);
-        }
-        for (int j = -maxY; j <= maxY; j++) {
-            double y = cy - j * currentScale;
-            g.strokeLine(cx - 4, y, cx + 4, y);
-            if (j != 0) g.fillText(Integer.toString(j), cx + 6, y + 4);
-        }
+        if (drawableMultiples(worldX(0), worldX(W), step))
+            for (long k = firstMultiple(worldX(0), step), last = lastMultiple(worldX(W), step); k <= last; k++) {
+                double x = sx(k * step);
+                g.strokeLine(x, ay - 4, x, ay + 4);
+                if (k != 0) atlas.draw(g, tickLabel(k, step), Color.DIMGRAY, x - 4, ay + 16);
+            }
+        if (drawableMultiples(worldY(H), worldY(0), step))
+            for (long k = firstMultiple(worldY(H), step), last = lastMultiple(worldY(0), step); k <= last; k++) {
+                double y = sy(k * step);
+                g.strokeLine(ax - 4, y, ax + 4, y);
+                if (k != 0) atlas.draw(g, tickLabel(k, step), Color.DIMGRAY, ax + 6, y + 4);
+            }
+    }
+
+    private double worldX(double px) { return centerX + (px - getWidth()  / 2) / currentScale; }
+    private double worldY(double py) { return centerY - (py - getHeight() / 2) / currentScale; }
+
+    /**
+     * Os múltiplos de {@code step} em [lo, hi] cabem em long sem perder unidades (|k| ≤ 2^53)
+     * e são no máximo {@link #MAX_LINES}? Com zoom máximo longe da origem v/step passa de 2^63,
+     * o cast satura e o laço nunca terminaria: nesse caso grade e marcas não são desenhadas.
+     */
+    private static boolean drawableMultiples(double lo, double hi, double step) {
+        double first = Math.ceil(lo / step), last = Math.floor(hi / step);
+        return Math.max(Math.abs(first), Math.abs(last)) <= EXACT_MULTIPLES && last - first <= MAX_LINES;
+    }
+
+    private static long firstMultiple(double v, double step) { return (long) Math.ceil(v / step); }
+    private static long lastMultiple (double v, double step) { return (long) Math.floor(v / step); }
+
+    /** Passo do 1-2-5 que deixa no máximo {@link #MAX_LINES} linhas na largura {@code px}. */
+    private double gridStep(double minPixels, double px) {
+        double step = NiceScale.stepForPixels(minPixels, currentScale);
+        while (px / currentScale / step > MAX_LINES) step = NiceScale.step(step * 1.0001);
+        return step;
     }
 
     private void drawAngleArc(GraphicsContext g, double cx, double cy,
@@ -204,16 +399,111 @@ public class Canvas2D extends Canvas implements VectorCanvas {
             else g.lineTo(px, py);
         }
         g.stroke();
-        g.setFill(Color.DARKORANGE.darker());
         double mid = a1 + sweep / 2;
-        g.fillText(String.format("%.1fº", angle), cx + (4 + 10) * Math.cos(mid), cy - (r + 10) * Math.sin(mid));
+        if (angle != lastAngle) {
+            lastAngle = angle;
+            lastAngleLabel = String.format("%.1fº", angle);
+        }
+        atlas.draw(g, lastAngleLabel, Color.DARKORANGE.darker(), cx + (4 + 10) * Math.cos(mid), cy - (r + 10) * Math.sin(mid));
+    }
+
+    /** Paralelogramo gerado por v₁ e v₂. */
+    private void drawSpan(GraphicsContext g) {
+        var vs = world.getVectors();
+        if (vs.size() < 2) return;
+        double ax = vs.get(0).getX(), ay = vs.get(0).getY(), bx = vs.get(1).getX(), by = vs.get(1).getY();
+        double[] px = { sx(0), sx(ax), sx(ax + bx), sx(bx) };
+        double[] py = { sy(0), sy(ay), sy(ay + by), sy(by) };
+        g.setFill(Color.rgb(255, 140, 0, 0.15));
+        g.fillPolygon(px, py, 4);
+        g.setStroke(Color.rgb(255, 140, 0, 0.6)); g.setLineWidth(1);
+        g.strokePolygon(px, py, 4);
+    }
+
+    /** Polígono convexo das pontas dos vetores. */
+    private void drawHull(GraphicsContext g) {
+        var vs = world.getVectors();
+        int n = vs.size();
+        if (hullStamp != world.stamp()) {
+            if (tips.length < 2 * n) tips = new double[Math.max(2 * n, tips.length * 2)];
+            for (int i = 0; i < n; i++) {
+                tips[2 * i] = vs.get(i).getX();
+                tips[2 * i + 1] = vs.get(i).getY();
+            }
+            hull2D = ConvexHull2D.of(tips, n);
+            hullStamp = world.stamp();
+        }
+        int h = hull2D.length;
+        if (h < 2) return;
+        double[] px = new double[h], py = new double[h];
+        for (int k = 0; k < h; k++) {
+            px[k] = sx(tips[2 * hull2D[k]]);
+            py[k] = sy(tips[2 * hull2D[k] + 1]);
+        }
+        g.setFill(Color.rgb(70, 130, 180, 0.15));
+        g.fillPolygon(px, py, h);
+        g.setStroke(Color.rgb(70, 130, 180, 0.7)); g.setLineWidth(1.5);
+        g.strokePolygon(px, py, h);
+    }
+
+    /** Rastros como polilinhas, em lotes de {@link #PARTICLE_BATCH} partículas por caminho. */
+    private void drawParticles(GraphicsContext g) {
+        ParticleSystem ps = particles;
+        float[] trails = ps.trails();
+        int n = ps.count(), slots = ps.slots(), head = ps.head();
+        g.setStroke(Color.rgb(60, 90, 140, 0.45));
+        g.setLineWidth(1);
+        g.beginPath();
+        for (int i = 0; i < n; i++) {
+            int len = ps.length(i), base = i * slots;
+            for (int j = 0; j < len; j++) {
+                int slot = head - j;
+                if (slot < 0) slot += slots;
+                int p = (base + slot) * 3;
+                double x = sx(trails[p]), y = sy(trails[p + 1]);
+                if (j == 0) g.moveTo(x, y);
+                else g.lineTo(x, y);
+            }
+            if (len == 1) g.lineTo(sx(trails[(base + head) * 3]) + 1, sy(trails[(base + head) * 3 + 1]));
+            if ((i + 1) % PARTICLE_BATCH == 0) {
+                g.stroke();
+                g.beginPath();
+            }
+        }
+        g.stroke();
+    }
+
+    /** Vetor médio e eixos principais (±2σ) projetados no plano. */
+    private void drawStats(GraphicsContext g) {
+        if (stats.count() == 0) return;
+        double[] mu = stats.mean();
+        double mx = sx(mu[0]), my = sy(mu[1]);
+
+        SymmetricEigen pca = stats.principalAxes();
+        g.setStroke(Color.TEAL); g.setLineWidth(1.5);
+        for (int k = 0; k < 3; k++) {
+            double sd = 2 * Math.sqrt(Math.max(0, pca.values[k])) * currentScale;
+            double[] e = pca.vectors[k];
+            strokeClipped(g, mx - e[0] * sd, my + e[1] * sd, mx + e[0] * sd, my - e[1] * sd);
+        }
+        g.setFill(Color.TEAL);
+        g.fillOval(mx - 4, my - 4, 8, 8);
+        atlas.draw(g, "μ", Color.TEAL, mx + 6, my - 6);
     }
 
     private void drawOrthoMarker(GraphicsContext g, double cx, double cy) {
         g.setStroke(Color.MEDIUMPURPLE); g.setLineWidth(2);
         g.strokeOval(cx - 10, cy - 10, 20, 20);
-        g.setFill(Color.MEDIUMPURPLE);
-        g.fillText("⊥", cx + 12, cy - 12);
+        atlas.draw(g, "⊥", Color.MEDIUMPURPLE, cx + 12, cy - 12);
+    }
+
+    /** Texto da k-ésima marca; o cache vale enquanto o passo não muda. */
+    private String tickLabel(long k, double step) {
+        if (step != tickLabelsStep) {
+            tickLabels.clear();
+            tickLabelsStep = step;
+        }
+        return tickLabels.computeIfAbsent(k, _ -> NiceScale.format(k * step, step));
     }
 
 }
\ No newline at end of file
@@ -1,8 +1,17 @@
 package app.view;
 
+import app.util.ArrowMesh;
 import app.util.Cone;
+import app.util.ConvexHull3D;
+import app.util.SceneCache;
+import app.util.SolidMesh;
+import app.util.TrailMesh;
+import app.flow.ParticleSystem;
 import app.model.ObservableVector;
+import app.model.VectorStats;
 import app.model.VectorWorld;
+import app.util.SymmetricEigen;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.ListChangeListener;
@@ -17,11 +26,18 @@ import javafx.scene.paint.Color;
 import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.Box;
 import javafx.scene.shape.Cylinder;
+import javafx.scene.shape.Sphere;
+import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Scale;
 import javafx.scene.transform.Transform;
 import javafx.scene.transform.Translate;
 
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static app.util.VectorMath.magnitude;
 
 /**
@@ -36,6 +52,18 @@ public class Canvas3D extends StackPane implements VectorCanvas {
     private final Group gridGroup    = new Group();
     private final Group ticksGroup   = new Group();
     private final Group vectorsGroup = new Group();
+    private final Group statsGroup   = new Group();
+    private final Group labelsGroup  = new Group();
+    private final Group particlesGroup = new Group();   // fora do rebuild: muda a cada passo
+    private final Group solidsGroup  = new Group();     // translúcidos: por último
+
+    /* rótulos: glifos do atlas numa malha só, virada para a câmera */
+    private final BooleanProperty showCoord = new SimpleBooleanProperty(false);
+    public BooleanProperty showCoordProperty() { return showCoord; }
+    private final LabelAtlas atlas = new LabelAtlas(Font.getDefault());
+    private final LabelCache labels = new LabelCache();
+    private final LabelMesh labelMesh = new LabelMesh(atlas);
+    private boolean facePending;
 
     /* flags compartilháveis com Canvas2D */
     private final BooleanProperty showGrid  = new SimpleBooleanProperty(true);
@@ -43,6 +71,41 @@ public class Canvas3D extends StackPane implements VectorCanvas {
     public BooleanProperty showGridProperty()  { return showGrid;  }
     public BooleanProperty showTicksProperty() { return showTicks; }
 
+    /* sobreposição de estatísticas (média e eixos principais) */
+    private final BooleanProperty showStats = new SimpleBooleanProperty(false);
+    private VectorStats stats;
+    public BooleanProperty showStatsProperty() { return showStats; }
+    public void setStats(VectorStats stats) { this.stats = stats; requestRebuild(); }
+
+    /* setas numa malha por cor (em vez de um Group por vetor) */
+    public static final int AUTO_MERGE_THRESHOLD = 2000;
+    private final BooleanProperty mergedArrows = new SimpleBooleanProperty(false);
+    public BooleanProperty mergedArrowsProperty() { return mergedArrows; }
+    private final Map<Color, ArrowMesh> arrowMeshes = new LinkedHashMap<>();
+    private ArrowMesh[] meshOf = new ArrowMesh[0];     // por índice no mundo
+    private int[] slotOf = new int[0];
+    private final BitSet changed = new BitSet();
+    private long arrowsStamp = -1;                     // marca do mundo refletida nas malhas
+    private boolean mergedActive, arrowUpdatePending;
+
+    /* fecho convexo das pontas e paralelepípedo de v₁, v₂, v₃ */
+    private final BooleanProperty showHull = new SimpleBooleanProperty(false);
+    private final BooleanProperty showSpan = new SimpleBooleanProperty(false);
+    public BooleanProperty showHullProperty() { return showHull; }
+    public BooleanProperty showSpanProperty() { return showSpan; }
+    private final ConvexHull3D hull = new ConvexHull3D();
+    private final SolidMesh hullMesh = new SolidMesh(Color.rgb(70, 130, 180, 0.25));
+    private final SolidMesh spanMesh = new SolidMesh(Color.rgb(255, 140, 0, 0.2));
+    private final BitSet hullChanged = new BitSet();
+    private long hullStamp = -1;                       // marca do mundo refletida no fecho
+    private boolean hullStale = true;                  // índices mudaram: reconstruir do zero
+    private int hullKnown;                             // vetores já no fecho ou acrescentados no fim
+
+    /* rastros das partículas do campo de fluxo, numa única malha de linhas */
+    private ParticleSystem particles;
+    private final TrailMesh trailMesh = new TrailMesh(Color.rgb(60, 90, 140));
+    private final Runnable particleFrame = () -> { if (this.active) updateParticles(); };
+
     /* câmera orbit */
     private final Rotate rotateX = new Rotate(-30, Rotate.X_AXIS);
     private final Rotate rotateY = new Rotate(-45, Rotate.Y_AXIS);
@@ -51,6 +114,17 @@ public class Canvas3D extends StackPane implements VectorCanvas {
 
     /* escala atual em px por unidade */
     private double currentScale = 40;
+    private double maxNorm2;                           // do maior vetor, mantido entre rebuilds
+    private int maxIndex = -1;
+    private boolean rebuildPending, staleWhileInactive;
+
+    /* ouvintes do modelo, removidos enquanto o canvas está inativo */
+    private boolean active = true;
+    private final ListChangeListener<ObservableVector> listListener = c -> {
+        trackAppends(c);
+        requestRebuild();
+    };
+    private final VectorWorld.EditListener editListener = (_, _, _, _) -> arrowChanged();
 
     public Canvas3D() {
         /* câmera */
@@ -59,8 +133,11 @@ public class Canvas3D extends StackPane implements VectorCanvas {
         cam.setFarClip(10_000);
         cam.setTranslateZ(-600);
 
-        Group root3D = new Group(gridGroup, axesGroup, ticksGroup, vectorsGroup);
+        Group root3D = new Group(gridGroup, axesGroup, ticksGroup, vectorsGroup, statsGroup, labelsGroup, particlesGroup, solidsGroup);
         root3D.getTransforms().addAll(rotateX, rotateY);
+        labelsGroup.getChildren().add(labelMesh);
+        rotateX.angleProperty().addListener(_ -> requestFace());
+        rotateY.angleProperty().addListener(_ -> requestFace());
 
         subScene = new SubScene(root3D, 600, 600, true, null);
         subScene.setCamera(cam);
@@ -80,62 +157,272 @@ public class Canvas3D extends StackPane implements VectorCanvas {
         this.world = world;
 
         /* ouvintes para rebuild */
-        world.getVectors().addListener((ListChangeListener<ObservableVector>) c -> {
-            while (c.next()) {
-                if (c.wasAdded()) {
-                    c.getAddedSubList().forEach(v -> {
-                        v.xProperty().addListener(_ -> rebuild());
-                        v.yProperty().addListener(_ -> rebuild());
-                        v.zProperty().addListener(_ -> rebuild());
-                    });
-                }
-            }
-            rebuild();
-        });
-        world.getVectors().forEach(v -> {
-            v.xProperty().addListener(_ -> rebuild());
-            v.yProperty().addListener(_ -> rebuild());
-            v.zProperty().addListener(_ -> rebuild());
-        });
+        if (active) attach();
 
-        showGrid .addListener(_ -> rebuild());
-        showTicks.addListener(_ -> rebuild());
+        showGrid .addListener(_ -> requestRebuild());
+        showTicks.addListener(_ -> requestRebuild());
+        showStats.addListener(_ -> requestRebuild());
+        mergedArrows.addListener(_ -> requestRebuild());
+        showCoord.addListener(_ -> requestRebuild());
+        showHull.addListener(_ -> requestRebuild());
+        showSpan.addListener(_ -> requestRebuild());
 
         rebuild();
     }
     @Override public Node getView() { return this; }
 
+    /** Desenha os rastros de {@code ps}; {@code null} para de desenhar. */
+    public void setParticles(ParticleSystem ps) {
+        if (particles != null) particles.removeFrameListener(particleFrame);
+        particles = ps;
+        if (ps != null) ps.addFrameListener(particleFrame);
+        updateParticles();
+    }
+
+    @Override public void setActive(boolean active) {
+        if (this.active == active) return;
+        this.active = active;
+        if (world == null) return;
+        if (active) {
+            attach();
+            updateParticles();
+            if (world.structureStamp() > hullStamp) hullStale = true;   // acréscimos não foram vistos
+            /* só edições desde o último quadro: basta reescrever esses trechos das malhas */
+            if (mergedActive && !staleWhileInactive && world.structureStamp() <= arrowsStamp) arrowChanged();
+            else requestRebuild();
+            staleWhileInactive = false;
+        } else {
+            world.getVectors().removeListener(listListener);
+            world.removeEditListener(editListener);
+        }
+    }
+
+    private void attach() {
+        world.getVectors().addListener(listListener);
+        world.addEditListener(editListener);
+    }
+
     /* ----------------- desenho principal ----------------- */
+
+    /** Junta todas as mudanças até o próximo pulso num único rebuild. */
+    private void requestRebuild() {
+        if (!active) staleWhileInactive = true;
+        if (rebuildPending || !active) return;
+        rebuildPending = true;
+        Platform.runLater(() -> {
+            rebuildPending = false;
+            rebuild();
+        });
+    }
+
     private void rebuild() {
         axesGroup.getChildren().clear();
         gridGroup.getChildren().clear();
         ticksGroup.getChildren().clear();
         vectorsGroup.getChildren().clear();
+        statsGroup.getChildren().clear();
+        labelMesh.clear();
+        solidsGroup.getChildren().clear();
         if (world == null) return;
+        atlas.beginFrame();
 
         /* escala em função do maior vetor */
-        double maxLen = world.getVectors().stream()
-                .mapToDouble(v -> magnitude(v.toArray()))
-                .max().orElse(1);
-        double spanUnits = Math.max(2, maxLen * 1.2);   // margem
+        scanMaxNorm();
+        double spanUnits = spanUnits();
         currentScale = 200 / spanUnits;
 
         if (showGrid.get())  buildGrids(spanUnits);
         if (showTicks.get()) buildTicks(spanUnits);
         buildAxes(spanUnits);
+        if (showStats.get() && stats != null) buildStats();
+
+        mergedActive = mergedArrows.get() || world.getVectors().size() > AUTO_MERGE_THRESHOLD;
+        if (mergedActive) {
+            buildMergedArrows();
+        } else {
+            int i = 0, idx = 0;
+            for (ObservableVector v : world.getVectors()) {
+                int index = i++;
+                if (magnitude(v.toArray()) < 1e-6) continue;
+                Color color = pickColor(idx++);
+                vectorsGroup.getChildren().add(buildArrow(v, color));
+                buildLabel(v, index, color);
+            }
+        }
+        labelMesh.commit(rotateX.getAngle(), rotateY.getAngle());
+        if (atlas.deferred()) requestRebuild();       // glifos que ficaram para o próximo quadro
+        updateSolids();
+        updateParticles();                            // a escala pode ter mudado
+    }
+
+    private void updateParticles() {
+        if (particles == null || particles.count() == 0) {
+            particlesGroup.getChildren().clear();
+            return;
+        }
+        trailMesh.update(particles, currentScale);
+        if (particlesGroup.getChildren().isEmpty()) particlesGroup.getChildren().add(trailMesh);
+    }
+
+    private double spanUnits() {
+        return Math.max(2, Math.sqrt(maxNorm2) * 1.2);   // margem
+    }
+
+    private void scanMaxNorm() {
+        maxNorm2 = 0;
+        maxIndex = -1;
+        var vectors = world.getVectors();
+        for (int i = 0; i < vectors.size(); i++) {
+            double n2 = norm2(vectors.get(i));
+            if (n2 > maxNorm2) { maxNorm2 = n2; maxIndex = i; }
+        }
+    }
+
+    /** Atualiza o maior vetor com as edições em {@code changed}; só varre tudo se ele encolheu. */
+    private void updateMaxNorm(BitSet changed) {
+        var vectors = world.getVectors();
+        boolean rescan = false;
+        for (int i = changed.nextSetBit(0); i >= 0 && i < vectors.size(); i = changed.nextSetBit(i + 1)) {
+            double n2 = norm2(vectors.get(i));
+            if (n2 >= maxNorm2) { maxNorm2 = n2; maxIndex = i; }
+            else if (i == maxIndex) rescan = true;
+        }
+        if (rescan) scanMaxNorm();
+    }
+
+    private static double norm2(ObservableVector v) {
+        return v.getX() * v.getX() + v.getY() * v.getY() + v.getZ() * v.getZ();
+    }
+
+    /* ---------- setas em malhas únicas por cor ---------- */
+    private void buildMergedArrows() {
+        var vectors = world.getVectors();
+        int n = vectors.size();
+        if (meshOf.length < n) {
+            meshOf = new ArrowMesh[n];
+            slotOf = new int[n];
+        }
+        arrowMeshes.values().forEach(ArrowMesh::clear);
+        for (int i = 0; i < n; i++) {
+            ObservableVector v = vectors.get(i);
+            ArrowMesh mesh = arrowMeshes.computeIfAbsent(pickColor(i), ArrowMesh::new);
+            meshOf[i] = mesh;
+            slotOf[i] = mesh.add(v.getX(), v.getY(), v.getZ(), currentScale);
+        }
+        arrowMeshes.values().forEach(ArrowMesh::commit);
+        vectorsGroup.getChildren().addAll(arrowMeshes.values());
+        arrowsStamp = world.stamp();
+    }
 
-        int idx = 0;
-        for (ObservableVector v : world.getVectors()) {
-            if (magnitude(v.toArray()) < 1e-6) continue;
-            vectorsGroup.getChildren().add(buildArrow(v, pickColor(idx++), "v"+idx));
+    /** Edição de vetores: no modo de malha única só os trechos deles são reescritos. */
+    private void arrowChanged() {
+        if (!mergedActive) {
+            requestRebuild();
+            return;
         }
+        if (arrowUpdatePending) return;
+        arrowUpdatePending = true;
+        Platform.runLater(this::updateMergedArrows);
+    }
+
+    private void updateMergedArrows() {
+        arrowUpdatePending = false;
+        if (rebuildPending || !mergedActive || !active) return;   // o rebuild já cobre tudo
+        if (!world.changedSince(arrowsStamp, changed)) {         // vetores entraram ou saíram
+            rebuild();
+            return;
+        }
+        if (changed.isEmpty()) return;
+        updateMaxNorm(changed);
+        if (200 / spanUnits() != currentScale) {                // escala mudou: grade, ticks e setas
+            rebuild();
+            return;
+        }
+        var vectors = world.getVectors();
+        for (int i = changed.nextSetBit(0); i >= 0 && i < vectors.size(); i = changed.nextSetBit(i + 1)) {
+            ObservableVector v = vectors.get(i);
+            meshOf[i].update(slotOf[i], v.getX(), v.getY(), v.getZ(), currentScale);
+        }
+        arrowsStamp = world.stamp();
+        if (showStats.get() && stats != null) {
+            statsGroup.getChildren().clear();
+            buildStats();
+        }
+        updateSolids();
+    }
+
+    /* ---------- fecho convexo e paralelepípedo ---------- */
+
+    /** Só acréscimos no fim preservam os índices do fecho; o resto pede reconstrução. */
+    private void trackAppends(ListChangeListener.Change<? extends ObservableVector> c) {
+        while (c.next()) {
+            if (c.wasPermutated() || c.wasRemoved() || c.getFrom() != hullKnown) hullStale = true;
+            else hullKnown = c.getTo();
+        }
+    }
+
+    private void updateSolids() {
+        solidsGroup.getChildren().clear();
+        if (showHull.get()) {
+            updateHull();
+            hullMesh.setHull(hull, currentScale);
+            solidsGroup.getChildren().add(hullMesh);
+        } else {
+            hullStale = true;                          // não acompanhado enquanto escondido
+        }
+        var vectors = world.getVectors();
+        if (showSpan.get() && vectors.size() >= 2) {
+            double[] c = vectors.size() >= 3 ? xyz(vectors.get(2)) : new double[3];
+            spanMesh.setParallelepiped(xyz(vectors.get(0)), xyz(vectors.get(1)), c, currentScale);
+            solidsGroup.getChildren().add(spanMesh);
+        }
+    }
+
+    /**
+     * Leva ao fecho só o que mudou desde a última vez: pontas editadas são movidas, vetores
+     * acrescentados no fim são inseridos. Remoções e reordenações reconstroem tudo.
+     */
+    private void updateHull() {
+        var vectors = world.getVectors();
+        int n = vectors.size();
+        if (hullStale) {
+            double[] xyz = new double[3 * n];
+            for (int i = 0; i < n; i++) {
+                ObservableVector v = vectors.get(i);
+                xyz[3 * i] = v.getX();
+                xyz[3 * i + 1] = v.getY();
+                xyz[3 * i + 2] = v.getZ();
+            }
+            hull.rebuild(xyz, n);
+        } else {
+            if (!world.changedSince(hullStamp, hullChanged)) {
+                /* houve acréscimos: as edições anteriores a eles estão nas marcas por vetor */
+                hullChanged.clear();
+                for (int i = 0; i < hull.size(); i++) if (vectors.get(i).stamp() > hullStamp) hullChanged.set(i);
+            }
+            for (int i = hullChanged.nextSetBit(0); i >= 0 && i < hull.size(); i = hullChanged.nextSetBit(i + 1)) {
+                ObservableVector v = vectors.get(i);
+                hull.move(i, v.getX(), v.getY(), v.getZ());
+            }
+            for (int i = hull.size(); i < n; i++) {
+                ObservableVector v = vectors.get(i);
+                hull.append(v.getX(), v.getY(), v.getZ());
+            }
+        }
+        hullStale = false;
+        hullKnown = n;
+        hullStamp = world.stamp();
+    }
+
+    private static double[] xyz(ObservableVector v) {
+        return new double[] { v.getX(), v.getY(), v.getZ() };
     }
 
     /* ---------- grids em XY, XZ, YZ ---------- */
     private void buildGrids(double spanUnits) {
         int lines = (int)Math.ceil(spanUnits);
         double lenPx = lines * 2 * currentScale;
-        PhongMaterial mat = new PhongMaterial(Color.grayRgb(180, 1));
+        PhongMaterial mat = SceneCache.material(Color.grayRgb(180, 1));
 
         // GRID NO PLANO XZ (Y = 0)
         for (int k = -lines; k <= lines; k++) {
@@ -204,7 +491,7 @@ public class Canvas3D extends StackPane implements VectorCanvas {
     /* ---------- ticks nos 3 eixos ---------- */
     private void buildTicks(double spanUnits) {
         int ticks = (int)Math.ceil(spanUnits);
-        PhongMaterial mat = new PhongMaterial(Color.DARKGRAY);
+        PhongMaterial mat = SceneCache.material(Color.DARKGRAY);
 
         double size = 6;                       // tamanho do tick
         for (int k = -ticks; k <= ticks; k++) {
@@ -229,7 +516,7 @@ public class Canvas3D extends StackPane implements VectorCanvas {
 
         // EIXO X (horizontal)
         Cylinder x = new Cylinder(shaftRadius, len * 2);
-        x.setMaterial(new PhongMaterial(Color.RED));
+        x.setMaterial(SceneCache.material(Color.RED));
         x.getTransforms().addAll(
                 new Rotate(90, Rotate.Z_AXIS),
                 new Translate(0, 0, 0)  // centrado na origem
@@ -247,7 +534,7 @@ public class Canvas3D extends StackPane implements VectorCanvas {
 
         // EIXO Y (vertical)
         Cylinder y = new Cylinder(shaftRadius, len * 2);
-        y.setMaterial(new PhongMaterial(Color.GREEN));
+        y.setMaterial(SceneCache.material(Color.GREEN));
         y.getTransforms().add(new Translate(0, 0, 0));
 
         Cone yHead = new Cone((float) headRad, (float) headLen, 24, Color.GREEN);
@@ -261,7 +548,7 @@ public class Canvas3D extends StackPane implements VectorCanvas {
 
         // EIXO Z (profundidade)
         Cylinder z = new Cylinder(shaftRadius, len * 2);
-        z.setMaterial(new PhongMaterial(Color.BLUE));
+        z.setMaterial(SceneCache.material(Color.BLUE));
         z.getTransforms().addAll(
                 new Rotate(90, Rotate.X_AXIS),
                 new Translate(0, 0, 0)
@@ -285,27 +572,61 @@ public class Canvas3D extends StackPane implements VectorCanvas {
         );
     }
 
+    /* ---------- média e eixos principais (±2σ) ---------- */
+    private void buildStats() {
+        if (stats.count() == 0) return;
+        double[] mu = stats.mean();
+        Point3D m = toScene(mu[0], mu[1], mu[2]);
+        PhongMaterial mat = SceneCache.material(Color.TEAL);
+
+        Sphere dot = new Sphere(4);
+        dot.setMaterial(mat);
+        dot.getTransforms().add(new Translate(m.getX(), m.getY(), m.getZ()));
+        statsGroup.getChildren().add(dot);
+
+        SymmetricEigen pca = stats.principalAxes();
+        for (int k = 0; k < 3; k++) {
+            double sd = 2 * Math.sqrt(Math.max(0, pca.values[k]));
+            if (sd * currentScale < 1) continue;
+            double[] e = pca.vectors[k];
+            Point3D half = toScene(e[0] * sd, e[1] * sd, e[2] * sd);
+            statsGroup.getChildren().add(segment(m.subtract(half), m.add(half), 1.2, mat));
+        }
+    }
+
     /* ---------- seta de vetor ---------- */
-    private Group buildArrow(ObservableVector v, Color color, String label) {
+    private Group buildArrow(ObservableVector v, Color color) {
         double lenPx   = magnitude(v.toArray()) * currentScale;
         double headLen = lenPx * 0.12, headRad = headLen * 0.35, shaftRad = 2, shaftLen = lenPx - headLen;
 
         Cylinder shaft = new Cylinder(shaftRad, Math.max(shaftLen, 1));
-        shaft.setMaterial(new PhongMaterial(color));
+        shaft.setMaterial(SceneCache.material(color));
         shaft.getTransforms().add(new Translate(0, -shaftLen / 2, 0));
 
-        Cone head = new Cone((float) headRad, (float) headLen, 24, color);
-        head.getTransforms().addAll(new Translate(0, -lenPx + headLen/2, 0));
+        Cone head = new Cone(1, 1, 24, color);            // malha unitária compartilhada
+        head.getTransforms().addAll(new Translate(0, -lenPx + headLen/2, 0), new Scale(headRad, headLen, headRad));
         Group arrow = new Group(shaft, head);
         arrow.getTransforms().add(orientFromYAxis(v.getX(), v.getY(), v.getZ()));
-
-        Text t = new Text(label + String.format(" (%.1f, %.1f, %.1f)", v.getX(), v.getY(), v.getZ()));
-        t.setFill(color.darker());
-        t.setTranslateY(-lenPx - 12);
-        // arrow.getChildren().add(t);
         return arrow;
     }
 
+    /* ---------- rótulo da ponta (fora do grupo da seta, para não girar com ela) ---------- */
+    private void buildLabel(ObservableVector v, int index, Color color) {
+        String text = labels.label(index, showCoord.get() ? 3 : 0, 1, v.getX(), v.getY(), v.getZ());
+        Point3D tip = toScene(v.getX(), v.getY(), v.getZ());
+        labelMesh.add(text, color.darker(), tip.getX() + 6, tip.getY() - 6, tip.getZ());
+    }
+
+    /** A órbita mudou: os rótulos voltam a ficar de frente, no máximo uma vez por pulso. */
+    private void requestFace() {
+        if (facePending) return;
+        facePending = true;
+        Platform.runLater(() -> {
+            facePending = false;
+            labelMesh.face(rotateX.getAngle(), rotateY.getAngle());
+        });
+    }
+
     /* ---------- helpers / util ---------- */
     private Color pickColor(int i) {
         return switch (i) {
@@ -325,6 +646,25 @@ public class Canvas3D extends StackPane implements VectorCanvas {
                 : new Rotate(angle, axis);
     }
 
+    /** Coordenadas do mundo → cena (Y da cena cresce para baixo). */
+    private Point3D toScene(double x, double y, double z) {
+        return new Point3D(x * currentScale, -y * currentScale, z * currentScale);
+    }
+
+    /** Cilindro fino ligando dois pontos da cena. */
+    private Cylinder segment(Point3D a, Point3D b, double radius, PhongMaterial m) {
+        Point3D d = b.subtract(a);
+        Cylinder c = new Cylinder(radius, d.magnitude());
+        c.setMaterial(m);
+        Point3D mid = a.midpoint(b);
+        Point3D axis = Rotate.Y_AXIS.crossProduct(d);
+        double angle = Math.toDegrees(Math.acos(d.normalize().getY()));
+        c.getTransforms().addAll(
+                new Translate(mid.getX(), mid.getY(), mid.getZ()),
+                axis.magnitude() < 1e-9 ? new Rotate() : new Rotate(angle, axis));
+        return c;
+    }
+
     private Box newBox(double s, PhongMaterial m, Transform... t) {
         Box b = new Box(s, s, s);
         b.setMaterial(m);
@@ -0,0 +1,167 @@
+package app.view;
+
+import javafx.geometry.Bounds;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Atlas de glifos dos rótulos: cada caractere (por cor) é rasterizado uma vez numa imagem
+ * compartilhada; um rótulo é a sequência dos seus glifos, copiados com {@code drawImage} (2D)
+ * ou usados como textura dos quads de uma {@link LabelMesh} (3D).
+ *
+ * <p>Rótulos distintos (v1…vN, coordenadas) são muitos, mas os caracteres deles são poucos —
+ * dígitos, sinais, algumas letras —, então o atlas para de crescer logo nos primeiros quadros
+ * e nunca precisa ser esvaziado; os comandos de desenho já emitidos continuam válidos. Se
+ * houver rasterizações demais num quadro só, o rótulo que precisava do glifo novo cai no
+ * {@code fillText} comum (ou some, no 3D) e {@link #deferred()} pede outro quadro; se o atlas
+ * encher, fica no {@code fillText} de vez.</p>
+ */
+final class LabelAtlas {
+    private static final int SIZE = 1024;
+    private static final int PAD = 1;
+    /** Rasterizações novas por quadro; rótulos que precisariam de mais usam fillText. */
+    private static final int MISS_BUDGET = 64;
+
+    /**
+     * Posição de um glifo no atlas; {@code baseline} é a distância do topo até a linha de base e
+     * {@code advance}, quanto o próximo glifo anda para a direita.
+     */
+    record Glyph(int x, int y, int w, int h, double baseline, double advance) {}
+
+    private final WritableImage image = new WritableImage(SIZE, SIZE);
+    private final Font font;
+    private final Map<Color, Glyphs> glyphs = new HashMap<>();
+    private final Text scratch = new Text();
+    private final SnapshotParameters params = new SnapshotParameters();
+    private Glyph[] run = new Glyph[32];
+
+    private int shelfX, shelfY, shelfH;
+    private int missesThisFrame;
+    private boolean deferred;
+    private PhongMaterial material;
+
+    /** Glifos de uma cor: Latin-1 num array, o resto (μ, ⊥, ...) num mapa. */
+    private static final class Glyphs {
+        final Glyph[] low = new Glyph[256];
+        final Map<Character, Glyph> high = new HashMap<>();
+
+        Glyph get(char c) { return c < 256 ? low[c] : high.get(c); }
+
+        void put(char c, Glyph g) {
+            if (c < 256) low[c] = g;
+            else high.put(c, g);
+        }
+    }
+
+    LabelAtlas(Font font) {
+        this.font = font;
+        scratch.setFont(font);
+        params.setFill(Color.TRANSPARENT);
+    }
+
+    Font font() { return font; }
+    Image image() { return image; }
+
+    /** Início de um quadro: zera o orçamento de rasterizações. */
+    void beginFrame() {
+        missesThisFrame = 0;
+        deferred = false;
+    }
+
+    /** Algum glifo ficou para o próximo quadro por falta de orçamento: vale redesenhar. */
+    boolean deferred() {
+        return deferred;
+    }
+
+    /**
+     * Glifos de {@code text}, em ordem, num array reaproveitado (válido até a próxima chamada);
+     * {@code null} se algum não couber agora.
+     */
+    Glyph[] glyphs(String text, Color color) {
+        Glyphs set = glyphs.computeIfAbsent(color, _ -> new Glyphs());
+        int n = text.length();
+        if (run.length < n) run = new Glyph[Math.max(n, run.length * 2)];
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            Glyph g = set.get(c);
+            if (g == null) {
+                if (missesThisFrame >= MISS_BUDGET) {
+                    deferred = true;
+                    return null;
+                }
+                missesThisFrame++;
+                g = rasterize(c, color);
+                if (g == null) return null;
+                set.put(c, g);
+            }
+            run[i] = g;
+        }
+        return run;
+    }
+
+    /** Desenha o texto com a linha de base em (x, y), como {@code fillText}. */
+    void draw(GraphicsContext g, String text, Color color, double x, double y) {
+        Glyph[] gs = glyphs(text, color);
+        if (gs == null) {
+            g.setFont(font);
+            g.setFill(color);
+            g.fillText(text, x, y);
+            return;
+        }
+        for (int i = 0, n = text.length(); i < n; i++) {
+            Glyph gl = gs[i];
+            if (gl.w > 0) g.drawImage(image, gl.x, gl.y, gl.w, gl.h, x, y - gl.baseline, gl.w, gl.h);
+            x += gl.advance;
+        }
+    }
+
+    /** Material único com o atlas como textura, para os quads 3D. */
+    PhongMaterial material() {
+        if (material == null) {
+            material = new PhongMaterial(Color.WHITE);
+            material.setDiffuseMap(image);
+            material.setSelfIlluminationMap(image);   // texto não escurece com a luz
+        }
+        return material;
+    }
+
+    static float u(int x) { return (float) x / SIZE; }
+    static float v(int y) { return (float) y / SIZE; }
+
+    /* ------------ helpers ------------ */
+
+    private Glyph rasterize(char c, Color color) {
+        scratch.setText(String.valueOf(c));
+        scratch.setFill(color);
+        Bounds b = scratch.getLayoutBounds();
+        int w = (int) Math.ceil(b.getWidth()), h = (int) Math.ceil(b.getHeight());
+        if (Character.isWhitespace(c) || w == 0 || h == 0)
+            return new Glyph(0, 0, 0, 0, 0, b.getWidth());   // só avança
+        if (w > SIZE) return null;
+
+        if (shelfX + w + PAD > SIZE) {          // próxima prateleira
+            shelfY += shelfH + PAD;
+            shelfX = 0;
+            shelfH = 0;
+        }
+        if (shelfY + h > SIZE) return null;     // cheio: esse glifo fica no fillText
+
+        WritableImage snap = scratch.snapshot(params, null);
+        int sw = Math.min(w, (int) snap.getWidth()), sh = Math.min(h, (int) snap.getHeight());
+        image.getPixelWriter().setPixels(shelfX, shelfY, sw, sh, snap.getPixelReader(), 0, 0);
+
+        Glyph g = new Glyph(shelfX, shelfY, sw, sh, -b.getMinY(), b.getWidth());
+        shelfX += w + PAD;
+        shelfH = Math.max(shelfH, h);
+        return g;
+    }
+}
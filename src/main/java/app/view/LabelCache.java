@@ -0,0 +1,64 @@
+package app.view;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Textos dos rótulos por vetor ({@code v1}, {@code v1 (1.0, 2.0)}, ...), formatados só quando o
+ * valor, a precisão ou o formato mudam. Evita um {@code String.format} por vetor a cada quadro.
+ */
+final class LabelCache {
+    private final IntFunction<String> namer;
+    private String[] names = new String[16];
+    private String[] texts = new String[16];
+    private double[] values = new double[16 * 3];
+    private int[] keys = new int[16];               // precisão * 4 + dimensões mostradas (0 = só o nome)
+
+    /** Rótulos {@code v1}, {@code v2}, ... */
+    LabelCache() {
+        this(i -> "v" + (i + 1));
+    }
+
+    LabelCache(IntFunction<String> namer) {
+        this.namer = namer;
+    }
+
+    /** Nome do vetor {@code i} ({@code v1}, {@code v2}, ...). */
+    String name(int i) {
+        ensure(i);
+        if (names[i] == null) names[i] = namer.apply(i);
+        return names[i];
+    }
+
+    /**
+     * Rótulo do vetor {@code i}: só o nome quando {@code dims == 0}, senão nome e as primeiras
+     * {@code dims} coordenadas com {@code precision} casas.
+     */
+    String label(int i, int dims, int precision, double x, double y, double z) {
+        if (dims == 0) return name(i);
+        ensure(i);
+        int key = precision * 4 + dims;
+        int o = i * 3;
+        if (texts[i] != null && keys[i] == key
+                && values[o] == x && values[o + 1] == y && (dims < 3 || values[o + 2] == z)) {
+            return texts[i];
+        }
+        values[o] = x; values[o + 1] = y; values[o + 2] = z;
+        keys[i] = key;
+        String f = "%." + precision + "f";
+        texts[i] = dims == 3
+                ? String.format(" (" + f + ", " + f + ", " + f + ")", x, y, z)
+                : String.format(" (" + f + ", " + f + ")", x, y);
+        texts[i] = name(i) + texts[i];
+        return texts[i];
+    }
+
+    private void ensure(int i) {
+        if (i < names.length) return;
+        int n = Math.max(i + 1, names.length * 2);
+        names = Arrays.copyOf(names, n);
+        texts = Arrays.copyOf(texts, n);
+        keys = Arrays.copyOf(keys, n);
+        values = Arrays.copyOf(values, n * 3);
+    }
+}
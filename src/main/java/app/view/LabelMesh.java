@@ -0,0 +1,134 @@
+package app.view;
+
+import javafx.geometry.Point3D;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.CullFace;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+import javafx.scene.transform.Rotate;
+import javafx.scene.transform.Transform;
+
+import java.util.Arrays;
+
+/**
+ * Todos os rótulos 3D numa única malha: cada glifo é um quad texturizado pelo {@link LabelAtlas},
+ * preso a uma âncora na cena. Os quads ficam de frente para a câmera orbit: quando ela gira,
+ * {@link #face} reescreve só os pontos (âncora + deslocamento no plano da tela), sem nós nem
+ * transformações por rótulo.
+ */
+final class LabelMesh extends MeshView {
+    /** Os dois triângulos de um quad (a, b, c, d): (a, b, c) e (a, c, d). */
+    private static final int[] QUAD = { 0, 1, 2, 0, 2, 3 };
+
+    private final LabelAtlas atlas;
+    private final TriangleMesh mesh = new TriangleMesh();
+
+    /* por vértice: âncora (x, y, z) e deslocamento no plano do rótulo (px, direita e para baixo) */
+    private float[] anchors = new float[0], offsets = new float[0], points = new float[0];
+    private float[] tex = new float[0];
+    private int[] faces = new int[0];
+    private int vertices;
+    private double angleX, angleY;
+
+    LabelMesh(LabelAtlas atlas) {
+        this.atlas = atlas;
+        setMesh(mesh);
+        setMaterial(atlas.material());
+        setCullFace(CullFace.NONE);
+        setMouseTransparent(true);
+    }
+
+    /** Esquece os rótulos do quadro anterior. */
+    void clear() {
+        vertices = 0;
+    }
+
+    /**
+     * Acrescenta {@code text} com a linha de base começando em (x, y, z). Devolve {@code false}
+     * (e não acrescenta nada) se algum glifo não couber agora no atlas.
+     */
+    boolean add(String text, Color color, double x, double y, double z) {
+        LabelAtlas.Glyph[] gs = atlas.glyphs(text, color);
+        if (gs == null) return false;
+        int n = text.length();
+        ensure(vertices + 4 * n);
+        double pen = 0;
+        for (int i = 0; i < n; i++) {
+            LabelAtlas.Glyph g = gs[i];
+            if (g.w() > 0) {
+                float left = (float) pen, right = (float) (pen + g.w());
+                float top = (float) -g.baseline(), bottom = (float) (g.h() - g.baseline());
+                float u0 = LabelAtlas.u(g.x()), v0 = LabelAtlas.v(g.y());
+                float u1 = LabelAtlas.u(g.x() + g.w()), v1 = LabelAtlas.v(g.y() + g.h());
+                vertex(x, y, z, left, top, u0, v0);
+                vertex(x, y, z, right, top, u1, v0);
+                vertex(x, y, z, right, bottom, u1, v1);
+                vertex(x, y, z, left, bottom, u0, v1);
+            }
+            pen += g.advance();
+        }
+        return true;
+    }
+
+    /** Sobe a topologia e as texturas acumuladas desde o {@link #clear()}. */
+    void commit(double angleX, double angleY) {
+        int quads = vertices / 4;
+        if (faces.length < 6 * 2 * quads) faces = new int[6 * 2 * quads];
+        for (int q = 0, f = 0; q < quads; q++)
+            for (int k : QUAD) {
+                faces[f++] = 4 * q + k;                // ponto e textura têm o mesmo índice
+                faces[f++] = 4 * q + k;
+            }
+        this.angleX = Double.NaN;                      // pontos novos mesmo sem giro
+        face(angleX, angleY);
+        mesh.getTexCoords().setAll(tex, 0, 2 * vertices);
+        mesh.getFaces().setAll(faces, 0, 12 * quads);
+        setVisible(quads > 0);
+    }
+
+    /**
+     * Vira os quads para uma câmera com a órbita (rotação em X, depois em Y) dada: o
+     * deslocamento de cada vértice passa pela rotação inversa, como se cada rótulo tivesse as
+     * transformações {@code Rotate(-angleY, Y)} e {@code Rotate(-angleX, X)}.
+     */
+    void face(double angleX, double angleY) {
+        if (angleX == this.angleX && angleY == this.angleY) return;
+        this.angleX = angleX;
+        this.angleY = angleY;
+        Transform inv = new Rotate(-angleY, Rotate.Y_AXIS).createConcatenation(new Rotate(-angleX, Rotate.X_AXIS));
+        Point3D right = inv.deltaTransform(1, 0, 0), down = inv.deltaTransform(0, 1, 0);
+        float rx = (float) right.getX(), ry = (float) right.getY(), rz = (float) right.getZ();
+        float dx = (float) down.getX(), dy = (float) down.getY(), dz = (float) down.getZ();
+        for (int v = 0; v < vertices; v++) {
+            int p = 3 * v, o = 2 * v;
+            float s = offsets[o], t = offsets[o + 1];
+            points[p] = anchors[p] + s * rx + t * dx;
+            points[p + 1] = anchors[p + 1] + s * ry + t * dy;
+            points[p + 2] = anchors[p + 2] + s * rz + t * dz;
+        }
+        mesh.getPoints().setAll(points, 0, 3 * vertices);
+    }
+
+    /* ------------ helpers ------------ */
+
+    private void vertex(double x, double y, double z, float s, float t, float u, float v) {
+        int p = 3 * vertices, o = 2 * vertices;
+        anchors[p] = (float) x;
+        anchors[p + 1] = (float) y;
+        anchors[p + 2] = (float) z;
+        offsets[o] = s;
+        offsets[o + 1] = t;
+        tex[o] = u;
+        tex[o + 1] = v;
+        vertices++;
+    }
+
+    private void ensure(int n) {
+        if (3 * n <= anchors.length) return;
+        int cap = Math.max(n, 2 * vertices);
+        anchors = Arrays.copyOf(anchors, 3 * cap);
+        points = Arrays.copyOf(points, 3 * cap);
+        offsets = Arrays.copyOf(offsets, 2 * cap);
+        tex = Arrays.copyOf(tex, 2 * cap);
+    }
+}
@@ -6,4 +6,10 @@ import javafx.scene.Node;
 public interface VectorCanvas {
     void bind(VectorWorld world);
     Node getView();
+
+    /**
+     * Inativo (aba ou canvas escondido): os ouvintes do modelo são removidos e nada é redesenhado.
+     * Ao voltar a ficar ativo, um único redesenho completo põe tudo em dia.
+     */
+    void setActive(boolean active);
 }
@@ -0,0 +1,424 @@
+package app.perf;
+
+import app.controller.VectorTab;
+import app.model.ObservableVector;
+import app.model.VectorWorld;
+import app.session.SessionJournal;
+import app.view.Canvas2D;
+import app.view.Canvas3D;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.property.BooleanProperty;
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.SubScene;
+import javafx.scene.control.ListView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portão de desempenho: cargas fixas e pequenas numa área de trabalho completa
+ * ({@link VectorTab} numa janela), rodadas sem display pelo Monocle (ver tarefas
+ * {@code perfCheck} e {@code perfBaseline} no build.gradle).
+ *
+ * <p>O caminho do modelo e o do quadro são medidos à parte. {@code <carga>.ms} é só o trabalho
+ * síncrono na thread FX (a edição e todos os ouvintes que ela dispara); {@code <carga>.frameMs}
+ * é a espera seguinte até a fila esvaziar e o quadro ser desenhado; {@code allocMB} e
+ * {@code frameAllocMB} separam da mesma forma os bytes alocados, contando só a thread FX. A primeira rodada aquece o JIT e é descartada; o resultado é a mediana das
+ * seguintes. Tempo e alocação podem piorar até a tolerância (mais uma folga absoluta por
+ * métrica); o tempo de quadro tem tolerância própria, mais larga, porque o pipeline de software
+ * varia ±40% entre execuções na mesma máquina; nós da cena e ouvintes não têm folga nenhuma.</p>
+ *
+ * <p>Vazamentos falham sem depender da linha de base: a carga {@code cycles} repete ciclos que
+ * deveriam voltar ao mesmo estado (esconder e mostrar a aba, ligar e desligar a sobreposição,
+ * rolar a lista) e exige as mesmas contagens de nós e de ouvintes ao fim de cada um. Faltar a
+ * linha de base também faz o processo sair com 1.</p>
+ *
+ * <p>Argumentos: {@code --baseline=arquivo}, {@code --results=arquivo},
+ * {@code --tolerance=0.25}, {@code --frameTolerance=0.6}, {@code --rounds=3} e {@code --record} (grava os resultados como
+ * nova linha de base em vez de comparar).</p>
+ */
+public final class PerfSuite {
+    private static final int VECTORS = 10_000;
+    private static final int EDITS = 10_000;
+    private static final int ORBIT_FRAMES = 60;
+    private static final int CYCLES = 10;
+    /** Idas e voltas à thread FX depois de cada carga: cobre os runLater encadeados (troca 2D/3D, malhas). */
+    private static final int SETTLE_ROUND_TRIPS = 5;
+    private static final long TIMEOUT_S = 120;
+    /** Folga absoluta por métrica, somada ao limite relativo. */
+    private static final Map<String, Double> SLACK = Map.of("ms", 2.0, "frameMs", 20.0, "allocMB", 1.0, "frameAllocMB", 1.0);
+    /** Métricas comparadas sem tolerância: qualquer aumento é regressão. */
+    private static final Set<String> EXACT = Set.of("nodes", "listeners");
+
+    private final Map<String, List<Double>> samples = new TreeMap<>();
+    private final List<String> leaks = new ArrayList<>();
+    private boolean recording;
+    private Stage stage;
+    private VectorTab tab;
+    private long fxThread;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opt = new HashMap<>();
+        for (String a : args) {
+            if (!a.startsWith("--")) throw new IllegalArgumentException("Argumento inesperado: " + a);
+            int eq = a.indexOf('=');
+            opt.put(eq < 0 ? a.substring(2) : a.substring(2, eq), eq < 0 ? "" : a.substring(eq + 1));
+        }
+        Path baseline = Path.of(opt.getOrDefault("baseline", "perf/baseline.properties"));
+        Path results = Path.of(opt.getOrDefault("results", "build/perf/results.properties"));
+        double tolerance = Double.parseDouble(opt.getOrDefault("tolerance", "0.25"));
+        double frameTolerance = Double.parseDouble(opt.getOrDefault("frameTolerance", "0.6"));
+        int rounds = Integer.parseInt(opt.getOrDefault("rounds", "3"));
+        /* sem linha de base o portão não passa às cegas; falha antes de gastar as rodadas */
+        if (!opt.containsKey("record") && !Files.exists(baseline)) {
+            System.err.println("Sem linha de base em " + baseline + ". Grave uma com 'gradle perfBaseline' e versione o arquivo.");
+            System.exit(1);
+        }
+
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        Platform.setImplicitExit(false);
+
+        PerfSuite suite = new PerfSuite();
+        int status;
+        try {
+            suite.fxThread = fx(() -> Thread.currentThread().threadId());
+            for (int r = 0; r <= rounds; r++) {
+                suite.recording = r > 0;
+                suite.round();
+            }
+            Map<String, Double> medians = suite.medians();
+            write(results, medians, rounds);
+            if (!suite.leaks.isEmpty()) {
+                suite.leaks.forEach(System.err::println);
+                status = 1;
+            } else if (opt.containsKey("record")) {
+                write(baseline, medians, rounds);
+                System.out.println("Linha de base gravada em " + baseline);
+                status = 0;
+            } else {
+                status = compare(baseline, medians, tolerance, frameTolerance);
+            }
+        } finally {
+            Platform.exit();
+        }
+        System.exit(status);
+    }
+
+    /* ================= cargas ================= */
+
+    private void round() throws Exception {
+        fx(() -> {
+            if (stage != null) stage.close();
+            tab = new VectorTab();
+            stage = new Stage();
+            stage.setScene(new Scene(tab, 1200, 800));
+            stage.show();
+            return null;
+        });
+        settle();
+        VectorWorld world = tab.getWorld();
+        Canvas2D c2 = tab.getCanvas2D();
+
+        /* mesmos vetores em todas as rodadas; com z = 0, como os do botão de adicionar, para
+         * que o open3d possa tirar um do plano */
+        SplittableRandom rnd = new SplittableRandom(42);
+        List<ObservableVector> vectors = new ArrayList<>(VECTORS);
+        for (int i = 0; i < VECTORS; i++)
+            vectors.add(new ObservableVector(rnd.nextDouble(-10, 10), rnd.nextDouble(-10, 10), 0));
+
+        /* carga em massa, como o NdProjector faz: fora do histórico */
+        measure("load10k", () -> {
+            world.getHistory().suspend();
+            try {
+                world.getVectors().setAll(vectors);
+            } finally {
+                world.getHistory().resume();
+            }
+            world.getHistory().clear();
+        });
+
+        /* edições seguidas de um vetor com todos os ouvintes de edição presentes: histórico,
+         * célula da lista, canvas, estatísticas e o diário de sessão */
+        fx(() -> { c2.showStatsProperty().set(true); return null; });
+        settle();
+        Path journalFile = Files.createTempFile("perf", ".vmj");
+        SessionJournal journal = fx(() -> new SessionJournal(world, journalFile));
+        try {
+            measure("edit10k", () -> {
+                ObservableVector v = world.getVectors().getFirst();
+                for (int i = 0; i < EDITS; i++) v.setX(1 + i * 1e-3);
+            });
+        } finally {
+            fx(() -> { journal.close(); return null; });
+            Files.deleteIfExists(journalFile);
+        }
+        fx(() -> { c2.showStatsProperty().set(false); return null; });
+        settle();
+
+        /* só quadros: cada opção de exibição ligada e desligada */
+        List<BooleanProperty> flags = List.of(c2.showResultProperty(), c2.showCoordProperty(),
+                c2.showOrthoProperty(), c2.showAngleProperty(), c2.showTicksProperty(), c2.showGridProperty(),
+                c2.showStatsProperty(), c2.showHullProperty(), c2.showSpanProperty());
+        long a0 = allocated(), t0 = System.nanoTime();
+        for (BooleanProperty flag : flags) {
+            fx(() -> { flag.set(true); return null; });
+            settle();
+            fx(() -> { flag.set(false); return null; });
+            settle();
+        }
+        record("flags2d", null, System.nanoTime() - t0, allocated() - a0);
+
+        cycles(world, c2);
+
+        /* um vetor sai do plano: troca para o 3D, com as setas numa malha só */
+        measure("open3d", () -> world.getVectors().getFirst().setZ(1));
+
+        a0 = allocated();
+        t0 = System.nanoTime();
+        Canvas3D c3 = fx(tab::getCanvas3D);
+        fx(() -> { Event.fireEvent(c3, mouse(MouseEvent.MOUSE_PRESSED, 300, 300)); return null; });
+        for (int f = 1; f <= ORBIT_FRAMES; f++) {
+            double x = 300 + 3 * f, y = 300 + f % 40;
+            fx(() -> { Event.fireEvent(c3, mouse(MouseEvent.MOUSE_DRAGGED, x, y)); return null; });
+            pulses(1);
+        }
+        settle();
+        record("orbit3d", null, System.nanoTime() - t0, allocated() - a0);
+    }
+
+    /**
+     * Ciclos que devem terminar onde começaram. O primeiro cria o que é preguiçoso (estatísticas,
+     * células); a partir dele, nós e ouvintes não podem crescer.
+     */
+    private void cycles(VectorWorld world, Canvas2D c2) throws Exception {
+        ListView<?> list = fx(() -> stage.getScene().getRoot().lookupAll(".list-view").stream()   // não a do ComboBox de precisão
+                .map(n -> (ListView<?>) n).filter(l -> l.getItems() == world.getVectors()).findFirst().orElseThrow());
+        long a0 = allocated(), t0 = System.nanoTime();
+        int[] first = null;
+        for (int k = 0; k < CYCLES; k++) {
+            int row = k * (VECTORS / CYCLES);
+            fx(() -> {
+                tab.setActive(false);
+                tab.setActive(true);
+                c2.showStatsProperty().set(true);
+                list.scrollTo(row);
+                return null;
+            });
+            settle();
+            fx(() -> {
+                c2.showStatsProperty().set(false);
+                list.scrollTo(0);
+                return null;
+            });
+            settle();
+            int[] now = fx(() -> new int[] { count(stage.getScene().getRoot()), listeners(world) });
+            if (first == null) first = now;
+            else if (now[0] > first[0] || now[1] > first[1]) {
+                leaks.add(String.format("Vazamento no ciclo %d: %d → %d nós, %d → %d ouvintes.",
+                        k, first[0], now[0], first[1], now[1]));
+                break;
+            }
+        }
+        record("cycles", null, System.nanoTime() - t0, allocated() - a0);
+    }
+
+    /**
+     * Mede {@code onFx} na thread FX e, à parte, a espera pelo quadro que ele provocou. A coleta
+     * antes é deliberada: o trabalho dura poucos milissegundos, e uma pausa de GC devida ao lixo
+     * dos quadros anteriores dobraria o tempo medido.
+     */
+    private void measure(String name, Runnable onFx) throws Exception {
+        System.gc();
+        long[] work = fx(() -> {
+            long a = allocated(), t = System.nanoTime();
+            onFx.run();
+            return new long[] { System.nanoTime() - t, allocated() - a };
+        });
+        long a0 = allocated(), t0 = System.nanoTime();
+        settle();
+        record(name, work, System.nanoTime() - t0, allocated() - a0);
+    }
+
+    /**
+     * Grava as métricas de uma carga: {@code work} = (ns, bytes) do trabalho síncrono, ou
+     * {@code null} para cargas que são só quadros.
+     */
+    private void record(String name, long[] work, long frameNanos, long frameBytes) throws Exception {
+        int[] counts = fx(() -> new int[] { count(stage.getScene().getRoot()), listeners(tab.getWorld()) });
+        if (!recording) return;
+        if (work != null) {
+            sample(name + ".ms", work[0] / 1e6);
+            sample(name + ".allocMB", work[1] / 1e6);
+        }
+        sample(name + ".frameMs", frameNanos / 1e6);
+        sample(name + ".frameAllocMB", frameBytes / 1e6);
+        sample(name + ".nodes", counts[0]);
+        sample(name + ".listeners", counts[1]);
+    }
+
+    private void sample(String key, double value) {
+        samples.computeIfAbsent(key, _ -> new ArrayList<>()).add(value);
+    }
+
+    private Map<String, Double> medians() {
+        Map<String, Double> m = new TreeMap<>();
+        samples.forEach((k, v) -> {
+            List<Double> s = new ArrayList<>(v);
+            Collections.sort(s);
+            int n = s.size();
+            m.put(k, n % 2 == 1 ? s.get(n / 2) : (s.get(n / 2 - 1) + s.get(n / 2)) / 2);
+        });
+        return m;
+    }
+
+    /* ================= linha de base ================= */
+
+    private static void write(Path file, Map<String, Double> values, int rounds) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        StringBuilder sb = new StringBuilder("# PerfSuite: mediana de " + rounds + " rodadas (ms e MB alocados na thread FX, trabalho e quadro à parte; nós; ouvintes)\n");
+        values.forEach((k, v) -> sb.append(k).append('=').append(String.format(Locale.ROOT, "%.2f", v)).append('\n'));
+        Files.writeString(file, sb);
+    }
+
+    /** 0 se nada piorou além do limite, 1 caso contrário. */
+    private static int compare(Path baseline, Map<String, Double> now, double tolerance, double frameTolerance) throws IOException {
+        Properties base = new Properties();
+        try (Reader r = Files.newBufferedReader(baseline)) {
+            base.load(r);
+        }
+        int worse = 0;
+        System.out.printf(Locale.ROOT, "  %-20s %10s %10s %8s%n", "métrica", "base", "agora", "Δ");
+        for (var e : now.entrySet()) {
+            String b = base.getProperty(e.getKey());
+            if (b == null) {
+                System.out.printf(Locale.ROOT, "  %-20s %10s %10.2f %8s%n", e.getKey(), "—", e.getValue(), "nova");
+                continue;
+            }
+            double was = Double.parseDouble(b), is = e.getValue();
+            String metric = e.getKey().substring(e.getKey().lastIndexOf('.') + 1);
+            double allowed = metric.equals("frameMs") ? frameTolerance : tolerance;
+            double limit = EXACT.contains(metric) ? was : was * (1 + allowed) + SLACK.getOrDefault(metric, 0.0);
+            boolean regressed = is > limit;
+            if (regressed) worse++;
+            System.out.printf(Locale.ROOT, "  %-20s %10.2f %10.2f %+7.0f%%%s%n", e.getKey(), was, is,
+                    was == 0 ? 0 : 100 * (is - was) / was, regressed ? "  PIOROU" : "");
+        }
+        if (worse > 0) System.out.printf(Locale.ROOT, "%d métrica(s) piorara(m) além do limite (%.0f%%, quadros %.0f%%).%n",
+                worse, 100 * tolerance, 100 * frameTolerance);
+        return worse > 0 ? 1 : 0;
+    }
+
+    /* ================= thread FX ================= */
+
+    /** Roda na thread FX e espera o resultado. */
+    private static <T> T fx(Callable<T> task) throws Exception {
+        CompletableFuture<T> f = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                f.complete(task.call());
+            } catch (Throwable t) {
+                f.completeExceptionally(t);
+            }
+        });
+        return f.get(TIMEOUT_S, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Espera a fila da thread FX esvaziar e o quadro resultante ser desenhado: o segundo pulso
+     * só começa depois que a renderização do primeiro termina. Sem isso, um quadro pesado (100 mil
+     * setas no pipeline de software leva segundos) cai no tempo e na alocação da carga seguinte.
+     */
+    private static void settle() throws Exception {
+        for (int i = 0; i < SETTLE_ROUND_TRIPS; i++) fx(() -> null);
+        pulses(2);
+    }
+
+    /** Espera {@code n} pulsos (quadros) da cena. */
+    private static void pulses(int n) throws Exception {
+        CountDownLatch latch = new CountDownLatch(n);
+        fx(() -> {
+            new AnimationTimer() {
+                @Override public void handle(long now) {
+                    latch.countDown();
+                    if (latch.getCount() == 0) stop();
+                }
+            }.start();
+            return null;
+        });
+        if (!latch.await(TIMEOUT_S, TimeUnit.SECONDS)) throw new IllegalStateException("Nenhum pulso da cena.");
+    }
+
+    private static MouseEvent mouse(javafx.event.EventType<MouseEvent> type, double x, double y) {
+        return new MouseEvent(type, x, y, x, y, MouseButton.PRIMARY, 1,
+                false, false, false, false, true, false, false, true, false, false, null);
+    }
+
+    private static int count(Node n) {
+        int c = 1;
+        if (n instanceof SubScene s) c += count(s.getRoot());
+        if (n instanceof Parent p) for (Node child : p.getChildrenUnmodifiable()) c += count(child);
+        return c;
+    }
+
+    /**
+     * Ouvintes do modelo: de edição e da lista do mundo, mais os das propriedades de componente
+     * já criadas. O JavaFX não expõe essas contagens; elas são lidas dos campos internos dos
+     * ajudantes de ouvintes, que têm o mesmo formato desde o JavaFX 8.
+     */
+    private static int listeners(VectorWorld world) {
+        int n = ((List<?>) field(world, "editListeners")).size() + helperSize(field(world.getVectors(), "listenerHelper"));
+        for (ObservableVector v : world.getVectors()) {
+            Object[] props = (Object[]) field(v, "props");
+            if (props != null)
+                for (Object p : props) if (p != null) n += helperSize(field(p, "helper"));
+        }
+        return n;
+    }
+
+    /** Ouvintes num ExpressionHelper ou ListListenerHelper: nenhum, um só, ou os contados. */
+    private static int helperSize(Object helper) {
+        if (helper == null) return 0;
+        if (!helper.getClass().getSimpleName().equals("Generic")) return 1;
+        return (int) field(helper, "invalidationSize") + (int) field(helper, "changeSize");
+    }
+
+    /** Campo (privado) {@code name} de {@code o}, procurado também nas superclasses. */
+    private static Object field(Object o, String name) {
+        for (Class<?> c = o.getClass(); c != null; c = c.getSuperclass()) {
+            try {
+                Field f = c.getDeclaredField(name);
+                f.setAccessible(true);
+                return f.get(o);
+            } catch (NoSuchFieldException e) {
+                // segue para a superclasse
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalStateException("Sem campo " + name + " em " + o.getClass().getName());
+    }
+
+    /** Bytes alocados pela thread FX desde que ela começou. */
+    private long allocated() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(fxThread);
+    }
+}
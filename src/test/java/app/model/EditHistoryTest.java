@@ -0,0 +1,250 @@
+package app.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EditHistoryTest {
+    private VectorWorld world;
+    private EditHistory history;
+    private ObservableVector a, b;
+
+    @BeforeEach
+    void setUp() {
+        world = new VectorWorld();
+        history = world.getHistory();
+        a = new ObservableVector(1, 2);
+        b = new ObservableVector(3, 4, 5);
+        world.add(a);
+        world.add(b);
+        history.clear();
+    }
+
+    /* ================= fusão de edições ================= */
+
+    @Test
+    void editsToTheSameComponentCoalesce() {
+        a.setX(10);
+        a.setX(11);
+        a.setX(12);
+        assertTrue(history.undo());
+        assertEquals(1, a.getX());
+        assertFalse(history.canUndoProperty().get());
+        assertTrue(history.redo());
+        assertEquals(12, a.getX());
+    }
+
+    @Test
+    void editsToOtherComponentsOrVectorsDoNotCoalesce() {
+        a.setX(10);
+        a.setY(20);
+        b.setX(30);
+        history.undo();
+        assertEquals(3, b.getX());
+        assertEquals(20, a.getY());
+        history.undo();
+        assertEquals(2, a.getY());
+        assertEquals(10, a.getX());
+        history.undo();
+        assertEquals(1, a.getX());
+    }
+
+    @Test
+    void sealStartsANewEntry() {
+        a.setX(10);
+        history.seal();
+        a.setX(11);
+        history.undo();
+        assertEquals(10, a.getX());
+        history.undo();
+        assertEquals(1, a.getX());
+    }
+
+    @Test
+    void undoSealsSoTheNextEditIsNotMergedIntoARedoneEntry() {
+        a.setX(10);
+        history.undo();
+        history.redo();
+        a.setX(11);
+        history.undo();
+        assertEquals(10, a.getX());
+    }
+
+    @Test
+    void newEditDiscardsRedo() {
+        a.setX(10);
+        history.undo();
+        assertTrue(history.canRedoProperty().get());
+        a.setY(7);
+        assertFalse(history.canRedoProperty().get());
+        assertFalse(history.redo());
+    }
+
+    /* ================= grupos ================= */
+
+    @Test
+    void batchIsUndoneAndRedoneAsOneGroup() {
+        ObservableVector c = new ObservableVector(7, 8);
+        history.beginBatch();
+        a.setX(10);
+        b.setZ(50);
+        world.add(c);
+        history.endBatch();
+
+        history.undo();
+        assertEquals(1, a.getX());
+        assertEquals(5, b.getZ());
+        assertEquals(2, world.getVectors().size());
+        assertFalse(history.canUndoProperty().get());
+
+        history.redo();
+        assertEquals(10, a.getX());
+        assertEquals(50, b.getZ());
+        assertSame(c, world.getVectors().get(2));
+    }
+
+    @Test
+    void nestedBatchesFormASingleGroup() {
+        history.beginBatch();
+        a.setX(10);
+        history.beginBatch();
+        a.setY(20);
+        history.endBatch();
+        b.setX(30);
+        history.endBatch();
+
+        history.undo();
+        assertArrayEquals(new double[] { 1, 2 }, a.toArray());
+        assertEquals(3, b.getX());
+    }
+
+    @Test
+    void editAfterABatchIsNotMergedIntoIt() {
+        history.beginBatch();
+        a.setX(10);
+        history.endBatch();
+        a.setX(11);
+
+        history.undo();
+        assertEquals(10, a.getX());
+        history.undo();
+        assertEquals(1, a.getX());
+    }
+
+    @Test
+    void editAfterAStructuralChangeIsNotMergedIntoIt() {
+        ObservableVector c = new ObservableVector(0, 0);
+        world.add(c);
+        c.setX(5);
+        c.setX(6);
+
+        history.undo();
+        assertEquals(0, c.getX());
+        assertEquals(3, world.getVectors().size());
+        history.undo();
+        assertEquals(2, world.getVectors().size());
+    }
+
+    @Test
+    void suspendedChangesAreNotRecorded() {
+        history.suspend();
+        a.setX(10);
+        history.resume();
+        assertFalse(history.canUndoProperty().get());
+        assertEquals(10, a.getX());
+    }
+
+    /* ================= estrutura ================= */
+
+    @Test
+    void undoingARemovalReinsertsTheSameInstance() {
+        b.setX(33);
+        world.getVectors().remove(b);
+        assertEquals(-1, b.index());
+
+        history.undo();
+        assertSame(b, world.getVectors().get(1));
+        assertEquals(1, b.index());
+        assertArrayEquals(new double[] { 33, 4, 5 }, b.toArray());
+
+        history.undo();
+        assertEquals(3, b.getX());
+    }
+
+    @Test
+    void redoingAnAdditionReinsertsTheSameInstance() {
+        ObservableVector c = new ObservableVector(7, 8);
+        world.getVectors().add(0, c);
+        history.undo();
+        assertEquals(-1, c.index());
+        history.redo();
+        assertSame(c, world.getVectors().getFirst());
+        assertSame(a, world.getVectors().get(1));
+    }
+
+    @Test
+    void vectorBackInTheWorldByAnotherPathIsReinsertedAsACopy() {
+        world.getVectors().remove(b);
+        history.suspend();
+        world.add(b);                               // fora do histórico
+        history.resume();
+
+        history.undo();                             // desfaz a remoção: b já está na lista
+        assertEquals(3, world.getVectors().size());
+        ObservableVector copy = world.getVectors().get(1);
+        assertNotSame(b, copy);
+        assertArrayEquals(b.toArray(), copy.toArray());
+    }
+
+    /* ================= capacidade ================= */
+
+    @Test
+    void overflowDropsTheOldestGroupsWhole() {
+        history.beginBatch();
+        a.setX(10);
+        a.setY(20);
+        history.endBatch();
+        /* edições alternadas nunca se fundem: cada uma é um grupo */
+        for (int i = 0; i < EditHistory.CAPACITY - 1; i++) b.set(i % 3, i);
+
+        int undos = 0;
+        while (history.undo()) undos++;
+        assertEquals(EditHistory.CAPACITY - 1, undos);
+        assertArrayEquals(new double[] { 10, 20 }, a.toArray());
+        assertArrayEquals(new double[] { 3, 4, 5 }, b.toArray());
+    }
+
+    @Test
+    void batchLargerThanTheBufferClearsTheHistory() {
+        a.setX(10);
+        history.beginBatch();
+        for (int i = 0; i <= EditHistory.CAPACITY; i++) b.set(i % 3, i);
+        history.endBatch();
+        assertFalse(history.canUndoProperty().get());
+        assertFalse(history.undo());
+        assertEquals(10, a.getX());
+    }
+
+    /* ================= magnitudes extremas ================= */
+
+    @Test
+    void undoRestoresHugeTinyAndSignedZeroValuesExactly() {
+        a.setX(1e308);
+        history.seal();
+        a.setX(Double.MIN_VALUE);
+        history.seal();
+        a.setX(-0.0);
+        history.seal();
+        a.setX(1e-300);
+
+        history.undo();
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(a.getX()));
+        history.undo();
+        assertEquals(Double.MIN_VALUE, a.getX());
+        history.undo();
+        assertEquals(1e308, a.getX());
+        history.undo();
+        assertEquals(1, a.getX());
+    }
+}
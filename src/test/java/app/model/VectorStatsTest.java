@@ -0,0 +1,198 @@
+package app.model;
+
+import app.util.SymmetricEigen;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorStatsTest {
+
+    @Test
+    void emptyAndSingleVector() {
+        VectorWorld world = new VectorWorld();
+        VectorStats stats = new VectorStats(world);
+        assertEquals(0, stats.count());
+        assertArrayEquals(new double[3], stats.mean());
+        assertArrayEquals(new double[9], stats.covariance());
+
+        world.add(new ObservableVector(3, 4));
+        assertEquals(1, stats.count());
+        assertArrayEquals(new double[] { 3, 4, 0 }, stats.mean());
+        assertArrayEquals(new double[9], stats.covariance());    // amostral: zeros com n < 2
+    }
+
+    @Test
+    void removingEverythingReturnsToEmpty() {
+        VectorWorld world = new VectorWorld();
+        VectorStats stats = new VectorStats(world);
+        world.add(new ObservableVector(1, 2, 3));
+        world.add(new ObservableVector(-5, 7, 1));
+        world.getVectors().remove(1);
+        assertEquals(1, stats.count());
+        assertArrayEquals(new double[] { 1, 2, 3 }, stats.mean(), 1e-15);
+        world.getVectors().remove(0);
+        assertEquals(0, stats.count());
+        assertArrayEquals(new double[3], stats.mean());
+        assertArrayEquals(new long[VectorStats.BINS], stats.magnitudeHistogram());
+    }
+
+    @Test
+    void incrementalUpdatesMatchARecompute() {
+        VectorWorld world = new VectorWorld();
+        world.getHistory().suspend();
+        VectorStats stats = new VectorStats(world);
+        SplittableRandom rnd = new SplittableRandom(3);
+        for (int i = 0; i < 200; i++) world.add(new ObservableVector(rnd.nextDouble(-5, 5), rnd.nextDouble(-5, 5), rnd.nextDouble(-5, 5)));
+        for (int k = 0; k < 2000; k++) {
+            List<ObservableVector> vs = world.getVectors();
+            switch (rnd.nextInt(3)) {
+                case 0 -> vs.get(rnd.nextInt(vs.size())).set(rnd.nextInt(3), rnd.nextDouble(-5, 5));
+                case 1 -> {
+                    if (vs.size() > 1) vs.remove(rnd.nextInt(vs.size()));
+                }
+                default -> world.add(new ObservableVector(rnd.nextDouble(-5, 5), rnd.nextDouble(-5, 5), rnd.nextDouble(-5, 5)));
+            }
+        }
+        assertMatchesTwoPass(world.getVectors(), stats, 1e-9);
+        assertArrayEquals(histogram(world.getVectors()), stats.magnitudeHistogram());
+    }
+
+    @Test
+    void bulkLoadMergesChunks() {
+        /* acima do limite de recálculo e de um bloco: os blocos são combinados pela fórmula de Chan */
+        VectorWorld world = new VectorWorld();
+        VectorStats stats = new VectorStats(world);
+        SplittableRandom rnd = new SplittableRandom(5);
+        List<ObservableVector> vs = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++)
+            vs.add(new ObservableVector(rnd.nextDouble(-1, 1), 3 + rnd.nextDouble(0, 2), rnd.nextGaussian()));
+        world.getVectors().setAll(vs);
+        assertEquals(vs.size(), stats.count());
+        assertMatchesTwoPass(vs, stats, 1e-12);
+        assertArrayEquals(histogram(vs), stats.magnitudeHistogram());
+    }
+
+    @Test
+    void largeOffsetDoesNotCancel() {
+        /* média 10⁸ e desvio 10⁻²: somas de quadrados perderiam tudo, Welford não */
+        VectorWorld world = new VectorWorld();
+        world.getHistory().suspend();
+        VectorStats stats = new VectorStats(world);
+        SplittableRandom rnd = new SplittableRandom(9);
+        for (int i = 0; i < 1000; i++) world.add(new ObservableVector(1e8 + rnd.nextDouble(-0.01, 0.01), 1e8, 0));
+        for (int i = 0; i < 500; i++) world.getVectors().remove(rnd.nextInt(world.getVectors().size()));
+        assertMatchesTwoPass(world.getVectors(), stats, 1e-6);
+        assertTrue(stats.covariance()[0] > 0);
+        assertEquals(0, stats.covariance()[4], 1e-12);
+    }
+
+    @Test
+    void hugeAndTinyMagnitudes() {
+        for (double scale : new double[] { 1e150, 1e-150 }) {
+            VectorWorld world = new VectorWorld();
+            world.getHistory().suspend();
+            VectorStats stats = new VectorStats(world);
+            SplittableRandom rnd = new SplittableRandom(13);
+            for (int i = 0; i < 300; i++)
+                world.add(new ObservableVector(scale * rnd.nextDouble(-1, 1), scale * rnd.nextDouble(-1, 1), scale * rnd.nextDouble(-1, 1)));
+            for (int i = 0; i < 100; i++) world.getVectors().get(i).setX(scale * rnd.nextDouble(-1, 1));
+            for (int i = 0; i < 100; i++) world.getVectors().remove(0);
+            assertMatchesTwoPass(world.getVectors(), stats, 1e-9);
+        }
+    }
+
+    @Test
+    void histogramBins() {
+        assertEquals(0, VectorStats.bin(0));
+        assertEquals(0, VectorStats.bin(Double.MIN_VALUE));             // subnormal
+        assertEquals(0, VectorStats.bin(Double.NaN));
+        assertEquals(32, VectorStats.bin(1));
+        assertEquals(32, VectorStats.bin(Math.nextDown(2.0)));
+        assertEquals(33, VectorStats.bin(2));
+        assertEquals(31, VectorStats.bin(0.5));
+        assertEquals(VectorStats.BINS - 1, VectorStats.bin(1e300));
+        assertEquals(VectorStats.BINS - 1, VectorStats.bin(Double.POSITIVE_INFINITY));
+        assertEquals(0, VectorStats.bin(1e-300));
+        assertEquals(1.0, VectorStats.binLowerBound(32));
+        assertEquals(0.0, VectorStats.binLowerBound(0));
+    }
+
+    @Test
+    void editMovesAVectorBetweenBins() {
+        VectorWorld world = new VectorWorld();
+        VectorStats stats = new VectorStats(world);
+        ObservableVector v = new ObservableVector(1, 0);
+        world.add(v);
+        assertEquals(1, stats.magnitudeHistogram()[32]);
+        v.setX(4);
+        assertEquals(0, stats.magnitudeHistogram()[32]);
+        assertEquals(1, stats.magnitudeHistogram()[34]);
+    }
+
+    @Test
+    void principalAxesOfPointsOnALine() {
+        VectorWorld world = new VectorWorld();
+        VectorStats stats = new VectorStats(world);
+        for (int i = -50; i <= 50; i++) world.add(new ObservableVector(i, 2 * i, 2 * i));
+        SymmetricEigen pca = stats.principalAxes();
+        assertTrue(pca.values[0] > 0);
+        assertEquals(0, pca.values[1], 1e-9 * pca.values[0]);
+        assertEquals(0, pca.values[2], 1e-9 * pca.values[0]);
+        double[] axis = pca.vectors[0];
+        assertArrayEquals(new double[] { 1 / 3.0, 2 / 3.0, 2 / 3.0 },
+                new double[] { Math.abs(axis[0]), Math.abs(axis[1]), Math.abs(axis[2]) }, 1e-12);
+    }
+
+    @Test
+    void principalAxesFollowEdits() {
+        VectorWorld world = new VectorWorld();
+        VectorStats stats = new VectorStats(world);
+        world.add(new ObservableVector(-1, 0));
+        world.add(new ObservableVector(1, 0));
+        assertEquals(1, Math.abs(stats.principalAxes().vectors[0][0]), 1e-15);
+        world.getVectors().get(0).setX(0);
+        world.getVectors().get(1).setX(0);
+        world.getVectors().get(0).setY(-1);
+        world.getVectors().get(1).setY(1);
+        assertEquals(1, Math.abs(stats.principalAxes().vectors[0][1]), 1e-15);
+    }
+
+    /* ------------ helpers ------------ */
+
+    /** Média e covariância pelo método de duas passadas, comparadas em erro relativo à escala dos dados. */
+    private static void assertMatchesTwoPass(List<ObservableVector> vs, VectorStats stats, double rel) {
+        int n = vs.size();
+        assertEquals(n, stats.count());
+        double[] mean = new double[3];
+        double scale = 0;
+        for (ObservableVector v : vs)
+            for (int i = 0; i < 3; i++) {
+                mean[i] += comp(v, i) / n;
+                scale = Math.max(scale, Math.abs(comp(v, i)));
+            }
+        double[] cov = new double[9];
+        double spread = 0;
+        for (ObservableVector v : vs)
+            for (int i = 0; i < 3; i++) {
+                spread = Math.max(spread, Math.abs(comp(v, i) - mean[i]));
+                for (int j = 0; j < 3; j++) cov[i * 3 + j] += (comp(v, i) - mean[i]) * (comp(v, j) - mean[j]) / (n - 1);
+            }
+        double[] m = stats.mean(), c = stats.covariance();
+        for (int i = 0; i < 3; i++) assertEquals(mean[i], m[i], rel * scale, "média " + i);
+        for (int i = 0; i < 9; i++) assertEquals(cov[i], c[i], rel * spread * spread, "covariância " + i);
+    }
+
+    private static double comp(ObservableVector v, int i) {
+        return i < v.dimension() ? v.get(i) : 0;
+    }
+
+    private static long[] histogram(List<ObservableVector> vs) {
+        long[] h = new long[VectorStats.BINS];
+        for (ObservableVector v : vs) h[VectorStats.bin(Math.sqrt(v.getX() * v.getX() + v.getY() * v.getY() + v.getZ() * v.getZ()))]++;
+        return h;
+    }
+}
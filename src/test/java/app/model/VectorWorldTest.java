@@ -0,0 +1,129 @@
+package app.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorWorldTest {
+    private static final int VECTORS = 100;
+    /** Bem mais edições que o anel interno (4096) guarda. */
+    private static final int MANY_EDITS = 10_000;
+
+    private VectorWorld world;
+    private final BitSet out = new BitSet();
+
+    @BeforeEach
+    void setUp() {
+        world = new VectorWorld();
+        world.getHistory().suspend();
+        for (int i = 0; i < VECTORS; i++) world.add(new ObservableVector(i, -i));
+    }
+
+    @Test
+    void nothingChangedSinceTheCurrentStamp() {
+        assertTrue(world.changedSince(world.stamp(), out));
+        assertTrue(out.isEmpty());
+    }
+
+    @Test
+    void reportsExactlyTheEditedIndices() {
+        long since = world.stamp();
+        world.getVectors().get(3).setX(100);
+        world.getVectors().get(97).setY(100);
+        world.getVectors().get(3).setY(100);
+        assertTrue(world.changedSince(since, out));
+        assertEquals(bits(3, 97), out);
+    }
+
+    @Test
+    void editThatKeepsTheValueIsNotAChange() {
+        long since = world.stamp();
+        world.getVectors().get(5).setX(5);
+        assertTrue(world.changedSince(since, out));
+        assertTrue(out.isEmpty());
+        assertEquals(since, world.stamp());
+    }
+
+    @Test
+    void structuralChangeInvalidatesOlderStamps() {
+        long since = world.stamp();
+        world.getVectors().get(1).setX(100);
+        world.getVectors().remove(0);
+        assertFalse(world.changedSince(since, out));
+        assertTrue(out.isEmpty());
+
+        /* depois da mudança, os índices novos valem */
+        long after = world.stamp();
+        assertEquals(after, world.structureStamp());
+        world.getVectors().get(0).setY(7);
+        assertTrue(world.changedSince(after, out));
+        assertEquals(bits(0), out);
+    }
+
+    @Test
+    void outIsClearedFirst() {
+        out.set(42);
+        assertTrue(world.changedSince(world.stamp(), out));
+        assertTrue(out.isEmpty());
+    }
+
+    @Test
+    void sinceInsideTheRingAfterWraparound() {
+        /* o anel dá várias voltas; a consulta parte de uma marca que ainda está nele */
+        for (int k = 0; k < MANY_EDITS; k++) world.getVectors().get(k % VECTORS).setX(1000 + k);
+        long since = world.stamp();
+        BitSet expected = new BitSet();
+        for (int k = 0; k < 300; k++) {
+            int i = (7 * k) % VECTORS;
+            world.getVectors().get(i).setY(1000 + k);
+            expected.set(i);
+        }
+        assertTrue(world.changedSince(since, out));
+        assertEquals(expected, out);
+    }
+
+    @Test
+    void sinceOlderThanTheRingFallsBackToPerVectorStamps() {
+        long since = world.stamp();
+        BitSet expected = new BitSet();
+        for (int k = 0; k < MANY_EDITS; k++) {
+            int i = k % (VECTORS / 2) * 2;          // só os pares
+            world.getVectors().get(i).setX(1000 + k);
+            expected.set(i);
+        }
+        assertTrue(world.changedSince(since, out));
+        assertEquals(expected, out);
+    }
+
+    @Test
+    void sinceAtTheRingBoundary() {
+        /* enche o anel exatamente e mais uma: a marca mais antiga sai e a consulta por ela cai
+         * na passada pelos vetores, com o mesmo resultado */
+        long since = world.stamp();
+        world.getVectors().get(10).setX(-1);
+        long afterFirst = world.stamp();
+        for (int k = 0; k < 4096; k++) world.getVectors().get(20 + k % 2).setX(k);
+
+        assertTrue(world.changedSince(since, out));
+        assertEquals(bits(10, 20, 21), out);
+        assertTrue(world.changedSince(afterFirst, out));
+        assertEquals(bits(20, 21), out);
+    }
+
+    @Test
+    void precisionSwitchIsAStructuralChange() {
+        long since = world.stamp();
+        world.setPrecision(Precision.FLOAT32);
+        assertFalse(world.changedSince(since, out));
+        assertTrue(world.changedSince(world.stamp(), out));
+    }
+
+    private static BitSet bits(int... indices) {
+        BitSet b = new BitSet();
+        for (int i : indices) b.set(i);
+        return b;
+    }
+}
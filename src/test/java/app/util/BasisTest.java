@@ -0,0 +1,121 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BasisTest {
+    /** Passa do limite do Gram–Schmidt: usa o QR de Householder. */
+    private static final int MANY = 3 * Basis.SMALL;
+
+    @Test
+    void emptyAndZeroVectors() {
+        assertEquals(0, Basis.of(new double[0], 0, 3).rank());
+        Basis zeros = Basis.of(new double[12], 4, 3);
+        assertEquals(0, zeros.rank());
+        assertFalse(zeros.isIndependent());
+        assertTrue(zeros.spans(new double[3]));
+        assertFalse(zeros.spans(new double[] { 0, 0, 1 }));
+    }
+
+    @Test
+    void independentAndExactlyDependent() {
+        Basis b = Basis.of(new double[] { 1, 0, 0, 1, 1, 0, 0, 0, 2 }, 3, 3);
+        assertEquals(3, b.rank());
+        assertTrue(b.isIndependent());
+
+        Basis d = Basis.of(new double[] { 1, 2, 3, 4, 5, 6, 5, 7, 9 }, 3, 3);   // v₃ = v₁ + v₂
+        assertEquals(2, d.rank());
+        assertArrayEquals(new int[] { 0, 1 }, d.independentSubset());
+        assertTrue(d.spans(new double[] { 3, 3, 3 }));
+        assertFalse(d.spans(new double[] { 1, 0, 0 }));
+    }
+
+    @Test
+    void perturbationBelowTheToleranceIsStillDependent() {
+        /* resíduo de ~1e-15 com vetores de norma ~12: abaixo de 4·ε·3·‖v‖ ≈ 3e-14 */
+        double[] data = { 1, 2, 3, 4, 5, 6, 5, 7, 9 + 1e-15 };
+        assertEquals(2, Basis.of(data, 3, 3).rank());
+        data[8] = 9 + 1e-6;
+        assertEquals(3, Basis.of(data, 3, 3).rank());
+    }
+
+    @Test
+    void toleranceIsRelativeToTheLargestVector() {
+        /* um vetor independente, mas 10²⁰ vezes menor que o maior, conta como ruído */
+        assertEquals(1, Basis.of(new double[] { 1e10, 0, 0, 1e-10 }, 2, 2).rank());
+        assertEquals(2, Basis.of(new double[] { 1, 0, 0, 1e-10 }, 2, 2).rank());
+    }
+
+    @Test
+    void hugeAndTinyScalesGiveTheSameRank() {
+        double[] plane = { 1, 2, 3, 4, 5, 6, 5, 7, 9, -1, 0, 1 };        // todos no plano gerado por v₁, v₂
+        for (double scale : new double[] { 1, 0x1p600, 0x1p-600, 0x1p-1000 }) {
+            double[] data = plane.clone();
+            for (int i = 0; i < data.length; i++) data[i] *= scale;
+            Basis b = Basis.of(data, 4, 3);
+            assertEquals(2, b.rank(), "escala " + scale);
+            assertTrue(b.spans(new double[] { 3 * scale, 3 * scale, 3 * scale }), "escala " + scale);
+            assertFalse(b.spans(new double[] { scale, 0, 0 }), "escala " + scale);
+            assertOrthonormal(b.orthonormal());
+        }
+    }
+
+    @Test
+    void householderMatchesGramSchmidt() {
+        SplittableRandom rnd = new SplittableRandom(21);
+        double[] data = new double[MANY * 3];
+        for (int i = 0; i < MANY; i++) {
+            double s = rnd.nextDouble(-1, 1), t = rnd.nextDouble(-1, 1);
+            data[3 * i] = s;
+            data[3 * i + 1] = t;
+            data[3 * i + 2] = 2 * s - t;                    // z = 2x − y
+        }
+        Basis many = Basis.of(data, MANY, 3);
+        Basis few = Basis.of(data, Basis.SMALL, 3);
+        assertEquals(2, many.rank());
+        assertEquals(2, few.rank());
+        assertTrue(many.spans(new double[] { 1, 1, 1 }));
+        assertFalse(many.spans(new double[] { 0, 0, 1 }));
+        assertOrthonormal(many.orthonormal());
+
+        data[3 * (MANY - 1) + 2] += 1e-3;                   // o último sai do plano
+        assertEquals(3, Basis.of(data, MANY, 3).rank());
+    }
+
+    @Test
+    void householderWithTinyVectors() {
+        double[] data = new double[MANY * 2];
+        for (int i = 0; i < MANY; i++) {
+            data[2 * i] = 0x1p-1020 * (i + 1);
+            data[2 * i + 1] = 0x1p-1020 * (i + 1);
+        }
+        assertEquals(1, Basis.of(data, MANY, 2).rank());
+        data[1] = 0;
+        assertEquals(2, Basis.of(data, MANY, 2).rank());
+    }
+
+    @Test
+    void independentSubsetPrefersEarlierVectors() {
+        Basis b = Basis.of(new double[] { 0, 0, 1, 0, 2, 0, 0, 1 }, 4, 2);
+        assertArrayEquals(new int[] { 1, 3 }, b.independentSubset());
+    }
+
+    @Test
+    void rejectsShortArraysAndWrongDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> Basis.of(new double[5], 2, 3));
+        Basis b = Basis.of(new double[] { 1, 0, 0 }, 1, 3);
+        assertThrows(IllegalArgumentException.class, () -> b.spans(new double[2]));
+    }
+
+    private static void assertOrthonormal(double[][] q) {
+        for (int p = 0; p < q.length; p++)
+            for (int r = 0; r < q.length; r++) {
+                double d = 0;
+                for (int i = 0; i < q[p].length; i++) d += q[p][i] * q[r][i];
+                assertEquals(p == r ? 1 : 0, d, 1e-14);
+            }
+    }
+}
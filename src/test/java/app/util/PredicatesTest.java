@@ -0,0 +1,225 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PredicatesTest {
+
+    /* ================= produtos escalares ================= */
+
+    @Test
+    void exactlyOrthogonal() {
+        assertTrue(Predicates.orthogonal(new double[] { 3, 5 }, new double[] { 5, -3 }));
+        assertTrue(Predicates.orthogonal(new double[] { 0, 0, 0 }, new double[] { 1, 2, 3 }));
+        assertFalse(Predicates.orthogonal(new double[] { 1, 0 }, new double[] { 1, 0 }));
+    }
+
+    @Test
+    void cancellationThatFoolsTheFloatingPointSum() {
+        /* em double, 1e16 + 1 − 1e16 dá 0; o produto escalar exato é 1 */
+        double[] a = { 1e16, 1, -1e16 }, b = { 1, 1, 1 };
+        assertEquals(1, Predicates.dotSign(a, b));
+        assertFalse(Predicates.orthogonal(a, b));
+        assertEquals(-1, Predicates.dotSign(new double[] { 1e16, -1, -1e16 }, b));
+    }
+
+    @Test
+    void productsOutsideTheSafeRangeUseBigDecimal() {
+        double[] b = { 1, 1, 1 };
+        assertEquals(1, Predicates.dotSign(new double[] { 1e300, 1, -1e300 }, b));
+        /* 1e-200·1e-200 some em double, mas é positivo */
+        assertEquals(1, Predicates.dotSign(new double[] { 1e-200 }, new double[] { 1e-200 }));
+        assertEquals(1, Predicates.dotSign(new double[] { Double.MIN_VALUE, 0 }, new double[] { 1, 0 }));
+        assertEquals(0, Predicates.dotSign(new double[] { 1e-200, -1e-200 }, new double[] { 1, 1 }));
+        /* 2⁻³⁰⁰ − 2⁻³⁰⁰ e vizinhos, todos abaixo da faixa da expansão */
+        assertEquals(0, Predicates.dotSign(new double[] { 0x1p-600, -0x1p-300 }, new double[] { 0x1p300, 1 }));
+        assertEquals(-1, Predicates.dotSign(new double[] { 0x1p-600, -Math.nextUp(0x1p-300) }, new double[] { 0x1p300, 1 }));
+        assertEquals(1, Predicates.dotSign(new double[] { 0x1p-600, -0x1p-300 }, new double[] { 0x1p300, 0x1p-600 }));
+    }
+
+    @Test
+    void nonFiniteInputsFollowThePlainComputation() {
+        assertEquals(1, Predicates.dotSign(new double[] { Double.POSITIVE_INFINITY, 0 }, new double[] { 1, 0 }));
+        assertEquals(0, Predicates.dotSign(new double[] { Double.NaN, 1 }, new double[] { 1, 1 }));
+    }
+
+    @Test
+    void randomNearOrthogonalPairsMatchExactArithmetic() {
+        SplittableRandom rnd = new SplittableRandom(1);
+        for (int k = 0; k < 2000; k++) {
+            int dim = 2 + rnd.nextInt(3);
+            double[] a = new double[dim], b = new double[dim];
+            for (int i = 0; i < dim; i++) a[i] = rnd.nextDouble(-1, 1) * Math.scalb(1.0, rnd.nextInt(-40, 40));
+            /* b ⊥ a em reais, depois arredondado e empurrado alguns ulps */
+            for (int i = 1; i < dim; i++) b[i] = rnd.nextDouble(-1, 1);
+            double s = 0;
+            for (int i = 1; i < dim; i++) s += a[i] * b[i];
+            b[0] = -s / a[0];
+            b[0] += rnd.nextInt(-2, 3) * Math.ulp(b[0]);
+            assertEquals(exactDot(a, b).signum(), Predicates.dotSign(a, b), () -> java.util.Arrays.toString(a) + " · " + java.util.Arrays.toString(b));
+        }
+    }
+
+    /* ================= paralelismo ================= */
+
+    @Test
+    void parallel() {
+        assertTrue(Predicates.parallel(new double[] { 1, 2, 3 }, new double[] { -2, -4, -6 }));
+        assertTrue(Predicates.parallel(new double[] { 0, 0, 0 }, new double[] { 1, 2, 3 }));
+        assertTrue(Predicates.parallel(new double[] { 0.1, 0.2 }, new double[] { 1, 2 }));   // 0.2 = 2·0.1 em binário
+        assertFalse(Predicates.parallel(new double[] { 0.1, 0.3 }, new double[] { 1, 3 }));  // 0.3 ≠ 3·0.1 em binário
+        assertFalse(Predicates.parallel(new double[] { 1, 1 }, new double[] { 1, Math.nextUp(1.0) }));
+        assertTrue(Predicates.parallel(new double[] { 1e300, 1e-300 }, new double[] { 1e300, 1e-300 }));
+        assertFalse(Predicates.parallel(new double[] { 1e300, 1e-300 }, new double[] { 1e300, 2e-300 }));
+    }
+
+    @Test
+    void dimensionMismatchIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Predicates.dotSign(new double[2], new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> Predicates.parallel(new double[2], new double[3]));
+    }
+
+    /* ================= orientação ================= */
+
+    @Test
+    void orientationOfTwoAndThreeVectors() {
+        assertEquals(1, Predicates.orientation(new double[] { 1, 0 }, new double[] { 0, 1 }));
+        assertEquals(-1, Predicates.orientation(new double[] { 0, 1 }, new double[] { 1, 0 }));
+        assertEquals(0, Predicates.orientation(new double[] { 2, 4 }, new double[] { -1, -2 }));
+        assertEquals(1, Predicates.orientation(new double[] { 1, 0, 0 }, new double[] { 0, 1, 0 }, new double[] { 0, 0, 1 }));
+        assertTrue(Predicates.coplanar(new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 }, new double[] { 7, 8, 9 }));
+        assertFalse(Predicates.coplanar(new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 }, new double[] { 7, 8, Math.nextUp(9.0) }));
+    }
+
+    @Test
+    void orient2dOnAnUlpGridAroundACollinearLine() {
+        /* o teste clássico de Shewchuk/Kettner: a percorre uma grade de ulps perto da reta b–c */
+        double[] b = { 12, 12 }, c = { 24, 24 };
+        double u = Math.ulp(0.5);
+        int positives = 0, negatives = 0;
+        for (int i = 0; i < 32; i++)
+            for (int j = 0; j < 32; j++) {
+                double[] a = { 0.5 + i * u, 0.5 + j * u };
+                int expected = exactOrient2d(a, b, c);
+                assertEquals(expected, Predicates.orient2d(a, b, c), "i=" + i + " j=" + j);
+                assertEquals(expected, Predicates.orient2d(new double[] { a[0], a[1], b[0], b[1], c[0], c[1] }, 0, 1, 2));
+                if (expected > 0) positives++;
+                if (expected < 0) negatives++;
+            }
+        assertTrue(positives > 0 && negatives > 0);
+    }
+
+    @Test
+    void orient2dWithHugeAndTinyCoordinates() {
+        for (double s : new double[] { 1e250, 1e-250, 0x1p-1070 }) {
+            double[] a = { 0, 0 }, b = { s, s }, c = { 2 * s, 2 * s };
+            assertEquals(0, Predicates.orient2d(a, b, c), "escala " + s);
+            double[] d = { 2 * s, Math.nextUp(2 * s) };
+            assertEquals(exactOrient2d(a, b, d), Predicates.orient2d(a, b, d), "escala " + s);
+            assertEquals(1, Predicates.orient2d(a, b, d), "escala " + s);
+        }
+    }
+
+    @Test
+    void orient3dNearCoplanarPointsMatchExactArithmetic() {
+        SplittableRandom rnd = new SplittableRandom(2);
+        for (int k = 0; k < 2000; k++) {
+            double scale = Math.scalb(1.0, rnd.nextInt(-30, 30));
+            double[] a = point(rnd, scale), b = point(rnd, scale), c = point(rnd, scale);
+            /* d no plano de a, b, c (a menos de arredondamento) e depois alguns ulps fora */
+            double s = rnd.nextDouble(-2, 2), t = rnd.nextDouble(-2, 2);
+            double[] d = new double[3];
+            for (int i = 0; i < 3; i++) d[i] = a[i] + s * (b[i] - a[i]) + t * (c[i] - a[i]);
+            d[2] += rnd.nextInt(-1, 2) * Math.ulp(d[2]);
+            int expected = exactOrient3d(a, b, c, d);
+            assertEquals(expected, Predicates.orient3d(a, b, c, d));
+            double[] xyz = new double[12];
+            System.arraycopy(a, 0, xyz, 0, 3);
+            System.arraycopy(b, 0, xyz, 3, 3);
+            System.arraycopy(c, 0, xyz, 6, 3);
+            System.arraycopy(d, 0, xyz, 9, 3);
+            assertEquals(expected, Predicates.orient3d(xyz, 0, 1, 2, 3));
+        }
+    }
+
+    @Test
+    void orient3dWithHugeAndTinyCoordinates() {
+        for (double s : new double[] { 1e250, 1e-250 }) {
+            double[] a = { 0, 0, 0 }, b = { s, 0, 0 }, c = { 0, s, 0 };
+            assertEquals(0, Predicates.orient3d(a, b, c, new double[] { s, s, 0 }), "escala " + s);
+            double[] d = { s, s, Double.MIN_VALUE };
+            assertEquals(exactOrient3d(a, b, c, d), Predicates.orient3d(a, b, c, d), "escala " + s);
+            assertEquals(1, Predicates.orient3d(a, b, c, d), "escala " + s);
+        }
+    }
+
+    /* ================= em massa ================= */
+
+    @Test
+    void bulkQueriesMatchThePairwisePredicates() {
+        /* mais de um bloco, então os blocos rodam em paralelo */
+        int n = 10_000, dim = 3;
+        SplittableRandom rnd = new SplittableRandom(4);
+        double[] ref = { 1, 2, -1 };
+        double[] data = new double[n * dim];
+        for (int i = 0; i < n; i++) {
+            double[] v = switch (i % 4) {
+                case 0 -> new double[] { 2 * i, 4 * i, -2 * i };                         // paralelo
+                case 1 -> new double[] { 1, 0, 1 };                                      // ortogonal
+                case 2 -> new double[] { 1e16, -1, 1e16 + 2 };                           // quase: 1e16 − 2 − 1e16 − 2
+                default -> new double[] { rnd.nextDouble(), rnd.nextDouble(), rnd.nextDouble() };
+            };
+            System.arraycopy(v, 0, data, i * dim, dim);
+        }
+        BitSet ortho = Predicates.orthogonalTo(ref, data, n, dim);
+        BitSet par = Predicates.parallelTo(ref, data, n, dim);
+        for (int i = 0; i < n; i++) {
+            double[] v = java.util.Arrays.copyOfRange(data, i * dim, i * dim + dim);
+            assertEquals(Predicates.orthogonal(ref, v), ortho.get(i), "ortogonal " + i);
+            assertEquals(Predicates.parallel(ref, v), par.get(i), "paralelo " + i);
+        }
+        assertTrue(ortho.get(1));
+        assertTrue(par.get(4));
+        assertThrows(IllegalArgumentException.class, () -> Predicates.orthogonalTo(new double[2], data, n, dim));
+        assertThrows(IllegalArgumentException.class, () -> Predicates.parallelTo(ref, data, n + 1, dim));
+    }
+
+    /* ------------ referência exata ------------ */
+
+    private static BigDecimal exactDot(double[] a, double[] b) {
+        BigDecimal s = BigDecimal.ZERO;
+        for (int i = 0; i < a.length; i++) s = s.add(new BigDecimal(a[i]).multiply(new BigDecimal(b[i])));
+        return s;
+    }
+
+    private static int exactOrient2d(double[] a, double[] b, double[] c) {
+        BigDecimal ax = new BigDecimal(a[0]), ay = new BigDecimal(a[1]);
+        BigDecimal bx = new BigDecimal(b[0]).subtract(ax), by = new BigDecimal(b[1]).subtract(ay);
+        BigDecimal cx = new BigDecimal(c[0]).subtract(ax), cy = new BigDecimal(c[1]).subtract(ay);
+        return bx.multiply(cy).subtract(by.multiply(cx)).signum();
+    }
+
+    private static int exactOrient3d(double[] a, double[] b, double[] c, double[] d) {
+        BigDecimal[] p = new BigDecimal[3], q = new BigDecimal[3], r = new BigDecimal[3];
+        for (int i = 0; i < 3; i++) {
+            BigDecimal ai = new BigDecimal(a[i]);
+            p[i] = new BigDecimal(b[i]).subtract(ai);
+            q[i] = new BigDecimal(c[i]).subtract(ai);
+            r[i] = new BigDecimal(d[i]).subtract(ai);
+        }
+        /* r · (p × q) */
+        return r[0].multiply(p[1].multiply(q[2]).subtract(p[2].multiply(q[1])))
+                .add(r[1].multiply(p[2].multiply(q[0]).subtract(p[0].multiply(q[2]))))
+                .add(r[2].multiply(p[0].multiply(q[1]).subtract(p[1].multiply(q[0]))))
+                .signum();
+    }
+
+    private static double[] point(SplittableRandom rnd, double scale) {
+        return new double[] { scale * rnd.nextDouble(-1, 1), scale * rnd.nextDouble(-1, 1), scale * rnd.nextDouble(-1, 1) };
+    }
+}
@@ -0,0 +1,127 @@
+package app.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetricEigenTest {
+
+    @Test
+    void diagonalMatrixIsSortedDescending() {
+        SymmetricEigen e = SymmetricEigen.of(new double[] { 1, 0, 0, 0, 3, 0, 0, 0, 2 }, 3);
+        assertArrayEquals(new double[] { 3, 2, 1 }, e.values);
+        assertArrayEquals(new double[] { 0, 1, 0 }, abs(e.vectors[0]));
+        assertArrayEquals(new double[] { 0, 0, 1 }, abs(e.vectors[1]));
+    }
+
+    @Test
+    void knownTwoByTwo() {
+        /* [[2, 1], [1, 2]]: 3 em (1, 1)/√2 e 1 em (1, −1)/√2 */
+        SymmetricEigen e = SymmetricEigen.of(new double[] { 2, 1, 1, 2 }, 2);
+        assertEquals(3, e.values[0], 1e-15);
+        assertEquals(1, e.values[1], 1e-15);
+        double r = Math.sqrt(0.5);
+        assertArrayEquals(new double[] { r, r }, abs(e.vectors[0]), 1e-15);
+    }
+
+    @Test
+    void zeroMatrix() {
+        SymmetricEigen e = SymmetricEigen.of(new double[9], 3);
+        assertArrayEquals(new double[3], e.values);
+        assertOrthonormal(e, 3);
+    }
+
+    @Test
+    void repeatedEigenvaluesStillGiveAnOrthonormalBasis() {
+        /* posto 1: u·uᵀ com u = (1, 2, 2); autovalores 9, 0, 0 */
+        double[] u = { 1, 2, 2 };
+        double[] a = new double[9];
+        for (int i = 0; i < 3; i++) for (int j = 0; j < 3; j++) a[i * 3 + j] = u[i] * u[j];
+        SymmetricEigen e = SymmetricEigen.of(a, 3);
+        assertEquals(9, e.values[0], 1e-14);
+        assertEquals(0, e.values[1], 1e-14);
+        assertEquals(0, e.values[2], 1e-14);
+        assertArrayEquals(new double[] { 1 / 3.0, 2 / 3.0, 2 / 3.0 }, abs(e.vectors[0]), 1e-15);
+        assertOrthonormal(e, 3);
+    }
+
+    @Test
+    void nearlyDiagonal() {
+        double[] a = { 1, 1e-20, 0, 1e-20, 1, 0, 0, 0, 1e-300 };
+        SymmetricEigen e = SymmetricEigen.of(a, 3);
+        assertEquals(1, e.values[0], 1e-15);
+        assertEquals(1, e.values[1], 1e-15);
+        assertEquals(1e-300, e.values[2], 1e-310);
+        assertOrthonormal(e, 3);
+    }
+
+    @Test
+    void randomMatricesSatisfyAvEqualsLambdaV() {
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int n : new int[] { 1, 2, 3, 5, 12 }) {
+            double[] a = randomSymmetric(rnd, n, 1);
+            SymmetricEigen e = SymmetricEigen.of(a, n);
+            assertDecomposes(a, e, n, 1e-12);
+        }
+    }
+
+    @Test
+    void hugeAndTinyScalesGiveTheSameDecomposition() {
+        double[] base = randomSymmetric(new SplittableRandom(11), 3, 1);
+        SymmetricEigen unit = SymmetricEigen.of(base, 3);
+        for (double scale : new double[] { 0x1p900, 0x1p-900, 0x1p-1000 }) {
+            double[] a = base.clone();
+            for (int i = 0; i < a.length; i++) a[i] *= scale;
+            SymmetricEigen e = SymmetricEigen.of(a, 3);
+            for (int k = 0; k < 3; k++) {
+                assertEquals(unit.values[k], e.values[k] / scale, 1e-12, "escala " + scale);
+                assertArrayEquals(abs(unit.vectors[k]), abs(e.vectors[k]), 1e-12, "escala " + scale);
+            }
+            assertOrthonormal(e, 3);
+        }
+    }
+
+    @Test
+    void rejectsWrongSize() {
+        assertThrows(IllegalArgumentException.class, () -> SymmetricEigen.of(new double[8], 3));
+    }
+
+    /* ------------ helpers ------------ */
+
+    private static double[] randomSymmetric(SplittableRandom rnd, int n, double scale) {
+        double[] a = new double[n * n];
+        for (int i = 0; i < n; i++)
+            for (int j = i; j < n; j++) a[i * n + j] = a[j * n + i] = scale * rnd.nextDouble(-1, 1);
+        return a;
+    }
+
+    private static void assertDecomposes(double[] a, SymmetricEigen e, int n, double tol) {
+        for (int k = 0; k < n; k++) {
+            if (k > 0) assertTrue(e.values[k - 1] >= e.values[k]);
+            for (int i = 0; i < n; i++) {
+                double av = 0;
+                for (int j = 0; j < n; j++) av += a[i * n + j] * e.vectors[k][j];
+                assertEquals(e.values[k] * e.vectors[k][i], av, tol);
+            }
+        }
+        assertOrthonormal(e, n);
+    }
+
+    private static void assertOrthonormal(SymmetricEigen e, int n) {
+        for (int p = 0; p < n; p++)
+            for (int q = 0; q < n; q++) {
+                double d = 0;
+                for (int i = 0; i < n; i++) d += e.vectors[p][i] * e.vectors[q][i];
+                assertEquals(p == q ? 1 : 0, d, 1e-14);
+            }
+    }
+
+    /** Autovetores valem a menos do sinal. */
+    private static double[] abs(double[] v) {
+        double[] r = new double[v.length];
+        for (int i = 0; i < v.length; i++) r[i] = Math.abs(v[i]);
+        return r;
+    }
+}